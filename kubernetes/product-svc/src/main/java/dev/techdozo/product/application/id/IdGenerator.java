@@ -0,0 +1,10 @@
+package dev.techdozo.product.application.id;
+
+public interface IdGenerator {
+
+    /**
+     * Generate a new ID
+     * @return unique ID
+     */
+    String nextId();
+}
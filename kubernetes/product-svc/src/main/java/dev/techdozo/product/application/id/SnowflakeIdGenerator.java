@@ -0,0 +1,111 @@
+package dev.techdozo.product.application.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Snowflake-style, time-ordered 64 bit IDs: 41 bits of milliseconds since {@link #EPOCH}, 10 bits
+ * of node and 12 bits of sequence. The string form is the ID in 13 characters of Crockford's
+ * base32, so string order matches numeric order, which matches creation order on a node.
+ *
+ * <p>Generation is lock-free: timestamp and sequence share one AtomicLong, advanced with CAS to
+ * {@code max(last + 1, now)}. A sequence overflowing within a millisecond, or a clock moving
+ * backwards, borrows from the next millisecond instead of blocking, which keeps IDs monotonic.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+  /** 2021-01-01T00:00:00Z, which leaves room for about 69 years of IDs */
+  public static final long EPOCH = Instant.parse("2021-01-01T00:00:00Z").toEpochMilli();
+
+  public static final int NODE_BITS = 10;
+  public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+  private static final int SEQUENCE_BITS = 12;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private static final int LENGTH = 13;
+  private static final byte[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(ISO_8859_1);
+  private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[LENGTH]);
+
+  private final Clock clock;
+  private final long node;
+  // (milliseconds since EPOCH << SEQUENCE_BITS) | sequence of the last ID handed out
+  private final AtomicLong last = new AtomicLong();
+
+  public SnowflakeIdGenerator(int node) {
+    this(node, Clock.systemUTC());
+  }
+
+  SnowflakeIdGenerator(int node, Clock clock) {
+    if (node < 0 || node > MAX_NODE) {
+      throw new IllegalArgumentException("Node must be between 0 and " + MAX_NODE);
+    }
+    this.node = node;
+    this.clock = clock;
+  }
+
+  @Override
+  public String nextId() {
+    return toString(nextLongId());
+  }
+
+  /**
+   * Generate a new ID in its binary form, for indexing.
+   *
+   * @return unique, time-ordered ID
+   */
+  public long nextLongId() {
+    long now = (clock.millis() - EPOCH) << SEQUENCE_BITS;
+    long next = last.accumulateAndGet(now, (previous, time) -> Math.max(previous + 1, time));
+    return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+        | node << SEQUENCE_BITS
+        | next & SEQUENCE_MASK;
+  }
+
+  /**
+   * Encodes an ID to its 13 character string form. Only the returned string is allocated.
+   *
+   * @param id binary ID
+   * @return string ID
+   */
+  public static String toString(long id) {
+    byte[] buffer = BUFFER.get();
+    for (int i = LENGTH - 1; i >= 0; i--) {
+      buffer[i] = ALPHABET[(int) (id & 31)];
+      id >>>= 5;
+    }
+    return new String(buffer, ISO_8859_1);
+  }
+
+  /**
+   * Decodes the string form of an ID back to its binary form.
+   *
+   * @param id string ID
+   * @return binary ID
+   */
+  public static long parse(String id) {
+    if (id.length() != LENGTH) {
+      throw new IllegalArgumentException("Not a snowflake ID: " + id);
+    }
+    long value = 0;
+    for (int i = 0; i < LENGTH; i++) {
+      int digit = digit(id.charAt(i));
+      if (digit < 0) {
+        throw new IllegalArgumentException("Not a snowflake ID: " + id);
+      }
+      value = value << 5 | digit;
+    }
+    return value;
+  }
+
+  private static int digit(char c) {
+    for (int i = 0; i < ALPHABET.length; i++) {
+      if (ALPHABET[i] == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,12 @@
+package dev.techdozo.product.application.id;
+
+import java.util.UUID;
+
+/** Random (version 4) UUIDs, drawn from SecureRandom. */
+public class UuidIdGenerator implements IdGenerator {
+
+  @Override
+  public String nextId() {
+    return UUID.randomUUID().toString();
+  }
+}
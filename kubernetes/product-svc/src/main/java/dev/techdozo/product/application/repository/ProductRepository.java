@@ -2,7 +2,10 @@ package dev.techdozo.product.application.repository;
 
 import dev.techdozo.product.application.Product;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductRepository {
 
@@ -13,10 +16,43 @@ public interface ProductRepository {
      */
     Optional<Product> getProduct(String productId);
 
+    /**
+     * Get Products by IDs
+     * @param productIds Product Ids
+     * @return products in the order of the given IDs, unknown IDs are skipped
+     */
+    List<Product> getProducts(Collection<String> productIds);
+
     /**
      * Save product
      * @param product product to be saved
      * @return Saved product
      */
     Product save(Product product);
+
+    /**
+     * Save products in one batch
+     * @param products products to be saved
+     * @return Saved products, in the order they were given
+     */
+    List<Product> saveAll(List<Product> products);
+
+    /**
+     * Save products under their existing IDs, replacing any product stored with the same ID.
+     * Products without an ID are given a new one.
+     * @param products products to be saved
+     */
+    void upsertAll(List<Product> products);
+
+    /**
+     * Count stored products
+     * @return number of products
+     */
+    long count();
+
+    /**
+     * Visit every stored product, without materializing all of them at once
+     * @param action action applied to each product
+     */
+    void forEachProduct(Consumer<Product> action);
 }
@@ -0,0 +1,210 @@
+package dev.techdozo.product.application.repository.impl;
+
+import com.github.benmanes.caffeine.cache.*;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache in front of another ProductRepository. Eviction is Caffeine's W-TinyLFU,
+ * which keeps the hot products resident even under scans of cold ones. Lookups of unknown products
+ * are cached as well, with their own (usually shorter) time to live, so that repeated misses do
+ * not reach the backing store either.
+ *
+ * <p>Products are mutable, so the cache keeps its own copy of each and hands out a fresh copy on
+ * every read, as the mapped store does: no caller can change what another caller reads. Bulk
+ * upserts invalidate their products rather than caching them, so that an import does not evict the
+ * hot products, just as an export goes around the cache.
+ */
+public class CachingProductRepository implements ProductRepository, MeterBinder, Closeable {
+
+  private final ProductRepository delegate;
+  private final LoadingCache<String, Optional<Product>> cache;
+
+  /**
+   * @param delegate backing repository
+   * @param maximumSize maximum number of cached products, used when maximumWeight is not set
+   * @param maximumWeight maximum estimated size in bytes of cached products, may be null
+   * @param ttl time to live of a cached product
+   * @param negativeTtl time to live of a cached miss
+   */
+  public CachingProductRepository(
+      ProductRepository delegate,
+      long maximumSize,
+      Long maximumWeight,
+      Duration ttl,
+      Duration negativeTtl) {
+    this.delegate = delegate;
+    Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+    if (maximumWeight == null) {
+      builder.maximumSize(maximumSize);
+    } else {
+      builder
+          .maximumWeight(maximumWeight)
+          .weigher((String id, Optional<Product> product) -> weigh(id, product));
+    }
+    this.cache =
+        builder
+            .expireAfter(new PositiveNegativeExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+            .build(new ProductLoader());
+  }
+
+  @Override
+  public Optional<Product> getProduct(String productId) {
+    return cache.get(productId).map(CachingProductRepository::copy);
+  }
+
+  @Override
+  public List<Product> getProducts(Collection<String> productIds) {
+    Map<String, Optional<Product>> cached = cache.getAll(productIds);
+    List<Product> products = new ArrayList<>(productIds.size());
+    for (String productId : productIds) {
+      cached.get(productId).map(CachingProductRepository::copy).ifPresent(products::add);
+    }
+    return products;
+  }
+
+  @Override
+  public Product save(Product product) {
+    var savedProduct = delegate.save(product);
+    cache.put(savedProduct.getId(), Optional.of(copy(savedProduct)));
+    return savedProduct;
+  }
+
+  @Override
+  public List<Product> saveAll(List<Product> products) {
+    var savedProducts = delegate.saveAll(products);
+    savedProducts.forEach(product -> cache.put(product.getId(), Optional.of(copy(product))));
+    return savedProducts;
+  }
+
+  /** Invalidates the upserted products, which are loaded again if and when they are read. */
+  @Override
+  public void upsertAll(List<Product> products) {
+    delegate.upsertAll(products);
+    List<String> ids = new ArrayList<>(products.size());
+    products.forEach(product -> ids.add(product.getId()));
+    cache.invalidateAll(ids);
+  }
+
+  @Override
+  public long count() {
+    return delegate.count();
+  }
+
+  /** Goes straight to the backing store, a full scan would only flush the hot products. */
+  @Override
+  public void forEachProduct(Consumer<Product> action) {
+    delegate.forEachProduct(action);
+  }
+
+  /** Publishes size, hit, miss, load and eviction metrics of the cache as "products". */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "products");
+  }
+
+  /**
+   * Hit, miss, load and eviction counts since the cache was created.
+   *
+   * @return cache statistics
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  /** Closes the backing repository, if it needs closing. */
+  @Override
+  public void close() throws IOException {
+    if (delegate instanceof Closeable) {
+      ((Closeable) delegate).close();
+    }
+  }
+
+  /** Rough heap footprint of an entry: strings as UTF-16 plus object headers. */
+  private static int weigh(String id, Optional<Product> product) {
+    int weight = 64 + 2 * id.length();
+    if (product.isPresent()) {
+      weight += 2 * length(product.get().getName()) + 2 * length(product.get().getDescription());
+    }
+    return weight;
+  }
+
+  private static Product copy(Product product) {
+    var copy = new Product();
+    copy.setId(product.getId());
+    copy.setName(product.getName());
+    copy.setDescription(product.getDescription());
+    copy.setPrice(product.getPrice());
+    return copy;
+  }
+
+  private static int length(String value) {
+    return value == null ? 0 : value.length();
+  }
+
+  private class ProductLoader implements CacheLoader<String, Optional<Product>> {
+
+    @Override
+    public Optional<Product> load(String productId) {
+      return delegate.getProduct(productId).map(CachingProductRepository::copy);
+    }
+
+    /** Misses of a multi-get are loaded in one batch, unknown IDs are cached as empty. */
+    @Override
+    public Map<String, Optional<Product>> loadAll(Iterable<? extends String> productIds) {
+      List<String> ids = new ArrayList<>();
+      productIds.forEach(ids::add);
+      Map<String, Optional<Product>> loaded = new HashMap<>();
+      ids.forEach(id -> loaded.put(id, Optional.empty()));
+      delegate
+          .getProducts(ids)
+          .forEach(product -> loaded.put(product.getId(), Optional.of(copy(product))));
+      return loaded;
+    }
+  }
+
+  private static class PositiveNegativeExpiry implements Expiry<String, Optional<Product>> {
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    PositiveNegativeExpiry(long ttlNanos, long negativeTtlNanos) {
+      this.ttlNanos = ttlNanos;
+      this.negativeTtlNanos = negativeTtlNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(
+        String id, Optional<Product> product, long currentTime) {
+      return product.isPresent() ? ttlNanos : negativeTtlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String id,
+        Optional<Product> product,
+        long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(id, product, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String id,
+        Optional<Product> product,
+        long currentTime,
+        long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,352 @@
+package dev.techdozo.product.application.repository.impl;
+
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.id.IdGenerator;
+import dev.techdozo.product.application.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Product store that keeps records off-heap in append-only, memory-mapped segment files. Only an
+ * index from product id to record address lives on the heap; products are decoded from the mapped
+ * segment on every read.
+ *
+ * <p>Each record is laid out as {@code [length:int][crc32:int][payload]}, the length being written
+ * last. On start-up the segments are replayed to rebuild the index, and replay stops at the first
+ * record whose length is zero or whose checksum does not match, which is where a crash tore the
+ * last write. Data written through the mapping survives a process crash as it already sits in the
+ * page cache; {@link #close()} forces it to disk and releases the segments.
+ */
+@Slf4j
+public class MappedProductRepository implements ProductRepository, Closeable {
+
+  private static final String SEGMENT_SUFFIX = ".segment";
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int NULL_LENGTH = -1;
+
+  private final Path directory;
+  private final int segmentSize;
+  private final IdGenerator idGenerator;
+  private final Map<String, Long> index = new ConcurrentHashMap<>();
+  private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+  private final CRC32 writeChecksum = new CRC32();
+  // Write cursor over the last segment, null once closed, guarded by this
+  private ByteBuffer tail;
+  // Set by close() before it drops the segments, checked by every read and write
+  private volatile boolean closed;
+
+  /**
+   * Opens the store in the given directory, replaying any existing segments.
+   *
+   * @param directory directory holding the segment files
+   * @param segmentSize size in bytes of newly created segments
+   * @param idGenerator generator of IDs for new products
+   * @throws IOException if segments can not be created or mapped
+   */
+  public MappedProductRepository(Path directory, int segmentSize, IdGenerator idGenerator)
+      throws IOException {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.idGenerator = idGenerator;
+    Files.createDirectories(directory);
+    recover();
+  }
+
+  @Override
+  public Optional<Product> getProduct(String productId) {
+    log.debug("Finding details of product, id {}", productId);
+    checkOpen();
+    Long address = index.get(productId);
+    return address == null ? Optional.empty() : Optional.of(read(address));
+  }
+
+  @Override
+  public List<Product> getProducts(Collection<String> productIds) {
+    log.debug("Finding details of {} products", productIds.size());
+    checkOpen();
+    List<Product> products = new ArrayList<>(productIds.size());
+    for (String productId : productIds) {
+      Long address = index.get(productId);
+      if (address != null) {
+        products.add(read(address));
+      }
+    }
+    return products;
+  }
+
+  @Override
+  public Product save(Product product) {
+    log.debug("Saving product, name {}", product.getName());
+    var id = idGenerator.nextId();
+    product.setId(id);
+    append(product);
+    return product;
+  }
+
+  /** Appends and indexes the whole batch under a single acquisition of the write lock. */
+  @Override
+  public List<Product> saveAll(List<Product> products) {
+    log.debug("Saving {} products", products.size());
+    synchronized (this) {
+      for (Product product : products) {
+        product.setId(idGenerator.nextId());
+        append(product);
+      }
+    }
+    return products;
+  }
+
+  /**
+   * Appends and indexes the batch under the write lock, so that of two upserts of the same product
+   * the index keeps the record appended last, which is also the one replay keeps.
+   */
+  @Override
+  public void upsertAll(List<Product> products) {
+    log.debug("Upserting {} products", products.size());
+    synchronized (this) {
+      for (Product product : products) {
+        if (product.getId() == null) {
+          product.setId(idGenerator.nextId());
+        }
+        append(product);
+      }
+    }
+  }
+
+  @Override
+  public long count() {
+    return index.size();
+  }
+
+  /**
+   * Size of the mapped segments, which is off-heap memory backed by the page cache.
+   *
+   * @return mapped bytes
+   */
+  public long mappedBytes() {
+    long bytes = 0;
+    for (MappedByteBuffer segment : segments) {
+      bytes += segment.capacity();
+    }
+    return bytes;
+  }
+
+  /** Products are decoded one at a time while walking the index. */
+  @Override
+  public void forEachProduct(Consumer<Product> action) {
+    checkOpen();
+    index.values().forEach(address -> action.accept(read(address)));
+  }
+
+  /**
+   * Forces the segments to disk and drops every reference to them, after which reads and writes
+   * throw IllegalStateException. The JDK has no public way to unmap a buffer, so each mapping is
+   * released when its buffer is garbage collected; unmapping eagerly would crash a reader still
+   * holding a duplicate.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    segments.forEach(MappedByteBuffer::force);
+    index.clear();
+    segments.clear();
+    tail = null;
+  }
+
+  private void recover() throws IOException {
+    long start = System.nanoTime();
+    List<Path> files;
+    try (Stream<Path> list = Files.list(directory)) {
+      files =
+          list.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+              .sorted()
+              .collect(Collectors.toList());
+    }
+    for (Path file : files) {
+      MappedByteBuffer segment = map(file);
+      segments.add(segment);
+      tail = replay(segments.size() - 1, segment);
+    }
+    if (segments.isEmpty()) {
+      roll();
+    } else {
+      scrub(tail);
+    }
+    log.info(
+        "Recovered {} products from {} segments in {} ms",
+        index.size(),
+        segments.size(),
+        (System.nanoTime() - start) / 1_000_000);
+  }
+
+  /**
+   * Adds every valid record of the segment to the index.
+   *
+   * @return cursor positioned after the last valid record
+   */
+  private ByteBuffer replay(int segmentId, ByteBuffer segment) {
+    ByteBuffer cursor = segment.duplicate();
+    CRC32 checksum = new CRC32();
+    while (cursor.remaining() >= HEADER_SIZE) {
+      int start = cursor.position();
+      int length = cursor.getInt();
+      int crc = cursor.getInt();
+      if (length <= 0 || length > cursor.remaining()) {
+        cursor.position(start);
+        break;
+      }
+      ByteBuffer payload = cursor.slice().limit(length);
+      checksum.reset();
+      checksum.update(payload.duplicate());
+      if ((int) checksum.getValue() != crc) {
+        log.warn("Discarding torn record at offset {} of segment {}", start, segmentId);
+        cursor.position(start);
+        break;
+      }
+      index.put(readString(payload), address(segmentId, start));
+      cursor.position(start + HEADER_SIZE + length);
+    }
+    return cursor;
+  }
+
+  /**
+   * Zeroes whatever a torn write left behind the tail, so that it can not be mistaken for the
+   * header of a record appended later. Only non-zero bytes are written to keep clean pages clean.
+   */
+  private void scrub(ByteBuffer cursor) {
+    for (int i = cursor.position(); i < cursor.limit(); i++) {
+      if (cursor.get(i) != 0) {
+        cursor.put(i, (byte) 0);
+      }
+    }
+  }
+
+  /**
+   * Appends the product and indexes it under the same lock, so that close() can not clear the
+   * index between the two and leave an address to a dropped segment in it.
+   */
+  private synchronized void append(Product product) {
+    checkOpen();
+    byte[] id = bytes(product.getId());
+    byte[] name = bytes(product.getName());
+    byte[] description = bytes(product.getDescription());
+    int length = 3 * Integer.BYTES + Double.BYTES + size(id) + size(name) + size(description);
+    if (HEADER_SIZE + length > segmentSize) {
+      throw new IllegalArgumentException("Product of " + length + " bytes exceeds segment size");
+    }
+    if (tail.remaining() < HEADER_SIZE + length) {
+      try {
+        roll();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to create segment", e);
+      }
+    }
+    int start = tail.position();
+    tail.position(start + HEADER_SIZE);
+    putString(tail, id);
+    putString(tail, name);
+    putString(tail, description);
+    tail.putDouble(product.getPrice());
+
+    writeChecksum.reset();
+    writeChecksum.update(tail.duplicate().position(start + HEADER_SIZE).limit(tail.position()));
+    tail.putInt(start + Integer.BYTES, (int) writeChecksum.getValue());
+    tail.putInt(start, length);
+    index.put(product.getId(), address(segments.size() - 1, start));
+  }
+
+  private Product read(long address) {
+    ByteBuffer record = segment((int) (address >>> 32)).duplicate();
+    record.position((int) address + HEADER_SIZE);
+    var product = new Product();
+    product.setId(readString(record));
+    product.setName(readString(record));
+    product.setDescription(readString(record));
+    product.setPrice(record.getDouble());
+    return product;
+  }
+
+  private MappedByteBuffer segment(int segmentId) {
+    checkOpen();
+    try {
+      return segments.get(segmentId);
+    } catch (IndexOutOfBoundsException e) {
+      // close() dropped the segments after the check above
+      checkOpen();
+      throw e;
+    }
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("Repository is closed");
+    }
+  }
+
+  private synchronized void roll() throws IOException {
+    Path file = directory.resolve(String.format("%08d%s", segments.size(), SEGMENT_SUFFIX));
+    MappedByteBuffer segment = map(file);
+    segments.add(segment);
+    tail = segment.duplicate();
+  }
+
+  private MappedByteBuffer map(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+      long size = channel.size() == 0 ? segmentSize : channel.size();
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+
+  private static long address(int segmentId, int offset) {
+    return (long) segmentId << 32 | offset;
+  }
+
+  private static byte[] bytes(String value) {
+    return value == null ? null : value.getBytes(UTF_8);
+  }
+
+  private static int size(byte[] value) {
+    return value == null ? 0 : value.length;
+  }
+
+  private static void putString(ByteBuffer buffer, byte[] value) {
+    if (value == null) {
+      buffer.putInt(NULL_LENGTH);
+    } else {
+      buffer.putInt(value.length);
+      buffer.put(value);
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length == NULL_LENGTH) {
+      return null;
+    }
+    var value = new byte[length];
+    buffer.get(value);
+    return new String(value, UTF_8);
+  }
+}
@@ -0,0 +1,95 @@
+package dev.techdozo.product.application.repository.impl;
+
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Times every call to another ProductRepository with a {@code product.repository} timer tagged by
+ * operation, and reports the number of stored products as the {@code product.repository.size}
+ * gauge. Timers are registered once, so a call costs two clock reads and a timer update.
+ */
+public class MeteredProductRepository implements ProductRepository, Closeable {
+
+  private static final String TIMER = "product.repository";
+
+  private final ProductRepository delegate;
+  private final Timer getTimer;
+  private final Timer getAllTimer;
+  private final Timer saveTimer;
+  private final Timer saveAllTimer;
+  private final Timer upsertAllTimer;
+  private final Timer forEachTimer;
+
+  public MeteredProductRepository(ProductRepository delegate, MeterRegistry registry) {
+    this.delegate = delegate;
+    this.getTimer = timer(registry, "get");
+    this.getAllTimer = timer(registry, "get_all");
+    this.saveTimer = timer(registry, "save");
+    this.saveAllTimer = timer(registry, "save_all");
+    this.upsertAllTimer = timer(registry, "upsert_all");
+    this.forEachTimer = timer(registry, "for_each");
+    Gauge.builder("product.repository.size", delegate, ProductRepository::count)
+        .description("Number of stored products")
+        .register(registry);
+  }
+
+  @Override
+  public Optional<Product> getProduct(String productId) {
+    return getTimer.record(() -> delegate.getProduct(productId));
+  }
+
+  @Override
+  public List<Product> getProducts(Collection<String> productIds) {
+    return getAllTimer.record(() -> delegate.getProducts(productIds));
+  }
+
+  @Override
+  public Product save(Product product) {
+    return saveTimer.record(() -> delegate.save(product));
+  }
+
+  @Override
+  public List<Product> saveAll(List<Product> products) {
+    return saveAllTimer.record(() -> delegate.saveAll(products));
+  }
+
+  @Override
+  public void upsertAll(List<Product> products) {
+    upsertAllTimer.record(() -> delegate.upsertAll(products));
+  }
+
+  @Override
+  public long count() {
+    return delegate.count();
+  }
+
+  @Override
+  public void forEachProduct(Consumer<Product> action) {
+    forEachTimer.record(() -> delegate.forEachProduct(action));
+  }
+
+  /** Closes the backing repository, if it needs closing. */
+  @Override
+  public void close() throws IOException {
+    if (delegate instanceof Closeable) {
+      ((Closeable) delegate).close();
+    }
+  }
+
+  private static Timer timer(MeterRegistry registry, String operation) {
+    return Timer.builder(TIMER)
+        .description("Time spent in product repository operations")
+        .tag("operation", operation)
+        .register(registry);
+  }
+}
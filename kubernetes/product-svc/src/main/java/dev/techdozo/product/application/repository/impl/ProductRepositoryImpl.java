@@ -1,33 +1,89 @@
 package dev.techdozo.product.application.repository.impl;
 
 import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.id.IdGenerator;
 import dev.techdozo.product.application.repository.ProductRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Repository;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
-@Repository
+/**
+ * In-memory product store. Backed by a ConcurrentHashMap so that reads never lock and writes only
+ * contend on the bin they hash to, which lets every Tomcat thread use the store at once.
+ */
 @Slf4j
 public class ProductRepositoryImpl implements ProductRepository {
 
-  private Map<String, Product> storage = new HashMap<>();
+  private final ConcurrentMap<String, Product> storage = new ConcurrentHashMap<>();
+  private final IdGenerator idGenerator;
+
+  public ProductRepositoryImpl(IdGenerator idGenerator) {
+    this.idGenerator = idGenerator;
+  }
 
   @Override
   public Optional<Product> getProduct(String productId) {
-    log.info("Finding details of product, id {}", productId);
+    log.debug("Finding details of product, id {}", productId);
     return Optional.ofNullable(storage.get(productId));
   }
 
+  @Override
+  public List<Product> getProducts(Collection<String> productIds) {
+    log.debug("Finding details of {} products", productIds.size());
+    List<Product> products = new ArrayList<>(productIds.size());
+    for (String productId : productIds) {
+      var product = storage.get(productId);
+      if (product != null) {
+        products.add(product);
+      }
+    }
+    return products;
+  }
+
   @Override
   public Product save(Product product) {
-    log.info("Saving product {}", product);
-    var uuid = UUID.randomUUID().toString();
-    product.setId(uuid);
-    storage.put(uuid, product);
+    log.debug("Saving product, name {}", product.getName());
+    var id = idGenerator.nextId();
+    product.setId(id);
+    storage.put(id, product);
     return product;
   }
+
+  @Override
+  public List<Product> saveAll(List<Product> products) {
+    log.debug("Saving {} products", products.size());
+    for (Product product : products) {
+      var id = idGenerator.nextId();
+      product.setId(id);
+      storage.put(id, product);
+    }
+    return products;
+  }
+
+  @Override
+  public void upsertAll(List<Product> products) {
+    log.debug("Upserting {} products", products.size());
+    for (Product product : products) {
+      if (product.getId() == null) {
+        product.setId(idGenerator.nextId());
+      }
+      storage.put(product.getId(), product);
+    }
+  }
+
+  @Override
+  public long count() {
+    return storage.size();
+  }
+
+  @Override
+  public void forEachProduct(Consumer<Product> action) {
+    storage.values().forEach(action);
+  }
 }
@@ -0,0 +1,44 @@
+package dev.techdozo.product.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableConfigurationProperties(ControllerProperties.class)
+public class ControllerConfiguration {
+
+  /**
+   * Executor of repository calls in async mode. Threads are created on demand up to the maximum,
+   * with a reduced stack size so that each request in progress costs less memory than a Tomcat
+   * thread.
+   *
+   * @param properties controller properties
+   * @return repository executor
+   */
+  @Bean
+  @ConditionalOnProperty(name = "product.controller.mode", havingValue = "async")
+  public ThreadPoolTaskExecutor productRequestExecutor(ControllerProperties properties) {
+    var async = properties.getAsync();
+    long stackSize = async.getThreadStackSize().toBytes();
+    var threadFactory =
+        new CustomizableThreadFactory("product-") {
+          @Override
+          public Thread createThread(Runnable runnable) {
+            var thread = new Thread(getThreadGroup(), runnable, nextThreadName(), stackSize);
+            thread.setDaemon(isDaemon());
+            return thread;
+          }
+        };
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setThreadFactory(threadFactory);
+    executor.setCorePoolSize(async.getMaxThreads());
+    executor.setMaxPoolSize(async.getMaxThreads());
+    executor.setAllowCoreThreadTimeOut(true);
+    executor.setQueueCapacity(async.getQueueCapacity());
+    return executor;
+  }
+}
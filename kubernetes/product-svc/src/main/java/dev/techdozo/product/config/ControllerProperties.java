@@ -0,0 +1,34 @@
+package dev.techdozo.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/** Selects how product requests are executed. */
+@Data
+@ConfigurationProperties(prefix = "product.controller")
+public class ControllerProperties {
+
+  private Mode mode = Mode.BLOCKING;
+  private final Async async = new Async();
+
+  public enum Mode {
+    /** Requests hold a Tomcat thread until the repository returns */
+    BLOCKING,
+    /**
+     * Tomcat threads are released, repository calls run on a dedicated executor. Each call in
+     * progress still blocks a platform thread, only one of the executor's, with a smaller stack
+     */
+    ASYNC
+  }
+
+  @Data
+  public static class Async {
+    /** Maximum number of repository calls in progress */
+    private int maxThreads = 1000;
+    /** Requests waiting for a thread, beyond which requests are rejected with 503 */
+    private int queueCapacity = 10_000;
+    /** Stack size of executor threads, kept small as repository calls have shallow stacks */
+    private DataSize threadStackSize = DataSize.ofKilobytes(256);
+  }
+}
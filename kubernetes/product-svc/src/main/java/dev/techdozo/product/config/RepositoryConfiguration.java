@@ -0,0 +1,96 @@
+package dev.techdozo.product.config;
+
+import dev.techdozo.product.application.id.IdGenerator;
+import dev.techdozo.product.application.id.SnowflakeIdGenerator;
+import dev.techdozo.product.application.id.UuidIdGenerator;
+import dev.techdozo.product.application.repository.ProductRepository;
+import dev.techdozo.product.application.repository.impl.CachingProductRepository;
+import dev.techdozo.product.application.repository.impl.MappedProductRepository;
+import dev.techdozo.product.application.repository.impl.ProductRepositoryImpl;
+import dev.techdozo.product.application.repository.impl.MeteredProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(RepositoryProperties.class)
+public class RepositoryConfiguration {
+
+  /**
+   * Product repository backed by the storage engine selected with {@code product.repository.type},
+   * optionally behind a read-through cache, and timed. Closeable engines are closed on shutdown
+   * through the inferred destroy method.
+   *
+   * @param properties repository properties
+   * @param meterRegistry registry of repository metrics
+   * @return product repository
+   * @throws IOException if the mapped store can not be opened
+   */
+  @Bean
+  public ProductRepository productRepository(
+      RepositoryProperties properties, MeterRegistry meterRegistry) throws IOException {
+    var repository = storageEngine(properties, meterRegistry);
+    var cache = properties.getCache();
+    if (cache.isEnabled()) {
+      var maximumWeight = cache.getMaximumWeight();
+      var cachingRepository =
+          new CachingProductRepository(
+              repository,
+              cache.getMaximumSize(),
+              maximumWeight == null ? null : maximumWeight.toBytes(),
+              cache.getTtl(),
+              cache.getNegativeTtl());
+      cachingRepository.bindTo(meterRegistry);
+      repository = cachingRepository;
+    }
+    return new MeteredProductRepository(repository, meterRegistry);
+  }
+
+  private ProductRepository storageEngine(
+      RepositoryProperties properties, MeterRegistry meterRegistry) throws IOException {
+    var idGenerator = idGenerator(properties.getId());
+    switch (properties.getType()) {
+      case MAPPED:
+        var mapped = properties.getMapped();
+        var mappedRepository =
+            new MappedProductRepository(
+                mapped.getDirectory(),
+                Math.toIntExact(mapped.getSegmentSize().toBytes()),
+                idGenerator);
+        Gauge.builder(
+                "product.repository.mapped", mappedRepository, MappedProductRepository::mappedBytes)
+            .description("Off-heap memory mapped by the product store")
+            .baseUnit(BaseUnits.BYTES)
+            .register(meterRegistry);
+        return mappedRepository;
+      case MEMORY:
+      default:
+        return new ProductRepositoryImpl(idGenerator);
+    }
+  }
+
+  private IdGenerator idGenerator(RepositoryProperties.Id properties) throws IOException {
+    switch (properties.getGenerator()) {
+      case UUID:
+        return new UuidIdGenerator();
+      case SNOWFLAKE:
+      default:
+        Integer node = properties.getNode();
+        if (node == null) {
+          // Pod names differ per replica; set the node explicitly where a clash matters
+          String host = InetAddress.getLocalHost().getHostName();
+          node = (host.hashCode() & Integer.MAX_VALUE) % (SnowflakeIdGenerator.MAX_NODE + 1);
+        }
+        log.info("Generating snowflake IDs for node {}", node);
+        return new SnowflakeIdGenerator(node);
+    }
+  }
+}
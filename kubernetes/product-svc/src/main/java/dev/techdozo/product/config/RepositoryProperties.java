@@ -0,0 +1,63 @@
+package dev.techdozo.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/** Selects and configures the storage engine behind ProductRepository. */
+@Data
+@ConfigurationProperties(prefix = "product.repository")
+public class RepositoryProperties {
+
+  private Type type = Type.MEMORY;
+  private final Mapped mapped = new Mapped();
+  private final Cache cache = new Cache();
+  private final Id id = new Id();
+
+  public enum Type {
+    /** Heap only, lost on restart */
+    MEMORY,
+    /** Off-heap, memory-mapped segment files */
+    MAPPED
+  }
+
+  @Data
+  public static class Mapped {
+    /** Directory holding the segment files */
+    private Path directory = Path.of("data");
+    /** Size of each segment file */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+  }
+
+  @Data
+  public static class Cache {
+    /** Put a read-through cache in front of the storage engine */
+    private boolean enabled = false;
+    /** Maximum number of cached products, used unless maximum-weight is set */
+    private long maximumSize = 100_000;
+    /** Maximum estimated heap size of cached products */
+    private DataSize maximumWeight;
+    /** Time to live of a cached product */
+    private Duration ttl = Duration.ofMinutes(10);
+    /** Time to live of a cached lookup of an unknown product */
+    private Duration negativeTtl = Duration.ofSeconds(30);
+  }
+
+  @Data
+  public static class Id {
+    /** Generator of IDs for new products */
+    private Generator generator = Generator.SNOWFLAKE;
+    /** Node of the snowflake generator, unique per replica. Derived from the host name if unset */
+    private Integer node;
+
+    public enum Generator {
+      /** Time-ordered 13 character IDs, lock-free */
+      SNOWFLAKE,
+      /** Random UUIDs, drawn from SecureRandom */
+      UUID
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package dev.techdozo.product.controller;
+
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.error.RecordNotFoundException;
+import dev.techdozo.product.application.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Same endpoints as {@link ProductController}, served with Servlet async processing. The Tomcat
+ * thread is released as soon as the repository call is handed to the product request executor, so
+ * the number of requests in flight is capped by that executor instead of the Tomcat pool. The
+ * repository call still blocks one of the executor's threads: the blocking moves to a pool of
+ * threads with smaller stacks, it does not go away.
+ */
+@Slf4j
+@RestController
+@ConditionalOnProperty(name = "product.controller.mode", havingValue = "async")
+public class AsyncProductController {
+
+  @Autowired private ProductRepository productRepository;
+
+  @Autowired
+  @Qualifier("productRequestExecutor")
+  private ThreadPoolTaskExecutor executor;
+
+  @GetMapping("/products/{productId}")
+  public CompletableFuture<ResponseEntity<Product>> getProduct(@PathVariable String productId) {
+    log.debug("Fetching product {}", productId);
+    return CompletableFuture.supplyAsync(
+        () -> {
+          var productOptional = productRepository.getProduct(productId);
+          Product product = productOptional.orElseThrow(RecordNotFoundException::new);
+          return new ResponseEntity<>(product, HttpStatus.OK);
+        },
+        executor);
+  }
+
+  @PostMapping("/products/")
+  public CompletableFuture<ResponseEntity<Product>> saveProduct(@RequestBody Product product) {
+    log.debug("Saving product");
+    return CompletableFuture.supplyAsync(
+        () -> new ResponseEntity<>(productRepository.save(product), HttpStatus.OK), executor);
+  }
+
+  @PostMapping("/products/lookup")
+  public CompletableFuture<ResponseEntity<List<Product>>> getProducts(
+      @RequestBody List<String> productIds) {
+    log.debug("Fetching {} products", productIds.size());
+    return CompletableFuture.supplyAsync(
+        () -> new ResponseEntity<>(productRepository.getProducts(productIds), HttpStatus.OK),
+        executor);
+  }
+
+  @PostMapping("/products/batch")
+  public CompletableFuture<ResponseEntity<List<Product>>> saveProducts(
+      @RequestBody List<Product> products) {
+    log.debug("Saving {} products", products.size());
+    return CompletableFuture.supplyAsync(
+        () -> new ResponseEntity<>(productRepository.saveAll(products), HttpStatus.OK),
+        executor);
+  }
+
+  /** The executor queue is full, shed load rather than queueing without bound. */
+  @ExceptionHandler(RejectedExecutionException.class)
+  public ResponseEntity<Void> rejected() {
+    return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+  }
+}
@@ -0,0 +1,98 @@
+package dev.techdozo.product.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Snapshot of the whole product catalog as newline-delimited JSON (NDJSON). */
+@Slf4j
+@RestController
+public class ProductCatalogController {
+
+  private static final String APPLICATION_NDJSON = "application/x-ndjson";
+  private static final int IMPORT_BATCH_SIZE = 1000;
+
+  @Autowired private ProductRepository productRepository;
+  @Autowired private ObjectMapper objectMapper;
+
+  /**
+   * Streams every product as one JSON document per line. Products are written as they are read
+   * from the repository, so memory use does not depend on the size of the catalog. The generator
+   * is not flushed after each product, only when its buffer fills and once at the end.
+   *
+   * @return NDJSON stream of products
+   */
+  @GetMapping(value = "/products/export", produces = APPLICATION_NDJSON)
+  public ResponseEntity<StreamingResponseBody> exportProducts() {
+    log.info("Exporting products");
+    ObjectWriter writer =
+        objectMapper.writerFor(Product.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    StreamingResponseBody body =
+        outputStream -> {
+          try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // Lines are separated explicitly, not by the default root value separator
+            generator.setRootValueSeparator(null);
+            productRepository.forEachProduct(
+                product -> {
+                  try {
+                    writer.writeValue(generator, product);
+                    generator.writeRaw('\n');
+                  } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                  }
+                });
+          }
+        };
+    return new ResponseEntity<>(body, HttpStatus.OK);
+  }
+
+  /**
+   * Reads an NDJSON body one product at a time and upserts it in batches, keeping the IDs of the
+   * snapshot. The body is never buffered as a whole.
+   *
+   * @param request request carrying the NDJSON body
+   * @return number of imported products
+   * @throws IOException if the body can not be read or parsed
+   */
+  @PostMapping(value = "/products/import", consumes = APPLICATION_NDJSON)
+  public ResponseEntity<Long> importProducts(HttpServletRequest request) throws IOException {
+    log.info("Importing products");
+    long count = 0;
+    List<Product> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+    try (MappingIterator<Product> products =
+        objectMapper.readerFor(Product.class).readValues(request.getInputStream())) {
+      while (products.hasNextValue()) {
+        batch.add(products.nextValue());
+        if (batch.size() == IMPORT_BATCH_SIZE) {
+          productRepository.upsertAll(batch);
+          count += batch.size();
+          batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      productRepository.upsertAll(batch);
+      count += batch.size();
+    }
+    log.info("Imported {} products", count);
+    return new ResponseEntity<>(count, HttpStatus.OK);
+  }
+}
@@ -5,19 +5,27 @@ import dev.techdozo.product.application.error.RecordNotFoundException;
 import dev.techdozo.product.application.repository.ProductRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
+/** Blocking product endpoints, each request holds a Tomcat thread until it is served. */
 @Slf4j
 @RestController
+@ConditionalOnProperty(
+    name = "product.controller.mode",
+    havingValue = "blocking",
+    matchIfMissing = true)
 public class ProductController {
 
   @Autowired private ProductRepository productRepository;
 
   @GetMapping("/products/{productId}")
   public ResponseEntity<Product> getProduct(@PathVariable String productId) {
-    log.info("Fetching product {}", productId);
+    log.debug("Fetching product {}", productId);
     var productOptional = productRepository.getProduct(productId);
     Product product = productOptional.orElseThrow(RecordNotFoundException::new);
     return new ResponseEntity<>(product, HttpStatus.OK);
@@ -25,8 +33,28 @@ public class ProductController {
 
   @PostMapping("/products/")
   public ResponseEntity<Product> saveProduct(@RequestBody Product product) {
-    log.info("Saving product");
+    log.debug("Saving product");
     var savedProduct = productRepository.save(product);
     return new ResponseEntity<>(savedProduct, HttpStatus.OK);
   }
+
+  /**
+   * Multi-get, the IDs are taken from the body as a list can easily outgrow the URL.
+   *
+   * @param productIds Product Ids
+   * @return products found, unknown IDs are skipped
+   */
+  @PostMapping("/products/lookup")
+  public ResponseEntity<List<Product>> getProducts(@RequestBody List<String> productIds) {
+    log.debug("Fetching {} products", productIds.size());
+    var products = productRepository.getProducts(productIds);
+    return new ResponseEntity<>(products, HttpStatus.OK);
+  }
+
+  @PostMapping("/products/batch")
+  public ResponseEntity<List<Product>> saveProducts(@RequestBody List<Product> products) {
+    log.debug("Saving {} products", products.size());
+    var savedProducts = productRepository.saveAll(products);
+    return new ResponseEntity<>(savedProducts, HttpStatus.OK);
+  }
 }
@@ -0,0 +1,68 @@
+package dev.techdozo.product.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs method, URI, status and duration of a random sample of requests, one in {@code
+ * product.logging.request-sample-rate} on average. Async requests are logged when their async
+ * dispatch completes.
+ */
+@Slf4j
+@Component
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+  private static final String START_ATTRIBUTE = RequestLoggingFilter.class.getName() + ".START";
+
+  private final int sampleRate;
+
+  public RequestLoggingFilter(@Value("${product.logging.request-sample-rate:100}") int sampleRate) {
+    this.sampleRate = sampleRate;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Long start = (Long) request.getAttribute(START_ATTRIBUTE);
+    if (start == null) {
+      if (isAsyncDispatch(request) || !sampled()) {
+        filterChain.doFilter(request, response);
+        return;
+      }
+      start = System.nanoTime();
+      request.setAttribute(START_ATTRIBUTE, start);
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      if (!isAsyncStarted(request)) {
+        log.info(
+            "{} {} {} in {} us",
+            request.getMethod(),
+            request.getRequestURI(),
+            response.getStatus(),
+            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+      }
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  private boolean sampled() {
+    return sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+  }
+}
@@ -0,0 +1,62 @@
+package dev.techdozo.product.application.id;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the UUID generator, which the repositories used to call directly, with the snowflake
+ * generator. Run {@link #main(String[])} with the test classpath; the GC profiler reports the
+ * bytes allocated per ID.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+  private final UuidIdGenerator uuid = new UuidIdGenerator();
+  private final SnowflakeIdGenerator snowflake = new SnowflakeIdGenerator(1);
+
+  @Benchmark
+  public String uuid() {
+    return uuid.nextId();
+  }
+
+  @Benchmark
+  public String snowflake() {
+    return snowflake.nextId();
+  }
+
+  @Benchmark
+  public long snowflakeBinary() {
+    return snowflake.nextLongId();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String uuidContended() {
+    return uuid.nextId();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String snowflakeContended() {
+    return snowflake.nextId();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(IdGeneratorBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
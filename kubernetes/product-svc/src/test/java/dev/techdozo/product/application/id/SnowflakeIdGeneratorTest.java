@@ -0,0 +1,49 @@
+package dev.techdozo.product.application.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+  @Test
+  void idsShouldBeOrderedEvenWithinOneMillisecond() {
+    var clock = Clock.fixed(Instant.parse("2021-06-01T00:00:00Z"), ZoneOffset.UTC);
+    var generator = new SnowflakeIdGenerator(7, clock);
+
+    String previous = generator.nextId();
+    // More IDs than the sequence holds, so later ones borrow from the next milliseconds
+    for (int i = 0; i < 10_000; i++) {
+      String next = generator.nextId();
+      assertEquals(13, next.length());
+      assertTrue(next.compareTo(previous) > 0, next + " should sort after " + previous);
+      previous = next;
+    }
+  }
+
+  @Test
+  void idsShouldBeUniqueAcrossThreads() {
+    var generator = new SnowflakeIdGenerator(1);
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+
+    IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+    assertEquals(200_000, ids.size());
+  }
+
+  @Test
+  void stringFormShouldRoundTrip() {
+    var generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE);
+    long id = generator.nextLongId();
+
+    assertEquals(id, SnowflakeIdGenerator.parse(SnowflakeIdGenerator.toString(id)));
+    assertThrows(IllegalArgumentException.class, () -> SnowflakeIdGenerator.parse("not-an-id"));
+  }
+}
@@ -0,0 +1,97 @@
+package dev.techdozo.product.application.repository.impl;
+
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingProductRepositoryTest {
+
+  private final AtomicInteger lookups = new AtomicInteger();
+  private CachingProductRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    var store =
+        new ProductRepositoryImpl(new SnowflakeIdGenerator(0)) {
+          @Override
+          public Optional<Product> getProduct(String productId) {
+            lookups.incrementAndGet();
+            return super.getProduct(productId);
+          }
+
+          @Override
+          public List<Product> getProducts(Collection<String> productIds) {
+            lookups.incrementAndGet();
+            return super.getProducts(productIds);
+          }
+        };
+    repository =
+        new CachingProductRepository(
+            store, 100, null, Duration.ofMinutes(1), Duration.ofMinutes(1));
+  }
+
+  @Test
+  void savedProductShouldBeServedFromCache() {
+    var product = repository.save(new Product());
+
+    assertEquals(product, repository.getProduct(product.getId()).orElseThrow());
+    assertEquals(0, lookups.get());
+    assertEquals(1, repository.stats().hitCount());
+  }
+
+  @Test
+  void missShouldBeCached() {
+    assertTrue(repository.getProduct("unknown").isEmpty());
+    assertTrue(repository.getProduct("unknown").isEmpty());
+
+    assertEquals(1, lookups.get());
+    assertEquals(1, repository.stats().missCount());
+    assertEquals(1, repository.stats().hitCount());
+  }
+
+  @Test
+  void multiGetShouldLoadMissesInOneBatch() {
+    var cached = repository.save(new Product());
+
+    var products = repository.getProducts(List.of("a", cached.getId(), "b"));
+
+    assertEquals(List.of(cached), products);
+    assertEquals(1, lookups.get());
+    assertTrue(repository.getProduct("a").isEmpty());
+    assertEquals(1, lookups.get());
+  }
+
+  @Test
+  void upsertShouldInvalidateRatherThanCache() {
+    var product = repository.save(new Product());
+    var upserted = new Product();
+    upserted.setId(product.getId());
+    upserted.setPrice(10);
+
+    repository.upsertAll(List.of(upserted));
+
+    assertEquals(0, repository.stats().hitCount());
+    assertEquals(10, repository.getProduct(product.getId()).orElseThrow().getPrice());
+    assertEquals(1, lookups.get());
+  }
+
+  @Test
+  void cachedProductShouldNotBeSharedWithCallers() {
+    var product = repository.save(new Product());
+    product.setName("changed by caller");
+    repository.getProduct(product.getId()).orElseThrow().setPrice(10);
+
+    var cached = repository.getProduct(product.getId()).orElseThrow();
+    assertNull(cached.getName());
+    assertEquals(0, cached.getPrice());
+  }
+}
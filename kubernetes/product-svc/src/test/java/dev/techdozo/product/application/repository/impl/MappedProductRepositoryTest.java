@@ -0,0 +1,199 @@
+package dev.techdozo.product.application.repository.impl;
+
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedProductRepositoryTest {
+
+  private static final int SEGMENT_SIZE = 4096;
+
+  @TempDir Path directory;
+
+  @Test
+  void productsShouldSurviveRestart() throws Exception {
+    List<Product> saved = new ArrayList<>();
+    try (var repository = open()) {
+      for (int i = 0; i < 500; i++) {
+        saved.add(repository.save(product(i)));
+      }
+    }
+    assertTrue(Files.list(directory).count() > 1, "should roll over to new segments");
+
+    try (var repository = open()) {
+      for (Product product : saved) {
+        assertEquals(product, repository.getProduct(product.getId()).orElseThrow());
+      }
+    }
+  }
+
+  @Test
+  void tornTailShouldBeDiscarded() throws Exception {
+    Product first;
+    try (var repository = open()) {
+      first = repository.save(product(1));
+      repository.save(product(2));
+    }
+    // Corrupt the payload of the second record, as a crash in the middle of a write would
+    Path segment = directory.resolve("00000000.segment");
+    try (var file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.seek(recordLength(file, 0) + 20);
+      file.write(new byte[] {1, 2, 3, 4});
+    }
+
+    try (var repository = open()) {
+      assertEquals(first, repository.getProduct(first.getId()).orElseThrow());
+      Product third = repository.save(product(3));
+      assertEquals(third, repository.getProduct(third.getId()).orElseThrow());
+    }
+    try (var repository = open()) {
+      assertTrue(repository.getProduct(first.getId()).isPresent());
+    }
+  }
+
+  @Test
+  void batchShouldBeSavedAndFoundInOrder() throws Exception {
+    List<Product> batch = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      batch.add(product(i));
+    }
+    try (var repository = open()) {
+      List<Product> saved = repository.saveAll(batch);
+      List<String> ids = new ArrayList<>();
+      saved.forEach(product -> ids.add(product.getId()));
+      ids.add(1, "unknown");
+
+      assertEquals(saved, repository.getProducts(ids));
+    }
+  }
+
+  @Test
+  void lastUpsertShouldWinAfterRestart() throws Exception {
+    Product product;
+    try (var repository = open()) {
+      product = repository.save(product(1));
+      product.setPrice(99);
+      repository.upsertAll(List.of(product));
+    }
+    try (var repository = open()) {
+      List<Product> all = new ArrayList<>();
+      repository.forEachProduct(all::add);
+      assertEquals(List.of(product), all);
+    }
+  }
+
+  @Test
+  void concurrentUpsertsShouldAgreeWithReplay() throws Exception {
+    Product current;
+    try (var repository = open()) {
+      String id = repository.save(product(0)).getId();
+      Thread[] threads = new Thread[4];
+      for (int t = 0; t < threads.length; t++) {
+        int price = t;
+        threads[t] =
+            new Thread(
+                () -> {
+                  for (int i = 0; i < 200; i++) {
+                    var product = product(0);
+                    product.setId(id);
+                    product.setPrice(price);
+                    repository.upsertAll(List.of(product));
+                  }
+                });
+        threads[t].start();
+      }
+      for (Thread thread : threads) {
+        thread.join();
+      }
+      current = repository.getProduct(id).orElseThrow();
+    }
+    try (var repository = open()) {
+      assertEquals(current, repository.getProduct(current.getId()).orElseThrow());
+    }
+  }
+
+  @Test
+  void closeShouldReleaseSegments() throws Exception {
+    var repository = open();
+    repository.save(product(1));
+    repository.close();
+
+    assertEquals(0, repository.mappedBytes());
+    assertThrows(IllegalStateException.class, () -> repository.save(product(2)));
+    assertThrows(IllegalStateException.class, () -> repository.getProduct("any"));
+    assertThrows(IllegalStateException.class, () -> repository.forEachProduct(product -> {}));
+  }
+
+  @Test
+  void readsRacingCloseShouldOnlySeeClosedRepository() throws Exception {
+    var repository = open();
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      ids.add(repository.save(product(i)).getId());
+    }
+    List<Throwable> failures = new CopyOnWriteArrayList<>();
+    Thread[] readers = new Thread[4];
+    for (int t = 0; t < readers.length; t++) {
+      readers[t] =
+          new Thread(
+              () -> {
+                try {
+                  while (true) {
+                    for (String id : ids) {
+                      repository.getProduct(id);
+                    }
+                  }
+                } catch (IllegalStateException e) {
+                  // closed, as expected
+                } catch (Throwable e) {
+                  failures.add(e);
+                }
+              });
+      readers[t].start();
+    }
+    Thread.sleep(50);
+    repository.close();
+    for (Thread reader : readers) {
+      reader.join();
+    }
+    assertEquals(List.of(), failures);
+  }
+
+  @Test
+  void nullFieldsShouldRoundTrip() throws Exception {
+    try (var repository = open()) {
+      var product = repository.save(new Product());
+      var found = repository.getProduct(product.getId()).orElseThrow();
+      assertNull(found.getName());
+      assertNull(found.getDescription());
+    }
+  }
+
+  private MappedProductRepository open() throws IOException {
+    return new MappedProductRepository(directory, SEGMENT_SIZE, new SnowflakeIdGenerator(0));
+  }
+
+  private static long recordLength(RandomAccessFile file, long offset) throws Exception {
+    file.seek(offset);
+    return 2 * Integer.BYTES + file.readInt();
+  }
+
+  private static Product product(int i) {
+    var product = new Product();
+    product.setName("product-" + i);
+    product.setDescription("description of product " + i);
+    product.setPrice(i * 1.5);
+    return product;
+  }
+}
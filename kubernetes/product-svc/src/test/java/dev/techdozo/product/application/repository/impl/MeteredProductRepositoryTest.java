@@ -0,0 +1,35 @@
+package dev.techdozo.product.application.repository.impl;
+
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.id.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MeteredProductRepositoryTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final MeteredProductRepository repository =
+      new MeteredProductRepository(
+          new ProductRepositoryImpl(new SnowflakeIdGenerator(0)), registry);
+
+  @Test
+  void operationsShouldBeTimedAndCounted() {
+    var product = repository.save(new Product());
+    repository.saveAll(List.of(new Product(), new Product()));
+    repository.getProduct(product.getId());
+    repository.getProduct("unknown");
+
+    assertEquals(1, timerCount("save"));
+    assertEquals(1, timerCount("save_all"));
+    assertEquals(2, timerCount("get"));
+    assertEquals(3, registry.get("product.repository.size").gauge().value());
+  }
+
+  private long timerCount(String operation) {
+    return registry.get("product.repository").tag("operation", operation).timer().count();
+  }
+}
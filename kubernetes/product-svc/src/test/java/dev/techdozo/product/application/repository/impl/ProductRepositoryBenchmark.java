@@ -0,0 +1,64 @@
+package dev.techdozo.product.application.repository.impl;
+
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the in-memory repository as threads are added, each saving a product and reading
+ * it back. Run {@link #main(String[])} with the test classpath: it runs the benchmark with 1, 2, 4
+ * and 8 threads, and scaling can only be expected up to the number of available processors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductRepositoryBenchmark {
+
+  private ProductRepositoryImpl repository;
+
+  /** A new repository per iteration, so that its size does not grow across the whole run. */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    repository = new ProductRepositoryImpl(new SnowflakeIdGenerator(0));
+  }
+
+  @State(Scope.Thread)
+  public static class Counter {
+    private String prefix;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp(ThreadParams threads) {
+      prefix = "product-" + threads.getThreadIndex() + "-";
+    }
+  }
+
+  @Benchmark
+  public Product saveAndGet(Counter counter) {
+    var product = new Product();
+    product.setName(counter.prefix + counter.next);
+    product.setPrice(counter.next++);
+    String id = repository.save(product).getId();
+    return repository.getProduct(id).orElseThrow();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    for (int threads = 1; threads <= 8; threads *= 2) {
+      var options =
+          new OptionsBuilder()
+              .include(ProductRepositoryBenchmark.class.getSimpleName())
+              .threads(threads)
+              .build();
+      new Runner(options).run();
+    }
+  }
+}
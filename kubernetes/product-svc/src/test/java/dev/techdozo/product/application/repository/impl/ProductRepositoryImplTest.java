@@ -0,0 +1,72 @@
+package dev.techdozo.product.application.repository.impl;
+
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.id.SnowflakeIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Throughput as threads are added is measured by {@link ProductRepositoryBenchmark}. */
+class ProductRepositoryImplTest {
+
+  private static final int OPERATIONS_PER_THREAD = 20_000;
+  private static final int MAX_THREADS = 8;
+
+  @Test
+  void concurrentSavesShouldAllBeReadable() throws Exception {
+    for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+      var repository = new ProductRepositoryImpl(new SnowflakeIdGenerator(0));
+      List<String> ids = run(repository, threads);
+
+      assertEquals(threads * OPERATIONS_PER_THREAD, ids.size());
+      assertEquals(ids.size(), new HashSet<>(ids).size());
+      assertEquals(ids.size(), repository.count());
+      for (String id : ids) {
+        assertTrue(repository.getProduct(id).isPresent());
+      }
+    }
+  }
+
+  /**
+   * Each thread saves a product and immediately reads it back. Threads are released together, so
+   * that their saves overlap.
+   */
+  private List<String> run(ProductRepositoryImpl repository, int threads) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<List<String>>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  List<String> ids = new ArrayList<>(OPERATIONS_PER_THREAD);
+                  start.await();
+                  for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    var product = new Product();
+                    product.setName("product-" + i);
+                    product.setPrice(i);
+                    String id = repository.save(product).getId();
+                    repository.getProduct(id).orElseThrow();
+                    ids.add(id);
+                  }
+                  return ids;
+                }));
+      }
+      start.countDown();
+      List<String> ids = new ArrayList<>();
+      for (Future<List<String>> future : futures) {
+        ids.addAll(future.get());
+      }
+      return ids;
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package dev.techdozo.product.controller;
+
+import dev.techdozo.product.ProductApplication;
+import dev.techdozo.product.application.repository.ProductRepository;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import com.sun.management.ThreadMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test comparing the blocking and async controller modes. Boots the service once per mode and
+ * pool size, with a fixed latency injected in front of every repository call to stand in for an
+ * I/O-bound store, then keeps {@link #CONCURRENCY} GET requests in flight and reports throughput,
+ * latency percentiles and memory per request.
+ *
+ * <p>Both modes get the same number of threads to block in: Tomcat's {@code
+ * server.tomcat.threads.max} in blocking mode and {@code product.controller.async.max-threads} in
+ * async mode, so the comparison is not one of pool sizes. Async mode still parks a platform thread
+ * per repository call in progress, it only moves the blocking from Tomcat's pool to one with
+ * smaller stacks. Memory per request is the stack reserved by the server's threads, divided by the
+ * requests in flight, and the heap allocated by the server's threads per request.
+ *
+ * <p>Run {@link #main(String[])} with the test classpath, optionally passing the runs as {@code
+ * mode:threads}, such as {@code blocking:1000 async:1000}.
+ */
+@Slf4j
+public class ExecutionModeBenchmark {
+
+  private static final int CONCURRENCY = 1000;
+  private static final long REPOSITORY_LATENCY_MILLIS = 20;
+  private static final long WARMUP_SECONDS = 5;
+  private static final long MEASUREMENT_SECONDS = 15;
+  private static final int PRODUCTS = 1000;
+
+  private static final String TOMCAT_THREADS = "http-nio-";
+  private static final String EXECUTOR_THREADS = "product-";
+  private static final long EXECUTOR_STACK_KB = 256;
+
+  public static void main(String[] args) throws Exception {
+    List<String> runs =
+        args.length > 0
+            ? Arrays.asList(args)
+            : List.of("blocking:200", "async:200", "blocking:1000", "async:1000");
+    for (String run : runs) {
+      String mode = run.substring(0, run.indexOf(':'));
+      int threads = Integer.parseInt(run.substring(run.indexOf(':') + 1));
+      try (ConfigurableApplicationContext context =
+          new SpringApplicationBuilder(ProductApplication.class)
+              .initializers(
+                  applicationContext ->
+                      applicationContext.getBeanFactory().addBeanPostProcessor(new Latency()))
+              // Command line arguments, as application.properties overrides default properties
+              .run(
+                  "--server.port=0",
+                  "--product.controller.mode=" + mode,
+                  mode.equals("async")
+                      ? "--product.controller.async.max-threads=" + threads
+                      : "--server.tomcat.threads.max=" + threads,
+                  "--product.controller.async.thread-stack-size=" + EXECUTOR_STACK_KB + "KB")) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        run(run, "http://localhost:" + port + "/products/");
+      }
+    }
+  }
+
+  private static void run(String mode, String baseUrl) throws Exception {
+    var client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < PRODUCTS; i++) {
+      var request =
+          HttpRequest.newBuilder(URI.create(baseUrl))
+              .header("Content-Type", "application/json")
+              .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"product-" + i + "\"}"))
+              .build();
+      String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+      ids.add(body.substring(body.indexOf("\"id\":\"") + 6, body.indexOf("\",")));
+    }
+
+    load(client, baseUrl, ids, WARMUP_SECONDS, new LatencyRecorder());
+    var latencies = new LatencyRecorder();
+    var memory = new ServerMemory();
+    long start = System.nanoTime();
+    load(client, baseUrl, ids, MEASUREMENT_SECONDS, latencies);
+    double seconds = (System.nanoTime() - start) / 1e9;
+    memory.stop();
+    long[] sorted = latencies.sorted();
+    log.info(
+        "{} - {} req/s, errors {}, p50 {} ms, p99 {} ms, p99.9 {} ms",
+        mode,
+        Math.round(sorted.length / seconds),
+        latencies.errors.get(),
+        percentile(sorted, 0.5),
+        percentile(sorted, 0.99),
+        percentile(sorted, 0.999));
+    log.info(
+        "{} - threads {} Tomcat + {} executor, stack {} KB per request in flight, heap {} bytes"
+            + " per request",
+        mode,
+        memory.tomcatThreads,
+        memory.executorThreads,
+        memory.stackKilobytes() / CONCURRENCY,
+        sorted.length == 0 ? 0 : memory.allocatedBytes / sorted.length);
+  }
+
+  /** Keeps CONCURRENCY requests in flight, each client sending its next request on completion. */
+  private static void load(
+      HttpClient client, String baseUrl, List<String> ids, long seconds, LatencyRecorder recorder)
+      throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    var clients = new CompletableFuture<?>[CONCURRENCY];
+    for (int i = 0; i < CONCURRENCY; i++) {
+      clients[i] = next(client, baseUrl, ids, deadline, recorder);
+    }
+    CompletableFuture.allOf(clients).get();
+  }
+
+  private static CompletableFuture<Void> next(
+      HttpClient client,
+      String baseUrl,
+      List<String> ids,
+      long deadline,
+      LatencyRecorder recorder) {
+    if (System.nanoTime() > deadline) {
+      return CompletableFuture.completedFuture(null);
+    }
+    String id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    var request = HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build();
+    long start = System.nanoTime();
+    return client
+        .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+        .handle(
+            (response, error) -> {
+              boolean success = error == null && response.statusCode() == 200;
+              recorder.record(System.nanoTime() - start, success);
+              return null;
+            })
+        .thenCompose(ignored -> next(client, baseUrl, ids, deadline, recorder));
+  }
+
+  private static double percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length));
+    return sorted[index] / 1e6;
+  }
+
+  private static class LatencyRecorder {
+    private final AtomicLong errors = new AtomicLong();
+    private long[] latencies = new long[1 << 16];
+    private int size;
+
+    synchronized void record(long nanos, boolean success) {
+      if (!success) {
+        errors.incrementAndGet();
+        return;
+      }
+      if (size == latencies.length) {
+        latencies = Arrays.copyOf(latencies, size * 2);
+      }
+      latencies[size++] = nanos;
+    }
+
+    synchronized long[] sorted() {
+      long[] sorted = Arrays.copyOf(latencies, size);
+      Arrays.sort(sorted);
+      return sorted;
+    }
+  }
+
+  /**
+   * Threads of the server, Tomcat's and the executor's, and the heap they allocate while the load
+   * runs. Bytes allocated by threads that end during the run are not counted, and neither is the
+   * client, which runs in the same JVM on threads of its own.
+   */
+  private static class ServerMemory {
+    private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final long allocatedAtStart = allocated();
+    private long allocatedBytes;
+    private int tomcatThreads;
+    private int executorThreads;
+
+    void stop() {
+      allocatedBytes = allocated() - allocatedAtStart;
+      for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+        if (info != null && info.getThreadName().startsWith(TOMCAT_THREADS)) {
+          tomcatThreads++;
+        } else if (info != null && info.getThreadName().startsWith(EXECUTOR_THREADS)) {
+          executorThreads++;
+        }
+      }
+    }
+
+    /** Tomcat threads have the JVM's default stack size, executor threads the configured one. */
+    long stackKilobytes() {
+      long defaultStackKb =
+          Long.parseLong(
+              ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                  .getVMOption("ThreadStackSize")
+                  .getValue());
+      return tomcatThreads * defaultStackKb + executorThreads * EXECUTOR_STACK_KB;
+    }
+
+    private long allocated() {
+      long bytes = 0;
+      long[] ids = threads.getAllThreadIds();
+      long[] allocated = threads.getThreadAllocatedBytes(ids);
+      ThreadInfo[] infos = threads.getThreadInfo(ids);
+      for (int i = 0; i < ids.length; i++) {
+        if (infos[i] != null
+            && allocated[i] > 0
+            && (infos[i].getThreadName().startsWith(TOMCAT_THREADS)
+                || infos[i].getThreadName().startsWith(EXECUTOR_THREADS))) {
+          bytes += allocated[i];
+        }
+      }
+      return bytes;
+    }
+  }
+
+  /** Puts a fixed delay in front of every repository call. */
+  private static class Latency implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+      if (!(bean instanceof ProductRepository)) {
+        return bean;
+      }
+      return Proxy.newProxyInstance(
+          getClass().getClassLoader(),
+          new Class<?>[] {ProductRepository.class},
+          (proxy, method, methodArgs) -> {
+            Thread.sleep(REPOSITORY_LATENCY_MILLIS);
+            try {
+              return method.invoke(bean, methodArgs);
+            } catch (InvocationTargetException e) {
+              throw e.getCause();
+            }
+          });
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package dev.techdozo.product.controller;
+
+import dev.techdozo.product.application.Product;
+import dev.techdozo.product.application.repository.impl.ProductRepositoryImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging done by one GET and one POST request, before and after moving per-call logging to debug,
+ * sampling request logs and making loggers asynchronous. Each benchmark forks with its own log4j2
+ * configuration from {@code src/test/resources/benchmark}, logging to a file under {@code
+ * target/benchmark}. Run {@link #main(String[])} with the test classpath from the module directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class RequestLoggingBenchmark {
+
+  private static final String SYNC =
+      "-Dlog4j.configurationFile=benchmark/log4j2-sync.properties";
+  private static final String SYNC_SELECTOR =
+      "-DLog4jContextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector";
+  private static final String ASYNC =
+      "-Dlog4j.configurationFile=benchmark/log4j2-async.properties";
+  private static final int SAMPLE_RATE = 100;
+
+  private static final Logger controllerLog = LoggerFactory.getLogger(ProductController.class);
+  private static final Logger repositoryLog = LoggerFactory.getLogger(ProductRepositoryImpl.class);
+  private static final Logger filterLog = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+  private final String productId = "0N96S1W56PW00";
+  private final Product product = new Product();
+
+  @Setup
+  public void setUp() {
+    product.setId(productId);
+    product.setName("Effective Java");
+    product.setDescription("Best practices for the Java platform");
+    product.setPrice(44.93);
+  }
+
+  /** Logging as it was, with synchronous appenders. */
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = {SYNC, SYNC_SELECTOR})
+  public void perCallLogging() {
+    perCall();
+  }
+
+  /** Logging as it was, with async loggers, to separate the two effects. */
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = ASYNC)
+  public void perCallLoggingAsync() {
+    perCall();
+  }
+
+  /** Logging as it is now, with async loggers. */
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = ASYNC)
+  public void sampledLogging() {
+    controllerLog.debug("Fetching product {}", productId);
+    repositoryLog.debug("Finding details of product, id {}", productId);
+    controllerLog.debug("Saving product");
+    repositoryLog.debug("Saving product, name {}", product.getName());
+    for (int request = 0; request < 2; request++) {
+      if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0) {
+        filterLog.info("{} {} {} in {} us", "GET", "/products/" + productId, 200, 250L);
+      }
+    }
+  }
+
+  private void perCall() {
+    controllerLog.info("Fetching product {}", productId);
+    repositoryLog.info("Finding details of product, id {}", productId);
+    controllerLog.info("Saving product");
+    repositoryLog.info("Saving product {}", product);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(RequestLoggingBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
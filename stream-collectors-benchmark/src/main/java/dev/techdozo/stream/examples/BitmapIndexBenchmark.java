@@ -0,0 +1,98 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.bitmap.RoaringBitmap;
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+import dev.techdozo.stream.examples.store.BitmapIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.*;
+
+/**
+ * Category and publisher predicates evaluated on every book of a stream, and as operations on the
+ * bitmaps of a {@link BitmapIndex}: a count of Java books, the Java books of the most frequent
+ * publisher, and the static/dynamic split of {@code Grouping.groupByType} as counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BitmapIndexBenchmark {
+
+  private List<Book> books;
+  private BitmapIndex index;
+  private String publisher;
+
+  @Setup(Level.Trial)
+  public void setUp(CatalogState catalog) {
+    books = catalog.books;
+    index = BitmapIndex.of(books);
+    publisher = books.get(0).getPublisher();
+  }
+
+  @Benchmark
+  public long countJavaStream() {
+    return books.stream().filter(book -> book.getCategory().equals(Category.JAVA)).count();
+  }
+
+  @Benchmark
+  public long countJavaBitmap() {
+    return index.category(Category.JAVA).cardinality();
+  }
+
+  @Benchmark
+  public List<Book> javaOfPublisherStream() {
+    return books.stream()
+        .filter(book -> book.getCategory().equals(Category.JAVA))
+        .filter(book -> book.getPublisher().equals(publisher))
+        .collect(toList());
+  }
+
+  @Benchmark
+  public List<Book> javaOfPublisherBitmap() {
+    RoaringBitmap rows = index.category(Category.JAVA).and(index.publisher(publisher));
+    return BitmapIndex.rows(rows, books::get).collect(toList());
+  }
+
+  @Benchmark
+  public Map<Boolean, Long> countByTypeStream() {
+    return books.stream()
+        .collect(
+            partitioningBy(
+                book ->
+                    book.getCategory().equals(Category.JAVA)
+                        || book.getCategory().equals(Category.C_SHARP),
+                counting()));
+  }
+
+  @Benchmark
+  public Map<Boolean, Long> countByTypeBitmap() {
+    long statics = index.category(Category.JAVA).orCardinality(index.category(Category.C_SHARP));
+    return Map.of(true, statics, false, index.size() - statics);
+  }
+
+  @Benchmark
+  public BitmapIndex buildIndex() {
+    return BitmapIndex.of(books);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(BitmapIndexBenchmark.class.getSimpleName())
+            .param("parallel", "false")
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
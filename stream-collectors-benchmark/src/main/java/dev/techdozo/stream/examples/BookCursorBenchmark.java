@@ -0,0 +1,111 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+import dev.techdozo.stream.examples.store.CatalogFile;
+import dev.techdozo.stream.examples.store.ColumnarCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The {@code StreamOperation.javaAuthors} and {@link Joining} pipelines over a catalog file and a
+ * {@link ColumnarCatalog}, as streams of decoded books against {@link
+ * dev.techdozo.stream.examples.store.BookCursor cursors}. Run with the GC profiler to compare bytes
+ * allocated per operation. Sequential only, a cursor is single threaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BookCursorBenchmark {
+
+  private Path path;
+  private CatalogFile file;
+  private ColumnarCatalog columns;
+
+  @Setup(Level.Trial)
+  public void setUp(CatalogState catalog) throws IOException {
+    path = Files.createTempFile("catalog", ".bin");
+    CatalogFile.write(path, catalog.books);
+    file = CatalogFile.open(path);
+    columns = ColumnarCatalog.of(catalog.books);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    file = null;
+    Files.deleteIfExists(path);
+  }
+
+  @Benchmark
+  public List<String> javaAuthorsFileStream() {
+    return file.books()
+        .filter(book -> book.getCategory() == Category.JAVA)
+        .map(Book::getAuthor)
+        .collect(toList());
+  }
+
+  @Benchmark
+  public List<String> javaAuthorsFileCursor() {
+    return file.cursor().category(Category.JAVA).authors(new ArrayList<>());
+  }
+
+  @Benchmark
+  public List<String> javaAuthorsColumnarStream() {
+    return columns
+        .books()
+        .filter(book -> book.getCategory() == Category.JAVA)
+        .map(Book::getAuthor)
+        .collect(toList());
+  }
+
+  @Benchmark
+  public List<String> javaAuthorsColumnarCursor() {
+    return columns.cursor().category(Category.JAVA).authors(new ArrayList<>());
+  }
+
+  @Benchmark
+  public String joiningByNameFileStream() {
+    return file.books().map(Book::getName).collect(joining(",", "[", "]"));
+  }
+
+  @Benchmark
+  public String joiningByNameFileCursor() {
+    return file.cursor().joinNames(",", "[", "]");
+  }
+
+  @Benchmark
+  public long countExpensiveFileStream() {
+    return file.books().filter(book -> book.getPrice() > 100).count();
+  }
+
+  @Benchmark
+  public long countExpensiveFileCursor() {
+    return file.cursor().filter(book -> book.price() > 100).count();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(BookCursorBenchmark.class.getSimpleName())
+            .param("parallel", "false")
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,112 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.map.SortedArrayMap;
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.store.BookIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static dev.techdozo.stream.examples.collector.SortedArrayMapCollectors.toSortedArrayMap;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.*;
+
+/**
+ * Range queries answered by a stream pass, by a {@link TreeMap}, by a {@link SortedArrayMap} and by
+ * a {@link BookIndex}. The price range and the name prefix each select about a hundred books of a
+ * 10M catalog, so the index and the maps report the cost of a lookup, and the filter the cost of a
+ * full scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class BookIndexBenchmark {
+
+  private static final String PREFIX = "Book 12345";
+  private static final double LOW = 40;
+  private static final double HIGH = 40.01;
+
+  private List<Book> books;
+  private TreeMap<String, Book> byName;
+  private SortedArrayMap<String, Book> sortedByName;
+  private BookIndex index;
+
+  @Setup(Level.Trial)
+  public void setUp(CatalogState catalog) {
+    books = catalog.books;
+    byName = buildTreeMap();
+    sortedByName = buildSortedArrayMap();
+    index = buildIndex();
+  }
+
+  @Benchmark
+  public TreeMap<String, Book> buildTreeMap() {
+    return books.stream().collect(toMap(Book::getName, identity(), (a, b) -> a, TreeMap::new));
+  }
+
+  @Benchmark
+  public SortedArrayMap<String, Book> buildSortedArrayMap() {
+    return books.stream().collect(toSortedArrayMap(Book::getName, identity(), (a, b) -> a));
+  }
+
+  @Benchmark
+  public BookIndex buildIndex() {
+    return BookIndex.of(books);
+  }
+
+  @Benchmark
+  public List<Book> namePrefixFilter() {
+    return books.stream()
+        .filter(book -> book.getName().startsWith(PREFIX))
+        .sorted(Comparator.comparing(Book::getName))
+        .collect(toList());
+  }
+
+  @Benchmark
+  public List<Book> namePrefixTreeMap() {
+    return new ArrayList<>(byName.subMap(PREFIX, PREFIX + Character.MAX_VALUE).values());
+  }
+
+  @Benchmark
+  public List<Book> namePrefixSortedArrayMap() {
+    return new ArrayList<>(sortedByName.subMap(PREFIX, PREFIX + Character.MAX_VALUE).values());
+  }
+
+  @Benchmark
+  public List<Book> namePrefixIndex() {
+    return index.nameStartsWith(PREFIX).collect(toList());
+  }
+
+  @Benchmark
+  public List<Book> priceRangeFilter() {
+    return books.stream()
+        .filter(book -> book.getPrice() >= LOW && book.getPrice() < HIGH)
+        .collect(toList());
+  }
+
+  @Benchmark
+  public List<Book> priceRangeIndex() {
+    return index.priceRange(LOW, HIGH).collect(toList());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(BookIndexBenchmark.class.getSimpleName())
+            .param("parallel", "false")
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
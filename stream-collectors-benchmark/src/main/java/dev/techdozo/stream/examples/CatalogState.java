@@ -0,0 +1,34 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Synthetic catalog shared by all benchmarks in a trial. Books are generated from the default seed,
+ * so every benchmark sees the same data for a given size, and wrapped in a {@link ParallelList}
+ * when running in parallel.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+  @Param({"1000", "100000", "10000000"})
+  int size;
+
+  @Param({"false", "true"})
+  boolean parallel;
+
+  List<Book> books;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<Book> generated = Catalog.books(size);
+    books = parallel ? new ParallelList<>(generated) : generated;
+  }
+}
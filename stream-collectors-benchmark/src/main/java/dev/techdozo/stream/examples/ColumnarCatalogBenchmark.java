@@ -0,0 +1,92 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+import dev.techdozo.stream.examples.store.ColumnarCatalog;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * Aggregations over a {@link ColumnarCatalog} against the same aggregations as object streams over
+ * the list of books: the price sum of {@code PrimitiveStream}, and the {@link Grouping} examples.
+ * Sequential only, the columnar scans are single threaded loops.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ColumnarCatalogBenchmark {
+
+  private List<Book> books;
+  private ColumnarCatalog columns;
+
+  @Setup(Level.Trial)
+  public void setUp(CatalogState catalog) {
+    books = catalog.books;
+    columns = ColumnarCatalog.of(books);
+  }
+
+  @Benchmark
+  public double totalPriceStream() {
+    return books.stream().mapToDouble(Book::getPrice).sum();
+  }
+
+  @Benchmark
+  public double totalPriceColumnar() {
+    return columns.totalPrice();
+  }
+
+  @Benchmark
+  public Map<Category, Long> countByCategoryStream() {
+    return Grouping.groupByCategoryMapCount(books);
+  }
+
+  @Benchmark
+  public Map<Category, Long> countByCategoryColumnar() {
+    return columns.countByCategory();
+  }
+
+  @Benchmark
+  public Map<Category, Double> totalPriceByCategoryStream() {
+    return Grouping.groupByCategoryTotalPrice(books);
+  }
+
+  @Benchmark
+  public Map<Category, Double> totalPriceByCategoryColumnar() {
+    return columns.totalPriceByCategory();
+  }
+
+  @Benchmark
+  public Map<Category, Long> filterCountByCategoryStream() {
+    return books.stream()
+        .filter(b -> b.getPrice() > 51)
+        .collect(groupingBy(Book::getCategory, counting()));
+  }
+
+  @Benchmark
+  public Map<Category, Long> filterCountByCategoryColumnar() {
+    return columns.countByCategoryPriceGreaterThan(51);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(ColumnarCatalogBenchmark.class.getSimpleName())
+            .param("parallel", "false")
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,68 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static dev.techdozo.stream.examples.collector.EnumCollectors.*;
+
+/**
+ * Primitive, ordinal-indexed collectors from {@link
+ * dev.techdozo.stream.examples.collector.EnumCollectors} against the boxing {@code groupingBy}
+ * examples in {@link Grouping}. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EnumCollectorsBenchmark {
+
+  @Benchmark
+  public Map<Category, Long> groupingByCount(CatalogState catalog) {
+    return Grouping.groupByCategoryMapCount(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, Long> countingByOrdinal(CatalogState catalog) {
+    return catalog.books.stream().collect(countingBy(Category.class, Book::getCategory));
+  }
+
+  @Benchmark
+  public Map<Category, Double> groupingByTotalPrice(CatalogState catalog) {
+    return Grouping.groupByCategoryTotalPrice(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, Double> summingByOrdinal(CatalogState catalog) {
+    return catalog.books.stream()
+        .collect(summingDoubleBy(Category.class, Book::getCategory, Book::getPrice));
+  }
+
+  @Benchmark
+  public Map<Category, Double> groupingByAveragePrice(CatalogState catalog) {
+    return Grouping.groupByCategoryAveragePrice(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, Double> averagingByOrdinal(CatalogState catalog) {
+    return catalog.books.stream()
+        .collect(averagingDoubleBy(Category.class, Book::getCategory, Book::getPrice));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(EnumCollectorsBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,108 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.map.FrozenMap;
+import dev.techdozo.stream.examples.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static dev.techdozo.stream.examples.collector.FrozenMapCollectors.toFrozenMap;
+import static java.util.stream.Collectors.*;
+
+/**
+ * {@link FrozenMap} against the JDK maps used for read-only lookups, keyed by the unique book
+ * names: a {@link java.util.HashMap} from {@code toMap}, and the immutable map of {@code
+ * toUnmodifiableMap}. The {@code build} benchmarks collect the catalog, so with the GC profiler
+ * their {@code gc.alloc.rate.norm} includes the intermediate maps; the {@code lookup} benchmarks
+ * report the time of one {@code get}, for names drawn at random from the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class FrozenMapBenchmark {
+
+  private static final int LOOKUPS = 1024;
+
+  private List<Book> books;
+  private Map<String, String> hashMap;
+  private Map<String, String> unmodifiableMap;
+  private Map<String, String> frozenMap;
+  private String[] names;
+
+  @Setup(Level.Trial)
+  public void setUp(CatalogState catalog) {
+    books = catalog.books;
+    hashMap = buildHashMap();
+    unmodifiableMap = buildUnmodifiableMap();
+    frozenMap = buildFrozenMap();
+    var random = new SplittableRandom(42);
+    names = new String[LOOKUPS];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = books.get(random.nextInt(books.size())).getName();
+    }
+  }
+
+  @Benchmark
+  public Map<String, String> buildHashMap() {
+    return books.stream().collect(toMap(Book::getName, Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, String> buildUnmodifiableMap() {
+    return books.stream().collect(toUnmodifiableMap(Book::getName, Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, String> buildFrozenMap() {
+    return books.stream().collect(toFrozenMap(Book::getName, Book::getAuthor));
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int lookupHashMap() {
+    return lookup(hashMap);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int lookupUnmodifiableMap() {
+    return lookup(unmodifiableMap);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int lookupFrozenMap() {
+    return lookup(frozenMap);
+  }
+
+  private int lookup(Map<String, String> map) {
+    int found = 0;
+    for (String name : names) {
+      found += map.get(name).length();
+    }
+    return found;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(FrozenMapBenchmark.class.getSimpleName())
+            .param("parallel", "false")
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,97 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link Grouping} example over the same catalog, including the imperative count against
+ * {@code groupingBy} with {@code counting()} and the {@code HashMap} against the {@code TreeMap}
+ * supplier. Run {@link #main(String[])} or the shaded {@code benchmarks.jar}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GroupingBenchmark {
+
+  @Benchmark
+  public Map<Category, Long> groupByCategoryMapCount(CatalogState catalog) {
+    return Grouping.groupByCategoryMapCount(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, Integer> groupByCategoryCountImperative(CatalogState catalog) {
+    return Grouping.groupByCategoryCountImperative(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, List<Book>> groupByCategory(CatalogState catalog) {
+    return Grouping.groupByCategory(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, List<Book>> groupByCategoryTreeMap(CatalogState catalog) {
+    return Grouping.groupByCategoryTreeMap(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, Set<Book>> groupByCategoryCustomCollection(CatalogState catalog) {
+    return Grouping.groupByCategoryCustomCollection(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, List<Book>> groupByCategoryFiltering(CatalogState catalog) {
+    return Grouping.groupByCategoryFiltering(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, List<Book>> filterGroupByCategory(CatalogState catalog) {
+    return Grouping.filterGroupByCategory(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Grouping.Type, Set<Category>> groupByType(CatalogState catalog) {
+    return Grouping.groupByType(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, Double> groupByCategoryAveragePrice(CatalogState catalog) {
+    return Grouping.groupByCategoryAveragePrice(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, Double> groupByCategoryTotalPrice(CatalogState catalog) {
+    return Grouping.groupByCategoryTotalPrice(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, Optional<Book>> groupByCategoryMaxPrice(CatalogState catalog) {
+    return Grouping.groupByCategoryMaxPrice(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Category, Book> groupByCategoryMaxPriceNoOptional(CatalogState catalog) {
+    return Grouping.groupByCategoryMaxPriceNoOptional(catalog.books);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(GroupingBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
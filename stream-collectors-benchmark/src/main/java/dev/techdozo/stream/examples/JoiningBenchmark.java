@@ -0,0 +1,77 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.collector.JoiningCollectors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The {@link Joining} examples over the same catalog, with {@code Collectors.joining} against the
+ * presized {@link JoiningCollectors}. Run {@link #main(String[])} or the shaded {@code
+ * benchmarks.jar}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class JoiningBenchmark {
+
+  @Benchmark
+  public String joiningByName(CatalogState catalog) {
+    return Joining.joiningByName(catalog.books);
+  }
+
+  @Benchmark
+  public String joiningByNamePretty(CatalogState catalog) {
+    return Joining.joiningByNamePretty(catalog.books);
+  }
+
+  @Benchmark
+  public String joiningByNamePresized(CatalogState catalog) {
+    return Joining.joiningByNamePresized(catalog.books);
+  }
+
+  @Benchmark
+  public ByteBuffer joiningByNameUtf8(CatalogState catalog) {
+    return Joining.joiningByNameUtf8(catalog.books);
+  }
+
+  @Benchmark
+  public Writer writeNames(CatalogState catalog) throws IOException {
+    var writer = new OutputStreamWriter(NullOutputStream.INSTANCE, UTF_8);
+    Joining.writeNames(catalog.books, writer);
+    return writer;
+  }
+
+  /** Discards everything, so {@link #writeNames} measures joining and encoding only. */
+  private static class NullOutputStream extends OutputStream {
+    static final NullOutputStream INSTANCE = new NullOutputStream();
+
+    @Override
+    public void write(int b) {}
+
+    @Override
+    public void write(byte[] b, int off, int len) {}
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(JoiningBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
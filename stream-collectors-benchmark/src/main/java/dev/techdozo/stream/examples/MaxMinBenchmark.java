@@ -0,0 +1,58 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every {@link MaxMin} example over the same catalog, comparing {@code maxBy} and {@code minBy}
+ * against {@code max} and the two forms of {@code reduce}. Run {@link #main(String[])} or the
+ * shaded {@code benchmarks.jar}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MaxMinBenchmark {
+
+  @Benchmark
+  public Optional<Book> maxPrice(CatalogState catalog) {
+    return MaxMin.maxPrice(catalog.books);
+  }
+
+  @Benchmark
+  public Optional<Book> maxPriceSimplified(CatalogState catalog) {
+    return MaxMin.maxPriceSimplified(catalog.books);
+  }
+
+  @Benchmark
+  public Optional<Book> maxPriceReducing(CatalogState catalog) {
+    return MaxMin.maxPriceReducing(catalog.books);
+  }
+
+  @Benchmark
+  public Optional<Book> maxPriceReducingSimplified(CatalogState catalog) {
+    return MaxMin.maxPriceReducingSimplified(catalog.books);
+  }
+
+  @Benchmark
+  public Optional<Book> minPrice(CatalogState catalog) {
+    return MaxMin.minPrice(catalog.books);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(MaxMinBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
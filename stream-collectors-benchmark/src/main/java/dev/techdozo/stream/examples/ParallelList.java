@@ -0,0 +1,34 @@
+package dev.techdozo.stream.examples;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+
+/**
+ * Read-only view of a list whose {@link #stream()} is parallel, so the examples, which all start
+ * from {@code books.stream()}, can be benchmarked in parallel without changing them.
+ */
+class ParallelList<E> extends AbstractList<E> implements RandomAccess {
+
+  private final List<E> list;
+
+  ParallelList(List<E> list) {
+    this.list = list;
+  }
+
+  @Override
+  public E get(int index) {
+    return list.get(index);
+  }
+
+  @Override
+  public int size() {
+    return list.size();
+  }
+
+  @Override
+  public Stream<E> stream() {
+    return list.parallelStream();
+  }
+}
@@ -0,0 +1,43 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Both {@link Partitioning} examples over the same catalog. Run {@link #main(String[])} or the
+ * shaded {@code benchmarks.jar}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PartitioningBenchmark {
+
+  @Benchmark
+  public Map<Boolean, List<Book>> partitioningByJavaBooks(CatalogState catalog) {
+    return Partitioning.partitioningByJavaBooks(catalog.books);
+  }
+
+  @Benchmark
+  public Map<Boolean, List<String>> partitioningByJavaBooksAndMap(CatalogState catalog) {
+    return Partitioning.partitioningByJavaBooksAndMap(catalog.books);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(PartitioningBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
@@ -0,0 +1,81 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+import dev.techdozo.stream.examples.store.PriceIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.*;
+
+/**
+ * "Price greater than a threshold, grouped by category" by filtering every book and by a {@link
+ * PriceIndex}. With prices around a median of 35, a threshold of 51 keeps about a quarter of the
+ * books and 150 well under one percent, so the index's advantage grows with selectivity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PriceIndexBenchmark {
+
+  @Param({"51", "150"})
+  double threshold;
+
+  private List<Book> books;
+  private PriceIndex index;
+
+  @Setup(Level.Trial)
+  public void setUp(CatalogState catalog) {
+    books = catalog.books;
+    index = PriceIndex.of(books);
+  }
+
+  @Benchmark
+  public Map<Category, List<Book>> filterGroupByCategory() {
+    return books.stream()
+        .filter(b -> b.getPrice() > threshold)
+        .collect(groupingBy(Book::getCategory));
+  }
+
+  @Benchmark
+  public Map<Category, List<Book>> filterGroupByCategoryIndexed() {
+    return index.groupByCategoryGreaterThan(threshold, books::get, toList());
+  }
+
+  @Benchmark
+  public Map<Category, Long> countByCategory() {
+    return books.stream()
+        .filter(b -> b.getPrice() > threshold)
+        .collect(groupingBy(Book::getCategory, counting()));
+  }
+
+  @Benchmark
+  public Map<Category, Long> countByCategoryIndexed() {
+    return index.countByCategoryGreaterThan(threshold);
+  }
+
+  @Benchmark
+  public PriceIndex buildIndex() {
+    return PriceIndex.of(books);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(PriceIndexBenchmark.class.getSimpleName())
+            .param("parallel", "false")
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
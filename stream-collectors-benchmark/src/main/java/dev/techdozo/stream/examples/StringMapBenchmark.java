@@ -0,0 +1,122 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.map.StringMap;
+import dev.techdozo.stream.examples.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static dev.techdozo.stream.examples.collector.StringMapCollectors.*;
+import static java.util.stream.Collectors.*;
+
+/**
+ * {@link StringMap} against {@link HashMap}, keyed by the unique book names. The {@code fill}
+ * benchmarks put every name into a map presized for the catalog, so with the GC profiler their
+ * {@code gc.alloc.rate.norm} divided by the size is the memory per entry. The {@code lookup}
+ * benchmarks report the time of one {@code get}, for names drawn at random from the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class StringMapBenchmark {
+
+  private static final int LOOKUPS = 1024;
+
+  private List<Book> books;
+  private Map<String, String> hashMap;
+  private StringMap<String> stringMap;
+  private String[] names;
+
+  @Setup(Level.Trial)
+  public void setUp(CatalogState catalog) {
+    books = catalog.books;
+    hashMap = books.stream().collect(toMap(Book::getName, Book::getAuthor));
+    stringMap = books.stream().collect(toStringMap(Book::getName, Book::getAuthor));
+    var random = new SplittableRandom(42);
+    names = new String[LOOKUPS];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = books.get(random.nextInt(books.size())).getName();
+    }
+  }
+
+  @Benchmark
+  public Map<String, String> toMapHashMap() {
+    return books.stream().collect(toMap(Book::getName, Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, String> toMapStringMap() {
+    return books.stream().collect(toStringMap(Book::getName, Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, List<Book>> groupingByHashMap() {
+    return books.stream().collect(groupingBy(Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, List<Book>> groupingByStringMap() {
+    return books.stream().collect(groupingByString(Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, String> fillHashMap() {
+    Map<String, String> map = new HashMap<>((int) (books.size() / 0.75f) + 1);
+    for (Book book : books) {
+      map.put(book.getName(), book.getAuthor());
+    }
+    return map;
+  }
+
+  @Benchmark
+  public Map<String, String> fillStringMap() {
+    Map<String, String> map = new StringMap<>(books.size());
+    for (Book book : books) {
+      map.put(book.getName(), book.getAuthor());
+    }
+    return map;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int lookupHashMap() {
+    return lookup(hashMap);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public int lookupStringMap() {
+    return lookup(stringMap);
+  }
+
+  private int lookup(Map<String, String> map) {
+    int found = 0;
+    for (String name : names) {
+      found += map.get(name).length();
+    }
+    return found;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(StringMapBenchmark.class.getSimpleName())
+            .param("parallel", "false")
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
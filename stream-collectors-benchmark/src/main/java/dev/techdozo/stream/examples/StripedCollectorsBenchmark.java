@@ -0,0 +1,86 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static dev.techdozo.stream.examples.collector.StripedCollectors.*;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.*;
+
+/**
+ * Striped collectors from {@link dev.techdozo.stream.examples.collector.StripedCollectors} against
+ * {@code groupingBy}/{@code toMap}, which merge a map per split, and {@code
+ * groupingByConcurrent}/{@code toConcurrentMap}, which share one {@code ConcurrentHashMap}. Keys are
+ * authors, a few thousand of them with a skewed distribution, and for toMap the unique book names.
+ * Only meaningful with {@code -p parallel=true} on a machine with many cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class StripedCollectorsBenchmark {
+
+  @Benchmark
+  public Map<String, Long> countingGroupingBy(CatalogState catalog) {
+    return catalog.books.stream().collect(groupingBy(Book::getAuthor, counting()));
+  }
+
+  @Benchmark
+  public Map<String, Long> countingGroupingByConcurrent(CatalogState catalog) {
+    return catalog.books.stream().collect(groupingByConcurrent(Book::getAuthor, counting()));
+  }
+
+  @Benchmark
+  public Map<String, Long> countingStriped(CatalogState catalog) {
+    return catalog.books.stream().collect(countingByStriped(Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, List<Book>> listGroupingBy(CatalogState catalog) {
+    return catalog.books.stream().collect(groupingBy(Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, List<Book>> listGroupingByConcurrent(CatalogState catalog) {
+    return catalog.books.stream().collect(groupingByConcurrent(Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, List<Book>> listStriped(CatalogState catalog) {
+    return catalog.books.stream().collect(groupingByStriped(Book::getAuthor));
+  }
+
+  @Benchmark
+  public Map<String, Book> uniqueToMap(CatalogState catalog) {
+    return catalog.books.stream().collect(toMap(Book::getName, identity()));
+  }
+
+  @Benchmark
+  public Map<String, Book> uniqueToConcurrentMap(CatalogState catalog) {
+    return catalog.books.stream().collect(toConcurrentMap(Book::getName, identity()));
+  }
+
+  @Benchmark
+  public Map<String, Book> uniqueStriped(CatalogState catalog) {
+    return catalog.books.stream().collect(toMapStriped(Book::getName, identity()));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(StripedCollectorsBenchmark.class.getSimpleName())
+            .param("parallel", "true")
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
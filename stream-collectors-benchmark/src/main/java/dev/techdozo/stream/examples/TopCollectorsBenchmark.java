@@ -0,0 +1,73 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static dev.techdozo.stream.examples.collector.TopCollectors.greatest;
+import static dev.techdozo.stream.examples.collector.TopCollectors.greatestBy;
+import static java.util.Comparator.comparingDouble;
+import static java.util.stream.Collectors.*;
+
+/**
+ * Heap-based top-K collectors from {@link dev.techdozo.stream.examples.collector.TopCollectors}
+ * against sorting, overall and per category.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TopCollectorsBenchmark {
+
+  private static final Comparator<Book> BY_PRICE = comparingDouble(Book::getPrice);
+
+  @Param({"10", "100"})
+  int k;
+
+  @Benchmark
+  public List<Book> sortedLimit(CatalogState catalog) {
+    return catalog.books.stream().sorted(BY_PRICE.reversed()).limit(k).collect(toList());
+  }
+
+  @Benchmark
+  public List<Book> topK(CatalogState catalog) {
+    return catalog.books.stream().collect(greatest(k, BY_PRICE));
+  }
+
+  @Benchmark
+  public Map<Category, List<Book>> sortedLimitPerCategory(CatalogState catalog) {
+    return catalog.books.stream()
+        .collect(
+            groupingBy(
+                Book::getCategory,
+                collectingAndThen(
+                    toList(),
+                    books ->
+                        books.stream().sorted(BY_PRICE.reversed()).limit(k).collect(toList()))));
+  }
+
+  @Benchmark
+  public Map<Category, List<Book>> topKPerCategory(CatalogState catalog) {
+    return catalog.books.stream().collect(greatestBy(Book::getCategory, k, BY_PRICE));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var options =
+        new OptionsBuilder()
+            .include(TopCollectorsBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+    new Runner(options).run();
+  }
+}
@@ -1,12 +1,19 @@
 package dev.techdozo.stream.examples;
 
+import dev.techdozo.stream.examples.bitmap.RoaringBitmap;
 import dev.techdozo.stream.examples.model.Book;
 import dev.techdozo.stream.examples.model.Catalog;
 import dev.techdozo.stream.examples.model.Category;
+import dev.techdozo.stream.examples.store.BitmapIndex;
+import dev.techdozo.stream.examples.store.BookIndex;
+import dev.techdozo.stream.examples.store.PriceIndex;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 
+import static dev.techdozo.stream.examples.collector.SketchCollectors.approximateDistinctCount;
+import static dev.techdozo.stream.examples.collector.SketchCollectors.toKllSketch;
+import static dev.techdozo.stream.examples.collector.TopCollectors.greatest;
 import static java.util.Comparator.comparingDouble;
 import static java.util.stream.Collectors.*;
 
@@ -14,7 +21,7 @@ import static java.util.stream.Collectors.*;
 @Slf4j
 public class Grouping {
 
-  private enum Type {
+  enum Type {
     DYNAMIC,
     STATIC
   }
@@ -28,14 +35,24 @@ public class Grouping {
     log.info("Grouped by with custom collector {} ", groupByCategoryCustomCollection(books));
     log.info("Grouped by category and Filter {} ", groupByCategoryFiltering(books));
     log.info("Filter and Grouped by category {} ", filterGroupByCategory(books));
+    var priceIndex = PriceIndex.of(books);
+    log.info("Indexed filter and group {} ", filterGroupByCategoryIndexed(books, priceIndex));
+    log.info("Indexed filter and count {} ", priceIndex.countByCategoryGreaterThan(51));
     log.info("Grouped by Type {} ", groupByType(books));
+    log.info("Grouped by Type count {} ", groupByTypeCount(BitmapIndex.of(books)));
     log.info("Grouped by and average price {} ", groupByCategoryAveragePrice(books));
     log.info("Grouped by and total price {} ", groupByCategoryTotalPrice(books));
     log.info("Grouped by and max price {} ", groupByCategoryMaxPrice(books));
     log.info("Grouped by and max price {} ", groupByCategoryMaxPriceNoOptional(books));
+    log.info("Grouped by and top 2 by price {} ", groupByCategoryMostExpensive(books, 2));
+    log.info("Grouped by and distinct authors {} ", groupByPublisherDistinctAuthors(books));
+    log.info("Grouped by and median price {} ", groupByCategoryMedianPrice(books));
+    var index = BookIndex.of(books);
+    log.info("Price range grouped by category {} ", groupByCategoryPriceRange(index, 40, 60));
+    log.info("Name prefix ordered by name {} ", namesStartingWith(index, "Book 1"));
   }
 
-  private static Map<Category, Long> groupByCategoryMapCount(List<Book> books) {
+  static Map<Category, Long> groupByCategoryMapCount(List<Book> books) {
     return books.stream().collect(groupingBy(Book::getCategory, counting()));
   }
 
@@ -46,7 +63,7 @@ public class Grouping {
    * @param books List of books
    * @return HashMap containing key as a category and value as List of books
    */
-  private static Map<Category, List<Book>> groupByCategory(List<Book> books) {
+  static Map<Category, List<Book>> groupByCategory(List<Book> books) {
     return books.stream().collect(groupingBy(Book::getCategory));
   }
 
@@ -57,7 +74,7 @@ public class Grouping {
    * @param books List of books
    * @return TreeMap containing key as a category and value as List of books
    */
-  private static Map<Category, List<Book>> groupByCategoryTreeMap(List<Book> books) {
+  static Map<Category, List<Book>> groupByCategoryTreeMap(List<Book> books) {
     return books.stream().collect(groupingBy(Book::getCategory, TreeMap::new, toList()));
   }
 
@@ -67,7 +84,7 @@ public class Grouping {
    * @param books List of books
    * @return HashMap containing key as a category and value as HashSet of books
    */
-  private static Map<Category, Set<Book>> groupByCategoryCustomCollection(List<Book> books) {
+  static Map<Category, Set<Book>> groupByCategoryCustomCollection(List<Book> books) {
     return books.stream().collect(groupingBy(Book::getCategory, toCollection(HashSet::new)));
   }
 
@@ -77,7 +94,7 @@ public class Grouping {
    * @param books List of books
    * @return HashMap containing key as a category and value filtered list of book
    */
-  private static Map<Category, List<Book>> groupByCategoryFiltering(List<Book> books) {
+  static Map<Category, List<Book>> groupByCategoryFiltering(List<Book> books) {
     return books.stream()
         .collect(groupingBy(Book::getCategory, filtering(b -> b.getPrice() > 51, toList())));
   }
@@ -89,17 +106,30 @@ public class Grouping {
    * @return HashMap containing key as a category and value as list of book. This operation removes
    *     all keys whose value does not satisfy filtering operation.
    */
-  private static Map<Category, List<Book>> filterGroupByCategory(List<Book> books) {
+  static Map<Category, List<Book>> filterGroupByCategory(List<Book> books) {
     return books.stream().filter(b -> b.getPrice() > 51).collect(groupingBy(Book::getCategory));
   }
 
+  /**
+   * Same result as {@link #filterGroupByCategory(List)}, read from a price index: only the books
+   * priced above 51 are visited, found by a binary search per category.
+   *
+   * @param books List of books
+   * @param index price index of the books
+   * @return EnumMap containing key as a category and value as list of book, in list order.
+   */
+  static Map<Category, List<Book>> filterGroupByCategoryIndexed(
+      List<Book> books, PriceIndex index) {
+    return index.groupByCategoryGreaterThan(51, books::get, toList());
+  }
+
   /**
    * Grouping by a complex condition and mapping element to a different type
    *
    * @param books List of books
    * @return HashMap containing key as a Type of language and value as Set of category of book.
    */
-  private static Map<Type, Set<Category>> groupByType(List<Book> books) {
+  static Map<Type, Set<Category>> groupByType(List<Book> books) {
     return books.stream()
         .collect(
             groupingBy(
@@ -114,13 +144,34 @@ public class Grouping {
                 mapping(Book::getCategory, toSet())));
   }
 
+  /**
+   * Number of books of each Type, from a bitmap index: the static languages are counted as the
+   * union of the Java and C# bitmaps, without building it, and the dynamic ones are the rest. Like
+   * {@code groupingBy(type, counting())}, a Type without books is left out.
+   *
+   * @param index bitmap index of the books
+   * @return EnumMap containing key as a Type of language and value as number of books.
+   */
+  static Map<Type, Long> groupByTypeCount(BitmapIndex index) {
+    RoaringBitmap java = index.category(Category.JAVA);
+    long statics = java.orCardinality(index.category(Category.C_SHARP));
+    Map<Type, Long> counts = new EnumMap<>(Type.class);
+    if (statics > 0) {
+      counts.put(Type.STATIC, statics);
+    }
+    if (index.size() > statics) {
+      counts.put(Type.DYNAMIC, index.size() - statics);
+    }
+    return counts;
+  }
+
   /**
    * Grouping by a category with average price
    *
    * @param books List of books
    * @return HashMap containing key as a category and value as a average price of that category.
    */
-  private static Map<Category, Double> groupByCategoryAveragePrice(List<Book> books) {
+  static Map<Category, Double> groupByCategoryAveragePrice(List<Book> books) {
     return books.stream().collect(groupingBy(Book::getCategory, averagingDouble(Book::getPrice)));
   }
 
@@ -130,7 +181,7 @@ public class Grouping {
    * @param books List of books
    * @return HashMap containing key as a category and value as a total price of that category.
    */
-  private static Map<Category, Double> groupByCategoryTotalPrice(List<Book> books) {
+  static Map<Category, Double> groupByCategoryTotalPrice(List<Book> books) {
     return books.stream().collect(groupingBy(Book::getCategory, summingDouble(Book::getPrice)));
   }
 
@@ -141,7 +192,7 @@ public class Grouping {
    * @return HashMap containing key as a Category of book and value as a max price of that category.
    *     This method returns Optional<Book>.
    */
-  private static Map<Category, Optional<Book>> groupByCategoryMaxPrice(List<Book> books) {
+  static Map<Category, Optional<Book>> groupByCategoryMaxPrice(List<Book> books) {
     return books.stream()
         .collect(groupingBy(Book::getCategory, maxBy(comparingDouble(Book::getPrice))));
   }
@@ -154,7 +205,7 @@ public class Grouping {
    * @return HashMap containing key as a Category of book and value as a max price of that category.
    *     This method returns Optional<Book>.
    */
-  private static Map<Category, Book> groupByCategoryMaxPriceNoOptional(List<Book> books) {
+  static Map<Category, Book> groupByCategoryMaxPriceNoOptional(List<Book> books) {
     return books.stream()
         .collect(
             groupingBy(
@@ -162,6 +213,73 @@ public class Grouping {
                 collectingAndThen(maxBy(comparingDouble(Book::getPrice)), Optional::get)));
   }
 
+  /**
+   * Grouping by a category with the k most expensive books of that category. Generalizes maxBy
+   * with a bounded heap per category.
+   *
+   * @param books List of books
+   * @param k number of books per category
+   * @return HashMap containing key as a Category of book and value as at most k books, most
+   *     expensive first.
+   */
+  static Map<Category, List<Book>> groupByCategoryMostExpensive(List<Book> books, int k) {
+    return books.stream()
+        .collect(groupingBy(Book::getCategory, greatest(k, comparingDouble(Book::getPrice))));
+  }
+
+  /**
+   * Grouping by a publisher with the approximate number of distinct authors. Unlike mapping to a
+   * Set, a HyperLogLog sketch per publisher takes fixed memory however many authors there are.
+   *
+   * @param books List of books
+   * @return HashMap containing key as a publisher and value as estimated number of authors.
+   */
+  static Map<String, Long> groupByPublisherDistinctAuthors(List<Book> books) {
+    return books.stream()
+        .collect(groupingBy(Book::getPublisher, approximateDistinctCount(Book::getAuthor)));
+  }
+
+  /**
+   * Grouping by a category with the approximate median price, from a KLL sketch per category.
+   *
+   * @param books List of books
+   * @return HashMap containing key as a category and value as its approximate median price.
+   */
+  static Map<Category, Double> groupByCategoryMedianPrice(List<Book> books) {
+    return books.stream()
+        .collect(
+            groupingBy(
+                Book::getCategory,
+                collectingAndThen(toKllSketch(Book::getPrice), sketch -> sketch.quantile(0.5))));
+  }
+
+  /**
+   * Grouping by category the books of a price range, read from a sorted index instead of testing
+   * the price of every book. Within a category, books stay ordered by price.
+   *
+   * @param index books sorted by price
+   * @param low lowest price included
+   * @param high highest price, excluded
+   * @return EnumMap containing key as a category and value as List of books, cheapest first
+   */
+  static Map<Category, List<Book>> groupByCategoryPriceRange(
+      BookIndex index, double low, double high) {
+    return index
+        .priceRange(low, high)
+        .collect(groupingBy(Book::getCategory, () -> new EnumMap<>(Category.class), toList()));
+  }
+
+  /**
+   * Names with a prefix in name order, as a {@code TreeMap.subMap} would give them, from a slice of
+   * a sorted array.
+   *
+   * @param index books sorted by name
+   * @param prefix start of the names
+   * @return List of names in ascending order
+   */
+  static List<String> namesStartingWith(BookIndex index, String prefix) {
+    return index.nameStartsWith(prefix).map(Book::getName).collect(toList());
+  }
 
   /**
    * Imperative style of grouping list of books
@@ -169,7 +287,7 @@ public class Grouping {
    * @param books books List of books
    * @return HashMap containing key as a category and value as List of books
    */
-  private static Map<Category, Integer> groupByCategoryCountImperative(List<Book> books) {
+  static Map<Category, Integer> groupByCategoryCountImperative(List<Book> books) {
     Map<Category, Integer> grouped = new HashMap<>();
     for (Book book : books) {
       Integer count = grouped.get(book.getCategory());
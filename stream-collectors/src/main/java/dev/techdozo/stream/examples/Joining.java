@@ -1,9 +1,15 @@
 package dev.techdozo.stream.examples;
 
+import dev.techdozo.stream.examples.collector.JoiningCollectors;
 import dev.techdozo.stream.examples.model.Book;
 import dev.techdozo.stream.examples.model.Catalog;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import static java.util.stream.Collectors.joining;
@@ -14,10 +20,14 @@ import static java.util.stream.Collectors.joining;
 @Slf4j
 public class Joining {
 
-  public static void main(String[] args) {
+  public static void main(String[] args) throws IOException {
     List<Book> books = Catalog.books();
     log.info("Books - {} ", joiningByName(books));
     log.info("Books - {} ", joiningByNamePretty(books));
+    log.info("Books - {} ", joiningByNamePresized(books));
+    var writer = new StringWriter();
+    writeNames(books, writer);
+    log.info("Books - {} ", writer);
   }
 
   /**
@@ -25,7 +35,7 @@ public class Joining {
    * @param books List of book
    * @return String containing books separated by '
    */
-  private static String joiningByName(List<Book> books) {
+  static String joiningByName(List<Book> books) {
     return books.stream().map(Book::getName).collect(joining(","));
   }
 
@@ -34,8 +44,46 @@ public class Joining {
    * @param books List of book
    * @return String containing books separated by ' with prefix '[' and suffix ']'
    */
-  private static String joiningByNamePretty(List<Book> books) {
+  static String joiningByNamePretty(List<Book> books) {
     return books.stream().map(Book::getName).collect(joining(",", "[", "]"));
   }
 
+  /**
+   * Joining books by name like {@link #joiningByNamePretty(List)}, collecting the names first and
+   * copying them once into a buffer of the exact size; partial results merge without copying.
+   * @param books List of book
+   * @return String containing books separated by ' with prefix '[' and suffix ']'
+   */
+  static String joiningByNamePresized(List<Book> books) {
+    return books.stream().map(Book::getName).collect(JoiningCollectors.joining(",", "[", "]"));
+  }
+
+  /**
+   * Joining books by name like {@link #joiningByNamePretty(List)}, encoded straight to UTF-8
+   * @param books List of book
+   * @return buffer of the UTF-8 bytes, ready to be written to a channel
+   */
+  static ByteBuffer joiningByNameUtf8(List<Book> books) {
+    return books.stream()
+        .map(Book::getName)
+        .collect(JoiningCollectors.joiningToUtf8(",", "[", "]"));
+  }
+
+  /**
+   * Writing book names, one per line, without building the output as one String
+   * @param books List of book
+   * @param writer where to write the names
+   * @throws IOException if the writer fails
+   */
+  static void writeNames(List<Book> books, Writer writer) throws IOException {
+    try {
+      books.stream()
+          .map(Book::getName)
+          .collect(JoiningCollectors.joiningTo(writer, "\n", "", "\n"));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    writer.flush();
+  }
+
 }
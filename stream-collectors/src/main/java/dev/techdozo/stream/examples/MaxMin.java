@@ -8,6 +8,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
+import static dev.techdozo.stream.examples.collector.TopCollectors.greatest;
 import static java.util.Comparator.comparingDouble;
 import static java.util.stream.Collectors.*;
 
@@ -24,6 +25,7 @@ public class MaxMin {
     log.info("Max Price {}", maxPriceReducingSimplified(books));
     log.info("Max Price {}", maxPriceReducing(books));
     log.info("Min Price {}", minPrice(books));
+    log.info("Top 3 by price {}", mostExpensive(books, 3));
   }
 
   /**
@@ -32,7 +34,7 @@ public class MaxMin {
    * @param books List of book
    * @return Optional of Book with max price
    */
-  private static Optional<Book> maxPrice(List<Book> books) {
+  static Optional<Book> maxPrice(List<Book> books) {
     Comparator<Book> comparator = comparingDouble(Book::getPrice);
     return books.stream().collect(maxBy(comparator));
   }
@@ -43,7 +45,7 @@ public class MaxMin {
    * @param books List of book
    * @return Optional of Book with min price
    */
-  private static Optional<Book> maxPriceSimplified(List<Book> books) {
+  static Optional<Book> maxPriceSimplified(List<Book> books) {
     Comparator<Book> comparator = comparingDouble(Book::getPrice);
     return books.stream().max(comparator);
   }
@@ -54,7 +56,7 @@ public class MaxMin {
    * @param books List of book
    * @return Optional of Book with min price
    */
-  private static Optional<Book> minPrice(List<Book> books) {
+  static Optional<Book> minPrice(List<Book> books) {
     Comparator<Book> comparator = comparingDouble(Book::getPrice);
     return books.stream().collect(minBy(comparator));
   }
@@ -65,7 +67,7 @@ public class MaxMin {
    * @param books List of book
    * @return Optional of Book with max price
    */
-  private static Optional<Book> maxPriceReducing(List<Book> books) {
+  static Optional<Book> maxPriceReducing(List<Book> books) {
     return books.stream().collect(reducing((b1, b2) -> b1.getPrice() > b2.getPrice() ? b1 : b2));
   }
 
@@ -75,7 +77,19 @@ public class MaxMin {
    * @param books List of book
    * @return Optional of Book with max price
    */
-  private static Optional<Book> maxPriceReducingSimplified(List<Book> books) {
+  static Optional<Book> maxPriceReducingSimplified(List<Book> books) {
     return books.stream().reduce((b1, b2) -> b1.getPrice() > b2.getPrice() ? b1 : b2);
   }
+
+  /**
+   * The k most expensive books. Unlike sorted().limit(k), keeps only k books in a bounded heap
+   * instead of sorting the whole list.
+   *
+   * @param books List of book
+   * @param k number of books
+   * @return List of at most k books, most expensive first
+   */
+  static List<Book> mostExpensive(List<Book> books, int k) {
+    return books.stream().collect(greatest(k, comparingDouble(Book::getPrice)));
+  }
 }
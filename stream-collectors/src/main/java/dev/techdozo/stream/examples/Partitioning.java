@@ -1,8 +1,10 @@
 package dev.techdozo.stream.examples;
 
+import dev.techdozo.stream.examples.bitmap.RoaringBitmap;
 import dev.techdozo.stream.examples.model.Book;
 import dev.techdozo.stream.examples.model.Catalog;
 import dev.techdozo.stream.examples.model.Category;
+import dev.techdozo.stream.examples.store.BitmapIndex;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
@@ -18,6 +20,10 @@ public class Partitioning {
     List<Book> books = Catalog.books();
     log.info("Partitioned Catalog {} ", partitioningByJavaBooks(books));
     log.info("Partitioned Catalog {} ", partitioningByJavaBooksAndMap(books));
+    var index = BitmapIndex.of(books);
+    log.info("Partitioned Catalog count {} ", partitioningByJavaBooksCount(index));
+    String publisher = books.get(0).getPublisher();
+    log.info("Java books of {} {} ", publisher, javaBooksOfPublisher(books, index, publisher));
   }
 
   /**
@@ -26,7 +32,7 @@ public class Partitioning {
    * @param books List of books
    * @return HashMap containing boolean key and List of book
    */
-  private static Map<Boolean, List<Book>> partitioningByJavaBooks(List<Book> books) {
+  static Map<Boolean, List<Book>> partitioningByJavaBooks(List<Book> books) {
     return books.stream().collect(partitioningBy(book -> book.getCategory().equals(Category.JAVA)));
   }
 
@@ -36,11 +42,37 @@ public class Partitioning {
    * @param books List of books
    * @return HashMap containing boolean key and List of book names
    */
-  private static Map<Boolean, List<String>> partitioningByJavaBooksAndMap(List<Book> books) {
+  static Map<Boolean, List<String>> partitioningByJavaBooksAndMap(List<Book> books) {
     return books.stream()
         .collect(
             partitioningBy(
                 book -> book.getCategory().equals(Category.JAVA),
                 mapping(Book::getName, toList())));
   }
+
+  /**
+   * Counting books in each partition (Java vs Non Java) from a bitmap index: the cardinality of the
+   * Java bitmap, and the rest of the books, without looking at any of them.
+   *
+   * @param index bitmap index of the books
+   * @return Map containing boolean key and number of books
+   */
+  static Map<Boolean, Long> partitioningByJavaBooksCount(BitmapIndex index) {
+    RoaringBitmap java = index.category(Category.JAVA);
+    return Map.of(true, java.cardinality(), false, index.size() - java.cardinality());
+  }
+
+  /**
+   * Java books of a publisher, from the intersection of two bitmaps instead of two predicates
+   * tested on every book.
+   *
+   * @param books List of books
+   * @param index bitmap index of the books
+   * @param publisher publisher of the books
+   * @return List of book names, in list order
+   */
+  static List<String> javaBooksOfPublisher(List<Book> books, BitmapIndex index, String publisher) {
+    RoaringBitmap rows = index.category(Category.JAVA).and(index.publisher(publisher));
+    return BitmapIndex.rows(rows, books::get).map(Book::getName).collect(toList());
+  }
 }
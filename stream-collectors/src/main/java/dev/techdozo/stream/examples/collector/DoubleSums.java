@@ -0,0 +1,72 @@
+package dev.techdozo.stream.examples.collector;
+
+/**
+ * Counts and sums of doubles per index, such as the ordinal of an enum key, as parallel primitive
+ * arrays. Sums are compensated (Kahan) like those of {@link java.util.DoubleSummaryStatistics} and
+ * {@link java.util.stream.Collectors#summingDouble}, so they match those collectors to the last
+ * bits rather than drifting as a naive sum does over millions of values.
+ *
+ * <p>Not thread safe: partial sums of parallel work are combined with {@link #combine}.
+ */
+public final class DoubleSums {
+
+  private final long[] counts;
+  private final double[] sums;
+  private final double[] compensations;
+  private final double[] simpleSums;
+
+  public DoubleSums(int size) {
+    counts = new long[size];
+    sums = new double[size];
+    compensations = new double[size];
+    simpleSums = new double[size];
+  }
+
+  public void add(int i, double value) {
+    counts[i]++;
+    simpleSums[i] += value;
+    sumWithCompensation(i, value);
+  }
+
+  /**
+   * Adds the counts and sums of another instance of the same size.
+   *
+   * @param other sums to add
+   * @return this instance
+   */
+  public DoubleSums combine(DoubleSums other) {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other.counts[i];
+      simpleSums[i] += other.simpleSums[i];
+      sumWithCompensation(i, other.sums[i]);
+      sumWithCompensation(i, -other.compensations[i]);
+    }
+    return this;
+  }
+
+  public long count(int i) {
+    return counts[i];
+  }
+
+  /** Compensated sum, or the simple sum when the values overflow to infinities of both signs. */
+  public double sum(int i) {
+    double sum = sums[i] - compensations[i];
+    if (Double.isNaN(sum) && Double.isInfinite(simpleSums[i])) {
+      return simpleSums[i];
+    }
+    return sum;
+  }
+
+  /** Average, or 0 for an index without values, as {@code averagingDouble} returns. */
+  public double average(int i) {
+    return counts[i] > 0 ? sum(i) / counts[i] : 0;
+  }
+
+  /** Kahan summation, as in DoubleSummaryStatistics. */
+  private void sumWithCompensation(int i, double value) {
+    double corrected = value - compensations[i];
+    double sum = sums[i] + corrected;
+    compensations[i] = (sum - sums[i]) - corrected;
+    sums[i] = sum;
+  }
+}
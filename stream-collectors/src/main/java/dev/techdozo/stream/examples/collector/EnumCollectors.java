@@ -0,0 +1,187 @@
+package dev.techdozo.stream.examples.collector;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+/**
+ * Grouping collectors for enum keys that accumulate into primitive arrays indexed by {@link
+ * Enum#ordinal()}, instead of boxing into a {@code HashMap}. Accumulation allocates nothing per
+ * element and combining two partial results is a pass over a handful of array slots, so they suit
+ * large parallel streams. Results are {@link EnumMap}s holding only the keys that occurred, like
+ * {@code groupingBy}.
+ *
+ * <p>Sums and averages keep a count and a compensated sum per key in {@link DoubleSums}, the same
+ * summation as {@link java.util.stream.Collectors#summingDouble(ToDoubleFunction)}, and minimum
+ * and maximum keep only the one value per key they return.
+ */
+public class EnumCollectors {
+
+  private EnumCollectors() {}
+
+  /**
+   * Equivalent of {@code groupingBy(classifier, counting())}.
+   *
+   * @param type enum class of the key
+   * @param classifier maps an element to its key, must not return null
+   * @return EnumMap containing key and number of elements with that key
+   */
+  public static <T, E extends Enum<E>> Collector<T, ?, Map<E, Long>> countingBy(
+      Class<E> type, Function<? super T, E> classifier) {
+    int size = type.getEnumConstants().length;
+    return Collector.of(
+        () -> new long[size],
+        (counts, element) -> counts[classifier.apply(element).ordinal()]++,
+        (left, right) -> {
+          for (int i = 0; i < size; i++) {
+            left[i] += right[i];
+          }
+          return left;
+        },
+        counts -> {
+          Map<E, Long> result = new EnumMap<>(type);
+          for (E key : type.getEnumConstants()) {
+            if (counts[key.ordinal()] > 0) {
+              result.put(key, counts[key.ordinal()]);
+            }
+          }
+          return result;
+        },
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * Equivalent of {@code groupingBy(classifier, summingDouble(mapper))}.
+   *
+   * @param type enum class of the key
+   * @param classifier maps an element to its key, must not return null
+   * @param mapper value to sum
+   * @return EnumMap containing key and sum of values of elements with that key
+   */
+  public static <T, E extends Enum<E>> Collector<T, ?, Map<E, Double>> summingDoubleBy(
+      Class<E> type, Function<? super T, E> classifier, ToDoubleFunction<? super T> mapper) {
+    return sums(type, classifier, mapper, false);
+  }
+
+  /**
+   * Equivalent of {@code groupingBy(classifier, averagingDouble(mapper))}.
+   *
+   * @param type enum class of the key
+   * @param classifier maps an element to its key, must not return null
+   * @param mapper value to average
+   * @return EnumMap containing key and average of values of elements with that key
+   */
+  public static <T, E extends Enum<E>> Collector<T, ?, Map<E, Double>> averagingDoubleBy(
+      Class<E> type, Function<? super T, E> classifier, ToDoubleFunction<? super T> mapper) {
+    return sums(type, classifier, mapper, true);
+  }
+
+  /**
+   * Equivalent of {@code groupingBy(classifier, mapping(mapper, maxBy(naturalOrder())))} for
+   * primitive values, without the Optional.
+   *
+   * @param type enum class of the key
+   * @param classifier maps an element to its key, must not return null
+   * @param mapper value to compare
+   * @return EnumMap containing key and largest value of elements with that key
+   */
+  public static <T, E extends Enum<E>> Collector<T, ?, Map<E, Double>> maxDoubleBy(
+      Class<E> type, Function<? super T, E> classifier, ToDoubleFunction<? super T> mapper) {
+    return extremes(type, classifier, mapper, Double.NEGATIVE_INFINITY, Math::max);
+  }
+
+  /**
+   * Equivalent of {@code groupingBy(classifier, mapping(mapper, minBy(naturalOrder())))} for
+   * primitive values, without the Optional.
+   *
+   * @param type enum class of the key
+   * @param classifier maps an element to its key, must not return null
+   * @param mapper value to compare
+   * @return EnumMap containing key and smallest value of elements with that key
+   */
+  public static <T, E extends Enum<E>> Collector<T, ?, Map<E, Double>> minDoubleBy(
+      Class<E> type, Function<? super T, E> classifier, ToDoubleFunction<? super T> mapper) {
+    return extremes(type, classifier, mapper, Double.POSITIVE_INFINITY, Math::min);
+  }
+
+  /** Counts and compensated sums per ordinal, finished as sums or averages. */
+  private static <T, E extends Enum<E>> Collector<T, ?, Map<E, Double>> sums(
+      Class<E> type,
+      Function<? super T, E> classifier,
+      ToDoubleFunction<? super T> mapper,
+      boolean average) {
+    int size = type.getEnumConstants().length;
+    return Collector.of(
+        () -> new DoubleSums(size),
+        (sums, element) ->
+            sums.add(classifier.apply(element).ordinal(), mapper.applyAsDouble(element)),
+        DoubleSums::combine,
+        sums -> {
+          Map<E, Double> result = new EnumMap<>(type);
+          for (E key : type.getEnumConstants()) {
+            int i = key.ordinal();
+            if (sums.count(i) > 0) {
+              result.put(key, average ? sums.average(i) : sums.sum(i));
+            }
+          }
+          return result;
+        },
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /** One extreme value per ordinal, kept by a choice such as {@code Math::max}. */
+  private static <T, E extends Enum<E>> Collector<T, ?, Map<E, Double>> extremes(
+      Class<E> type,
+      Function<? super T, E> classifier,
+      ToDoubleFunction<? super T> mapper,
+      double identity,
+      DoubleBinaryOperator choice) {
+    int size = type.getEnumConstants().length;
+    return Collector.of(
+        () -> new Extremes(size, identity, choice),
+        (extremes, element) ->
+            extremes.add(classifier.apply(element).ordinal(), mapper.applyAsDouble(element)),
+        Extremes::combine,
+        extremes -> {
+          Map<E, Double> result = new EnumMap<>(type);
+          for (E key : type.getEnumConstants()) {
+            if (extremes.present[key.ordinal()]) {
+              result.put(key, extremes.values[key.ordinal()]);
+            }
+          }
+          return result;
+        },
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /** Extreme value per ordinal, and whether the ordinal occurred, as primitive arrays. */
+  private static class Extremes {
+    private final boolean[] present;
+    private final double[] values;
+    private final DoubleBinaryOperator choice;
+
+    Extremes(int size, double identity, DoubleBinaryOperator choice) {
+      present = new boolean[size];
+      values = new double[size];
+      this.choice = choice;
+      Arrays.fill(values, identity);
+    }
+
+    void add(int i, double value) {
+      present[i] = true;
+      values[i] = choice.applyAsDouble(values[i], value);
+    }
+
+    Extremes combine(Extremes other) {
+      for (int i = 0; i < values.length; i++) {
+        present[i] |= other.present[i];
+        values[i] = choice.applyAsDouble(values[i], other.values[i]);
+      }
+      return this;
+    }
+  }
+}
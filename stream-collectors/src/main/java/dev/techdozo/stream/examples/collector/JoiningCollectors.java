@@ -0,0 +1,234 @@
+package dev.techdozo.stream.examples.collector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.stream.Collector;
+
+/**
+ * Joining collectors for large outputs. Instead of appending to a growing buffer, each collects
+ * references to its elements in a list of segments while keeping a running count of their chars,
+ * so merging partial results of a parallel stream only concatenates two reference arrays. The
+ * finisher then joins everything once: into a String with a buffer of the exact final size, into
+ * an {@link Appendable} such as a {@link java.io.Writer} without building the whole output in
+ * memory, or into a UTF-8 {@link ByteBuffer} sized exactly from a first pass over the chars and
+ * encoded in a second.
+ *
+ * <p>Null elements are joined as {@code "null"}, like {@code Collectors.joining}.
+ */
+public class JoiningCollectors {
+
+  private JoiningCollectors() {}
+
+  /**
+   * Equivalent of {@code Collectors.joining(delimiter)}.
+   *
+   * @param delimiter between elements
+   * @return the joined elements
+   */
+  public static Collector<CharSequence, ?, String> joining(CharSequence delimiter) {
+    return joining(delimiter, "", "");
+  }
+
+  /**
+   * Equivalent of {@code Collectors.joining(delimiter, prefix, suffix)}, copying every char once
+   * into a buffer of the exact final length.
+   *
+   * @param delimiter between elements
+   * @param prefix before the first element
+   * @param suffix after the last element
+   * @return the joined elements
+   */
+  public static Collector<CharSequence, ?, String> joining(
+      CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+    var format = new Format(delimiter, prefix, suffix);
+    return Collector.of(
+        Segments::new,
+        Segments::add,
+        Segments::merge,
+        segments -> segments.toString(format));
+  }
+
+  /**
+   * Joins the elements straight into a target, such as a {@link java.io.Writer}, once the stream
+   * is collected. The joined output never exists as one String.
+   *
+   * @param target where to append the joined elements
+   * @param delimiter between elements
+   * @param prefix before the first element
+   * @param suffix after the last element
+   * @return the target
+   * @throws UncheckedIOException if the target fails
+   */
+  public static <A extends Appendable> Collector<CharSequence, ?, A> joiningTo(
+      A target, CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+    var format = new Format(delimiter, prefix, suffix);
+    return Collector.of(
+        Segments::new,
+        Segments::add,
+        Segments::merge,
+        segments -> segments.appendTo(target, format));
+  }
+
+  /**
+   * Joins the elements as UTF-8 bytes, without an intermediate String.
+   *
+   * @param delimiter between elements
+   * @param prefix before the first element
+   * @param suffix after the last element
+   * @return ByteBuffer of exactly the encoded length, ready to read
+   */
+  public static Collector<CharSequence, ?, ByteBuffer> joiningToUtf8(
+      CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+    var format = new Format(delimiter, prefix, suffix);
+    return Collector.of(
+        Segments::new, Segments::add, Segments::merge, segments -> segments.toUtf8(format));
+  }
+
+  /**
+   * Number of bytes a sequence encodes to in UTF-8, counting an unpaired surrogate as the one byte
+   * of its replacement.
+   */
+  static long utf8Length(CharSequence chars) {
+    long length = 0;
+    for (int i = 0; i < chars.length(); i++) {
+      char c = chars.charAt(i);
+      if (c < 0x80) {
+        length++;
+      } else if (c < 0x800) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < chars.length()
+          && Character.isLowSurrogate(chars.charAt(i + 1))) {
+        length += 4;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        length++;
+      } else {
+        length += 3;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Encodes chars as UTF-8 into a buffer with room for them, replacing an unpaired surrogate with
+   * '?' like {@code String.getBytes}.
+   */
+  static void putUtf8(ByteBuffer buffer, String chars) {
+    for (int i = 0; i < chars.length(); i++) {
+      char c = chars.charAt(i);
+      if (c < 0x80) {
+        buffer.put((byte) c);
+      } else if (c < 0x800) {
+        buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < chars.length()
+          && Character.isLowSurrogate(chars.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+        buffer
+            .put((byte) (0xF0 | codePoint >> 18))
+            .put((byte) (0x80 | codePoint >> 12 & 0x3F))
+            .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+            .put((byte) (0x80 | codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        buffer.put((byte) '?');
+      } else {
+        buffer
+            .put((byte) (0xE0 | c >> 12))
+            .put((byte) (0x80 | c >> 6 & 0x3F))
+            .put((byte) (0x80 | c & 0x3F));
+      }
+    }
+  }
+
+  private static class Format {
+    private final String delimiter;
+    private final String prefix;
+    private final String suffix;
+
+    Format(CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+      this.delimiter = delimiter.toString();
+      this.prefix = prefix.toString();
+      this.suffix = suffix.toString();
+    }
+  }
+
+  /** Elements in encounter order, with their total length in chars. */
+  private static class Segments {
+    private String[] elements = new String[16];
+    private int size;
+    private long length;
+
+    void add(CharSequence element) {
+      if (size == elements.length) {
+        elements = Arrays.copyOf(elements, size * 2);
+      }
+      String value = String.valueOf(element);
+      elements[size++] = value;
+      length += value.length();
+    }
+
+    Segments merge(Segments other) {
+      if (size + other.size > elements.length) {
+        elements = Arrays.copyOf(elements, Math.max(size + other.size, size * 2));
+      }
+      System.arraycopy(other.elements, 0, elements, size, other.size);
+      size += other.size;
+      length += other.length;
+      return this;
+    }
+
+    String toString(Format format) {
+      long total =
+          format.prefix.length()
+              + length
+              + (long) Math.max(0, size - 1) * format.delimiter.length()
+              + format.suffix.length();
+      if (total > Integer.MAX_VALUE - 8) {
+        throw new IllegalStateException("Joined length " + total + " exceeds a String");
+      }
+      var joined = new StringBuilder((int) total);
+      appendTo(joined, format);
+      return joined.toString();
+    }
+
+    <A extends Appendable> A appendTo(A target, Format format) {
+      try {
+        target.append(format.prefix);
+        for (int i = 0; i < size; i++) {
+          if (i > 0) {
+            target.append(format.delimiter);
+          }
+          target.append(elements[i]);
+        }
+        target.append(format.suffix);
+        return target;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    ByteBuffer toUtf8(Format format) {
+      long total = utf8Length(format.prefix) + utf8Length(format.suffix);
+      long delimiter = utf8Length(format.delimiter);
+      for (int i = 0; i < size; i++) {
+        total += utf8Length(elements[i]) + (i > 0 ? delimiter : 0);
+      }
+      if (total > Integer.MAX_VALUE) {
+        throw new IllegalStateException("Joined length " + total + " exceeds a ByteBuffer");
+      }
+      var buffer = ByteBuffer.allocate((int) total);
+      putUtf8(buffer, format.prefix);
+      for (int i = 0; i < size; i++) {
+        if (i > 0) {
+          putUtf8(buffer, format.delimiter);
+        }
+        putUtf8(buffer, elements[i]);
+      }
+      putUtf8(buffer, format.suffix);
+      return buffer.flip();
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package dev.techdozo.stream.examples.collector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Top-K and bottom-K collectors, generalizing {@code maxBy} and {@code minBy} to the k greatest or
+ * least elements without sorting the whole stream. Each keeps a binary heap bounded to k elements,
+ * so a stream of n elements takes O(n log k) time and O(k) memory, per group when used under
+ * {@code groupingBy}. Partial heaps of a parallel stream are merged by offering the elements of
+ * the smaller heap to the larger.
+ *
+ * <p>Results are sorted, greatest or least first, and match {@code sorted().limit(k)} except that
+ * which of several equal elements at the boundary is kept is unspecified.
+ */
+public class TopCollectors {
+
+  private TopCollectors() {}
+
+  /**
+   * The k greatest elements, greatest first.
+   *
+   * @param k maximum number of elements to keep
+   * @param comparator order of the elements
+   * @return List of at most k elements
+   */
+  public static <T> Collector<T, ?, List<T>> greatest(int k, Comparator<? super T> comparator) {
+    if (k < 0) {
+      throw new IllegalArgumentException("Negative k " + k);
+    }
+    return Collector.of(
+        () -> new BoundedHeap<T>(k, comparator),
+        BoundedHeap::offer,
+        BoundedHeap::merge,
+        BoundedHeap::toSortedList,
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * The k least elements, least first.
+   *
+   * @param k maximum number of elements to keep
+   * @param comparator order of the elements
+   * @return List of at most k elements
+   */
+  public static <T> Collector<T, ?, List<T>> least(int k, Comparator<? super T> comparator) {
+    return greatest(k, Collections.reverseOrder(comparator));
+  }
+
+  /**
+   * The k greatest elements of each group, as in {@code groupingBy(classifier, greatest(k,
+   * comparator))}.
+   *
+   * @param classifier maps an element to its group
+   * @param k maximum number of elements to keep per group
+   * @param comparator order of the elements
+   * @return HashMap containing key and at most k elements with that key, greatest first
+   */
+  public static <T, K> Collector<T, ?, Map<K, List<T>>> greatestBy(
+      Function<? super T, ? extends K> classifier, int k, Comparator<? super T> comparator) {
+    return Collectors.groupingBy(classifier, greatest(k, comparator));
+  }
+
+  /**
+   * The k least elements of each group, as in {@code groupingBy(classifier, least(k,
+   * comparator))}.
+   *
+   * @param classifier maps an element to its group
+   * @param k maximum number of elements to keep per group
+   * @param comparator order of the elements
+   * @return HashMap containing key and at most k elements with that key, least first
+   */
+  public static <T, K> Collector<T, ?, Map<K, List<T>>> leastBy(
+      Function<? super T, ? extends K> classifier, int k, Comparator<? super T> comparator) {
+    return Collectors.groupingBy(classifier, least(k, comparator));
+  }
+
+  /**
+   * Min-heap of at most k elements. The root is the least element kept, so a new element only
+   * enters the heap if it is greater than the root, which it then replaces.
+   */
+  private static class BoundedHeap<T> {
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private Object[] heap = new Object[0];
+    private int size;
+
+    BoundedHeap(int k, Comparator<? super T> comparator) {
+      this.k = k;
+      this.comparator = comparator;
+    }
+
+    void offer(T element) {
+      if (size < k) {
+        if (size == heap.length) {
+          heap = Arrays.copyOf(heap, Math.min(k, Math.max(16, size * 2)));
+        }
+        siftUp(size++, element);
+      } else if (k > 0 && comparator.compare(element, get(0)) > 0) {
+        siftDown(0, element);
+      }
+    }
+
+    BoundedHeap<T> merge(BoundedHeap<T> other) {
+      if (other.size > size) {
+        return other.merge(this);
+      }
+      for (int i = 0; i < other.size; i++) {
+        offer(other.get(i));
+      }
+      return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<T> toSortedList() {
+      T[] elements = (T[]) Arrays.copyOf(heap, size);
+      Arrays.sort(elements, Collections.reverseOrder(comparator));
+      return new ArrayList<>(Arrays.asList(elements));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(int i) {
+      return (T) heap[i];
+    }
+
+    private void siftUp(int i, T element) {
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (comparator.compare(element, get(parent)) >= 0) {
+          break;
+        }
+        heap[i] = heap[parent];
+        i = parent;
+      }
+      heap[i] = element;
+    }
+
+    private void siftDown(int i, T element) {
+      int half = size >>> 1;
+      while (i < half) {
+        int child = 2 * i + 1;
+        int right = child + 1;
+        if (right < size && comparator.compare(get(right), get(child)) < 0) {
+          child = right;
+        }
+        if (comparator.compare(element, get(child)) <= 0) {
+          break;
+        }
+        heap[i] = heap[child];
+        i = child;
+      }
+      heap[i] = element;
+    }
+  }
+}
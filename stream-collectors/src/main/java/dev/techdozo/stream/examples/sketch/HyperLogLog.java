@@ -0,0 +1,174 @@
+package dev.techdozo.stream.examples.sketch;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+/**
+ * HyperLogLog cardinality sketch. Estimates the number of distinct values added in {@code 2^p}
+ * bytes, with a relative standard error of about {@code 1.04 / sqrt(2^p)}: 0.8% for the default
+ * precision of 14, in 16 KB. Sketches of the same precision merge losslessly, so partial sketches
+ * of parallel substreams or of different nodes can be combined, and {@link #toByteArray()}
+ * gives a compact form to ship between them.
+ *
+ * <p>Not thread safe.
+ */
+public class HyperLogLog implements Serializable {
+
+  public static final int DEFAULT_PRECISION = 14;
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 18;
+
+  private static final long serialVersionUID = 1L;
+  private static final byte VERSION = 1;
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Precision %d not in [%d, %d]", precision, MIN_PRECISION, MAX_PRECISION));
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /**
+   * Adds a value. Strings and other character sequences are hashed by content, numbers by value
+   * and anything else by its {@code hashCode}.
+   *
+   * @param value value to count, must not be null
+   */
+  public void add(Object value) {
+    addHash(hash(value));
+  }
+
+  /**
+   * Adds a value by its 64-bit hash, which should be uniformly distributed.
+   *
+   * @param hash hash of the value
+   */
+  public void addHash(long hash) {
+    int index = (int) (hash >>> (64 - precision));
+    // Leading zeros of the remaining bits, plus one; the sentinel bit caps it at 64 - p + 1
+    long remaining = (hash << precision) | (1L << (precision - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+    if (rank > registers[index]) {
+      registers[index] = rank;
+    }
+  }
+
+  /**
+   * Combines another sketch into this one, as if its values had been added here.
+   *
+   * @param other sketch of the same precision
+   * @return this sketch
+   */
+  public HyperLogLog merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException(
+          String.format("Cannot merge precision %d into %d", other.precision, precision));
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (other.registers[i] > registers[i]) {
+        registers[i] = other.registers[i];
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Estimated number of distinct values added.
+   *
+   * @return estimated cardinality
+   */
+  public long estimate() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+    double estimate = alpha(m) * m * m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      // Linear counting is more accurate while many registers are still empty
+      estimate = m * Math.log((double) m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  /**
+   * Serialized form: a version byte, the precision byte and the registers.
+   *
+   * @return bytes to pass to {@link #fromByteArray(byte[])}
+   */
+  public byte[] toByteArray() {
+    return ByteBuffer.allocate(2 + registers.length)
+        .put(VERSION)
+        .put((byte) precision)
+        .put(registers)
+        .array();
+  }
+
+  public static HyperLogLog fromByteArray(byte[] bytes) {
+    var buffer = ByteBuffer.wrap(bytes);
+    byte version = buffer.get();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported HyperLogLog version " + version);
+    }
+    var sketch = new HyperLogLog(buffer.get());
+    if (buffer.remaining() != sketch.registers.length) {
+      throw new IllegalArgumentException("Expected " + sketch.registers.length + " registers");
+    }
+    buffer.get(sketch.registers);
+    return sketch;
+  }
+
+  private static double alpha(int m) {
+    switch (m) {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / (1 + 1.079 / m);
+    }
+  }
+
+  static long hash(Object value) {
+    if (value instanceof CharSequence) {
+      CharSequence chars = (CharSequence) value;
+      // FNV-1a over the chars, then a finalizer to spread the bits
+      long hash = 0xCBF29CE484222325L;
+      for (int i = 0; i < chars.length(); i++) {
+        hash = (hash ^ chars.charAt(i)) * 0x100000001B3L;
+      }
+      return mix(hash);
+    }
+    if (value instanceof Long || value instanceof Integer) {
+      return mix(((Number) value).longValue());
+    }
+    return mix(value.hashCode());
+  }
+
+  /** SplitMix64 finalizer. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
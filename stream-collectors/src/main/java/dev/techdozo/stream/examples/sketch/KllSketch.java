@@ -0,0 +1,339 @@
+package dev.techdozo.stream.examples.sketch;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * KLL quantile sketch (Karnin, Lang and Liberty) for doubles. Keeps a hierarchy of compactors;
+ * items at level h stand for 2^h inputs, and when a level fills it is sorted and every other item,
+ * starting at a random offset, is promoted to the level above. Level capacities shrink
+ * geometrically towards the bottom, so the sketch holds O(k) items however many values are added,
+ * and the rank error is about {@code 1.7 / k}: under 1% for the default k of 200.
+ *
+ * <p>Sketches with the same k merge by concatenating levels and compacting, so partial sketches
+ * of parallel substreams or of different nodes can be combined, and {@link #toByteArray()} gives
+ * a compact form to ship between them. Not thread safe.
+ */
+public class KllSketch implements Serializable {
+
+  public static final int DEFAULT_K = 200;
+  public static final int MIN_K = 8;
+
+  private static final long serialVersionUID = 1L;
+  private static final byte VERSION = 1;
+  private static final double CAPACITY_DECAY = 2.0 / 3;
+  private static final int MIN_CAPACITY = 2;
+
+  private final int k;
+  private final List<double[]> levels = new ArrayList<>();
+  private int[] sizes = new int[0];
+  private int[] capacities = new int[0];
+  private int retained;
+  private int maxRetained;
+  private long count;
+  private double min = Double.NaN;
+  private double max = Double.NaN;
+
+  public KllSketch() {
+    this(DEFAULT_K);
+  }
+
+  public KllSketch(int k) {
+    if (k < MIN_K) {
+      throw new IllegalArgumentException("k must be at least " + MIN_K);
+    }
+    this.k = k;
+    addLevel();
+  }
+
+  /**
+   * Adds a value. NaN is ignored.
+   *
+   * @param value value to add
+   */
+  public void add(double value) {
+    if (Double.isNaN(value)) {
+      return;
+    }
+    if (count++ == 0) {
+      min = value;
+      max = value;
+    } else {
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+    append(0, value);
+    compact();
+  }
+
+  /**
+   * Combines another sketch into this one, as if its values had been added here.
+   *
+   * @param other sketch with the same k
+   * @return this sketch
+   */
+  public KllSketch merge(KllSketch other) {
+    if (other.k != k) {
+      throw new IllegalArgumentException(
+          String.format("Cannot merge sketch with k %d into %d", other.k, k));
+    }
+    if (other.count == 0) {
+      return this;
+    }
+    for (int level = 0; level < other.levels.size(); level++) {
+      while (level >= levels.size()) {
+        addLevel();
+      }
+      double[] items = other.levels.get(level);
+      for (int i = 0; i < other.sizes[level]; i++) {
+        append(level, items[i]);
+      }
+    }
+    min = count == 0 ? other.min : Math.min(min, other.min);
+    max = count == 0 ? other.max : Math.max(max, other.max);
+    count += other.count;
+    compact();
+    return this;
+  }
+
+  /**
+   * Approximate quantile.
+   *
+   * @param fraction rank as a fraction of the values added, from 0 to 1
+   * @return value with approximately that rank, or NaN if the sketch is empty
+   */
+  public double quantile(double fraction) {
+    if (fraction < 0 || fraction > 1) {
+      throw new IllegalArgumentException("Fraction " + fraction + " not in [0, 1]");
+    }
+    if (count == 0) {
+      return Double.NaN;
+    }
+    if (fraction == 0) {
+      return min;
+    }
+    if (fraction == 1) {
+      return max;
+    }
+    return quantile(weighted(), fraction);
+  }
+
+  /**
+   * Approximate quantiles, computing the weighted order once.
+   *
+   * @param fractions ranks as fractions of the values added
+   * @return value for each fraction
+   */
+  public double[] quantiles(double... fractions) {
+    double[] quantiles = new double[fractions.length];
+    Weighted weighted = count == 0 ? null : weighted();
+    for (int i = 0; i < fractions.length; i++) {
+      if (fractions[i] < 0 || fractions[i] > 1) {
+        throw new IllegalArgumentException("Fraction " + fractions[i] + " not in [0, 1]");
+      }
+      if (weighted == null) {
+        quantiles[i] = Double.NaN;
+      } else if (fractions[i] == 0) {
+        quantiles[i] = min;
+      } else if (fractions[i] == 1) {
+        quantiles[i] = max;
+      } else {
+        quantiles[i] = quantile(weighted, fractions[i]);
+      }
+    }
+    return quantiles;
+  }
+
+  /**
+   * Approximate fraction of the values added that are less than or equal to a value.
+   *
+   * @param value value to rank
+   * @return fraction from 0 to 1, or NaN if the sketch is empty
+   */
+  public double rank(double value) {
+    if (count == 0) {
+      return Double.NaN;
+    }
+    long below = 0;
+    long total = 0;
+    for (int level = 0; level < levels.size(); level++) {
+      double[] items = levels.get(level);
+      for (int i = 0; i < sizes[level]; i++) {
+        total += 1L << level;
+        if (items[i] <= value) {
+          below += 1L << level;
+        }
+      }
+    }
+    return (double) below / total;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public double getMin() {
+    return min;
+  }
+
+  public double getMax() {
+    return max;
+  }
+
+  /** Number of items retained, which stays O(k). */
+  public int retained() {
+    return retained;
+  }
+
+  /**
+   * Serialized form: version, k, count, min, max, then the number of levels and for each its size
+   * and items.
+   *
+   * @return bytes to pass to {@link #fromByteArray(byte[])}
+   */
+  public byte[] toByteArray() {
+    var buffer =
+        ByteBuffer.allocate(1 + 4 + 8 + 8 + 8 + 4 + 4 * levels.size() + 8 * retained())
+            .put(VERSION)
+            .putInt(k)
+            .putLong(count)
+            .putDouble(min)
+            .putDouble(max)
+            .putInt(levels.size());
+    for (int level = 0; level < levels.size(); level++) {
+      buffer.putInt(sizes[level]);
+      double[] items = levels.get(level);
+      for (int i = 0; i < sizes[level]; i++) {
+        buffer.putDouble(items[i]);
+      }
+    }
+    return buffer.array();
+  }
+
+  public static KllSketch fromByteArray(byte[] bytes) {
+    var buffer = ByteBuffer.wrap(bytes);
+    byte version = buffer.get();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("Unsupported KllSketch version " + version);
+    }
+    var sketch = new KllSketch(buffer.getInt());
+    sketch.count = buffer.getLong();
+    sketch.min = buffer.getDouble();
+    sketch.max = buffer.getDouble();
+    int levels = buffer.getInt();
+    for (int level = 0; level < levels; level++) {
+      while (level >= sketch.levels.size()) {
+        sketch.addLevel();
+      }
+      int size = buffer.getInt();
+      for (int i = 0; i < size; i++) {
+        sketch.append(level, buffer.getDouble());
+      }
+    }
+    return sketch;
+  }
+
+  private void append(int level, double value) {
+    double[] items = levels.get(level);
+    if (sizes[level] == items.length) {
+      items = Arrays.copyOf(items, Math.max(MIN_CAPACITY, items.length * 2));
+      levels.set(level, items);
+    }
+    items[sizes[level]++] = value;
+    retained++;
+  }
+
+  /** Compacts the lowest full level until the sketch is back within its total capacity. */
+  private void compact() {
+    while (retained > maxRetained) {
+      for (int level = 0; level < levels.size(); level++) {
+        if (sizes[level] >= capacities[level]) {
+          compact(level);
+          break;
+        }
+      }
+    }
+  }
+
+  private void compact(int level) {
+    if (level == levels.size() - 1) {
+      addLevel();
+    }
+    double[] items = levels.get(level);
+    int size = sizes[level];
+    Arrays.sort(items, 0, size);
+    // An odd item out stays behind, so the promoted items stand for exactly twice their weight
+    int start = size % 2;
+    for (int i = start + ThreadLocalRandom.current().nextInt(2); i < size; i += 2) {
+      append(level + 1, items[i]);
+    }
+    retained -= size - start;
+    sizes[level] = start;
+  }
+
+  /** Adds a level on top; capacities are k at the top, shrinking by 2/3 per level below it. */
+  private void addLevel() {
+    levels.add(new double[MIN_CAPACITY]);
+    sizes = Arrays.copyOf(sizes, levels.size());
+    capacities = new int[levels.size()];
+    maxRetained = 0;
+    for (int level = 0; level < levels.size(); level++) {
+      int depth = levels.size() - level - 1;
+      capacities[level] =
+          Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+      maxRetained += capacities[level];
+    }
+  }
+
+  private static double quantile(Weighted weighted, double fraction) {
+    double target = fraction * weighted.total;
+    long cumulative = 0;
+    for (int i = 0; i < weighted.values.length; i++) {
+      cumulative += weighted.weights[i];
+      if (cumulative >= target) {
+        return weighted.values[i];
+      }
+    }
+    return weighted.values[weighted.values.length - 1];
+  }
+
+  /** Retained items sorted by value, with their weights. */
+  private Weighted weighted() {
+    double[] values = new double[retained];
+    long[] weights = new long[retained];
+    Integer[] order = new Integer[retained];
+    int n = 0;
+    for (int level = 0; level < levels.size(); level++) {
+      double[] items = levels.get(level);
+      for (int i = 0; i < sizes[level]; i++) {
+        values[n] = items[i];
+        weights[n] = 1L << level;
+        order[n] = n;
+        n++;
+      }
+    }
+    Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+    var weighted = new Weighted(retained);
+    for (int i = 0; i < retained; i++) {
+      weighted.values[i] = values[order[i]];
+      weighted.weights[i] = weights[order[i]];
+      weighted.total += weights[order[i]];
+    }
+    return weighted;
+  }
+
+  private static class Weighted {
+    private final double[] values;
+    private final long[] weights;
+    private long total;
+
+    Weighted(int size) {
+      values = new double[size];
+      weights = new long[size];
+    }
+  }
+}
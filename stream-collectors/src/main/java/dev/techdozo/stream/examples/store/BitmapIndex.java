@@ -0,0 +1,188 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.bitmap.RoaringBitmap;
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Bitmap indexes on category, publisher and author: for each value, a {@link RoaringBitmap} of the
+ * rows that have it. Predicates on these columns become bitmap operations, so {@code
+ * category(JAVA).and(publisher(p))} is a multi-predicate filter and {@code
+ * category(JAVA).cardinality()} a count, computed over compressed chunks of 65536 rows instead of
+ * testing every book.
+ *
+ * <p>Rows are positions in the indexed list, or rows of a {@link ColumnarCatalog}, and are turned
+ * back into values by a row mapper such as {@code books::get}. Immutable once built, and safe to
+ * share between threads.
+ */
+public class BitmapIndex {
+
+  private static final Category[] CATEGORIES = Category.values();
+
+  private final int size;
+  private final RoaringBitmap all;
+  private final Map<Category, RoaringBitmap> categories;
+  private final Map<String, RoaringBitmap> publishers;
+  private final Map<String, RoaringBitmap> authors;
+
+  private BitmapIndex(
+      int size,
+      Map<Category, RoaringBitmap> categories,
+      Map<String, RoaringBitmap> publishers,
+      Map<String, RoaringBitmap> authors) {
+    this.size = size;
+    this.all = RoaringBitmap.range(0, size);
+    this.categories = categories;
+    this.publishers = publishers;
+    this.authors = authors;
+  }
+
+  /**
+   * Bitmap index of a list of books, with rows numbered by list position.
+   *
+   * @param books books to index, with non null category
+   * @return index of the books
+   */
+  public static BitmapIndex of(List<Book> books) {
+    Map<Category, RoaringBitmap.Builder> categories = new EnumMap<>(Category.class);
+    Map<String, RoaringBitmap.Builder> publishers = new HashMap<>();
+    Map<String, RoaringBitmap.Builder> authors = new HashMap<>();
+    int row = 0;
+    for (Book book : books) {
+      categories.computeIfAbsent(book.getCategory(), c -> RoaringBitmap.builder()).add(row);
+      publishers.computeIfAbsent(book.getPublisher(), p -> RoaringBitmap.builder()).add(row);
+      authors.computeIfAbsent(book.getAuthor(), a -> RoaringBitmap.builder()).add(row);
+      row++;
+    }
+    return new BitmapIndex(
+        row, build(categories, new EnumMap<>(Category.class)), build(publishers), build(authors));
+  }
+
+  /**
+   * Bitmap index of a columnar catalog, read from its category column and dictionary ids.
+   *
+   * @param catalog catalog to index
+   * @return index of the catalog's rows
+   */
+  public static BitmapIndex of(ColumnarCatalog catalog) {
+    RoaringBitmap.Builder[] categories = builders(CATEGORIES.length);
+    RoaringBitmap.Builder[] publishers = builders(catalog.publisherDictionary.length);
+    RoaringBitmap.Builder[] authors = builders(catalog.authorDictionary.length);
+    for (int row = 0; row < catalog.size(); row++) {
+      categories[catalog.categories[row]].add(row);
+      publishers[catalog.publishers[row]].add(row);
+      authors[catalog.authors[row]].add(row);
+    }
+    Map<Category, RoaringBitmap> categoryBitmaps = new EnumMap<>(Category.class);
+    for (int category = 0; category < CATEGORIES.length; category++) {
+      RoaringBitmap bitmap = categories[category].build();
+      if (!bitmap.isEmpty()) {
+        categoryBitmaps.put(CATEGORIES[category], bitmap);
+      }
+    }
+    return new BitmapIndex(
+        catalog.size(),
+        categoryBitmaps,
+        build(catalog.publisherDictionary, publishers),
+        build(catalog.authorDictionary, authors));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** All rows. */
+  public RoaringBitmap all() {
+    return all;
+  }
+
+  /** Rows of a category, empty if none. */
+  public RoaringBitmap category(Category category) {
+    return categories.getOrDefault(category, RoaringBitmap.empty());
+  }
+
+  /** Rows of a publisher, empty if none. */
+  public RoaringBitmap publisher(String publisher) {
+    return publishers.getOrDefault(publisher, RoaringBitmap.empty());
+  }
+
+  /** Rows of an author, empty if none. */
+  public RoaringBitmap author(String author) {
+    return authors.getOrDefault(author, RoaringBitmap.empty());
+  }
+
+  /**
+   * Rows in and out of a bitmap, with the keys of {@code partitioningBy}: the rows are under true,
+   * and all other rows under false.
+   *
+   * @param rows rows of the partition
+   * @return Map containing both keys
+   */
+  public Map<Boolean, RoaringBitmap> partition(RoaringBitmap rows) {
+    return Map.of(true, rows.and(all), false, all.andNot(rows));
+  }
+
+  /**
+   * Equivalent of {@code filter(predicate)} followed by {@code groupingBy(Book::getCategory,
+   * counting())}, with the filter given as a bitmap of rows: one intersection count per category.
+   *
+   * @param rows rows to count
+   * @return EnumMap containing key as a category and value as number of rows, for non zero counts
+   */
+  public Map<Category, Long> countByCategory(RoaringBitmap rows) {
+    Map<Category, Long> result = new EnumMap<>(Category.class);
+    categories.forEach(
+        (category, bitmap) -> {
+          long count = bitmap.andCardinality(rows);
+          if (count > 0) {
+            result.put(category, count);
+          }
+        });
+    return result;
+  }
+
+  /**
+   * Values of some rows, in row order.
+   *
+   * @param rows rows to read
+   * @param rowMapper value of a row, such as {@code books::get}
+   * @return stream of the values
+   */
+  public static <T> Stream<T> rows(RoaringBitmap rows, IntFunction<? extends T> rowMapper) {
+    return rows.stream().mapToObj(rowMapper);
+  }
+
+  private static RoaringBitmap.Builder[] builders(int count) {
+    RoaringBitmap.Builder[] builders = new RoaringBitmap.Builder[count];
+    for (int i = 0; i < count; i++) {
+      builders[i] = RoaringBitmap.builder();
+    }
+    return builders;
+  }
+
+  private static Map<String, RoaringBitmap> build(Map<String, RoaringBitmap.Builder> builders) {
+    return build(builders, new HashMap<>(builders.size() * 4 / 3 + 1));
+  }
+
+  private static <K> Map<K, RoaringBitmap> build(
+      Map<K, RoaringBitmap.Builder> builders, Map<K, RoaringBitmap> result) {
+    builders.forEach((key, builder) -> result.put(key, builder.build()));
+    return result;
+  }
+
+  private static Map<String, RoaringBitmap> build(
+      String[] dictionary, RoaringBitmap.Builder[] builders) {
+    Map<String, RoaringBitmap> result = new HashMap<>(dictionary.length * 4 / 3 + 1);
+    for (int id = 0; id < dictionary.length; id++) {
+      result.put(dictionary[id], builders[id].build());
+    }
+    return result;
+  }
+}
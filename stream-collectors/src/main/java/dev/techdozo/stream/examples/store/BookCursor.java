@@ -0,0 +1,315 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Flyweight view of one book at a time. A cursor is positioned on a row by {@link #next()} and its
+ * accessors read that row from the underlying storage, so walking a catalog creates no object per
+ * row. Only the terminal operations that return books, such as {@link #toList()}, materialize a
+ * {@link Book}, and only for the rows that reach them.
+ *
+ * <p>Operators like {@link #filter(Predicate)} wrap the cursor once per pipeline, and predicates
+ * receive the cursor itself, so a non-capturing predicate allocates nothing per row. A cursor, and
+ * anything read from it, is only valid until the next call to {@link #next()}; it is not thread
+ * safe, so use one cursor per thread.
+ *
+ * <pre>{@code
+ * List<String> javaAuthors =
+ *     catalog.cursor().category(Category.JAVA).authors(new ArrayList<>());
+ * }</pre>
+ */
+public abstract class BookCursor {
+
+  /**
+   * Moves to the next row.
+   *
+   * @return false if there are no more rows
+   */
+  public abstract boolean next();
+
+  public abstract double price();
+
+  public abstract Category category();
+
+  /** Author of the current row; shared strings are returned as is, not copied. */
+  public abstract String author();
+
+  /** Publisher of the current row; shared strings are returned as is, not copied. */
+  public abstract String publisher();
+
+  /**
+   * Appends the name of the current row, without creating a String for it.
+   *
+   * @param target builder to append to
+   */
+  public abstract void appendName(StringBuilder target);
+
+  /** Name of the current row, as a new String. */
+  public String name() {
+    var name = new StringBuilder();
+    appendName(name);
+    return name.toString();
+  }
+
+  /**
+   * The current row as a {@link Book}: a new one for a cursor over columns or a file, and the
+   * list's own instance for a cursor over a list, as {@code stream().filter(...)} would return, so
+   * changes to it change the book in the source list.
+   */
+  public Book toBook() {
+    return Book.builder()
+        .name(name())
+        .category(category())
+        .price(price())
+        .author(author())
+        .publisher(publisher())
+        .build();
+  }
+
+  /**
+   * Cursor over a list of existing books, so the same operators work on the heap representation.
+   * The books it materializes are the list's own instances, not copies.
+   *
+   * @param books books to visit
+   * @return cursor before the first book
+   */
+  public static BookCursor of(List<Book> books) {
+    return new ListCursor(books);
+  }
+
+  /**
+   * Rows matching a predicate, evaluated against this cursor.
+   *
+   * @param predicate test of the current row
+   * @return cursor over the matching rows, sharing this cursor's position
+   */
+  public BookCursor filter(Predicate<? super BookCursor> predicate) {
+    return new FilterCursor(this, predicate);
+  }
+
+  /**
+   * Rows of a category.
+   *
+   * @param category category to keep
+   * @return cursor over the rows of the category
+   */
+  public BookCursor category(Category category) {
+    return filter(cursor -> cursor.category() == category);
+  }
+
+  /** Number of remaining rows, consuming the cursor. */
+  public long count() {
+    long count = 0;
+    while (next()) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Materializes the remaining rows with {@link #toBook()}, consuming the cursor.
+   *
+   * @return List of books
+   */
+  public List<Book> toList() {
+    List<Book> books = new ArrayList<>();
+    while (next()) {
+      books.add(toBook());
+    }
+    return books;
+  }
+
+  /**
+   * Adds the author of each remaining row to a collection, consuming the cursor.
+   *
+   * @param target collection to add to
+   * @return the collection
+   */
+  public <C extends Collection<? super String>> C authors(C target) {
+    while (next()) {
+      target.add(author());
+    }
+    return target;
+  }
+
+  /**
+   * Passes the author of each remaining row to an action, consuming the cursor.
+   *
+   * @param action action for each author
+   */
+  public void forEachAuthor(Consumer<? super String> action) {
+    while (next()) {
+      action.accept(author());
+    }
+  }
+
+  /**
+   * Equivalent of {@code map(Book::getName).collect(joining(delimiter, prefix, suffix))}, appending
+   * names straight into one builder, consuming the cursor.
+   *
+   * @param delimiter between names
+   * @param prefix before the first name
+   * @param suffix after the last name
+   * @return joined names
+   */
+  public String joinNames(CharSequence delimiter, CharSequence prefix, CharSequence suffix) {
+    var joined = new StringBuilder(prefix);
+    boolean first = true;
+    while (next()) {
+      if (!first) {
+        joined.append(delimiter);
+      }
+      appendName(joined);
+      first = false;
+    }
+    return joined.append(suffix).toString();
+  }
+
+  /**
+   * Equivalent of {@code collect(partitioningBy(predicate))}, materializing the books, consuming
+   * the cursor.
+   *
+   * @param predicate test of the current row
+   * @return HashMap containing boolean key and List of book
+   */
+  public Map<Boolean, List<Book>> partition(Predicate<? super BookCursor> predicate) {
+    Map<Boolean, List<Book>> partitions = new HashMap<>();
+    partitions.put(false, new ArrayList<>());
+    partitions.put(true, new ArrayList<>());
+    while (next()) {
+      partitions.get(predicate.test(this)).add(toBook());
+    }
+    return partitions;
+  }
+
+  /** Appends UTF-8 bytes as chars, copying ASCII directly and decoding the rest. */
+  static void appendUtf8(StringBuilder target, byte[] bytes, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (bytes[i] < 0) {
+        target.append(new String(bytes, i, end - i, StandardCharsets.UTF_8));
+        return;
+      }
+      target.append((char) bytes[i]);
+    }
+  }
+
+  private static class FilterCursor extends BookCursor {
+    private final BookCursor source;
+    private final Predicate<? super BookCursor> predicate;
+
+    FilterCursor(BookCursor source, Predicate<? super BookCursor> predicate) {
+      this.source = source;
+      this.predicate = predicate;
+    }
+
+    @Override
+    public boolean next() {
+      while (source.next()) {
+        if (predicate.test(source)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public double price() {
+      return source.price();
+    }
+
+    @Override
+    public Category category() {
+      return source.category();
+    }
+
+    @Override
+    public String author() {
+      return source.author();
+    }
+
+    @Override
+    public String publisher() {
+      return source.publisher();
+    }
+
+    @Override
+    public void appendName(StringBuilder target) {
+      source.appendName(target);
+    }
+
+    @Override
+    public String name() {
+      return source.name();
+    }
+
+    @Override
+    public Book toBook() {
+      return source.toBook();
+    }
+  }
+
+  private static class ListCursor extends BookCursor {
+    private final List<Book> books;
+    private int index = -1;
+    private Book book;
+
+    ListCursor(List<Book> books) {
+      this.books = books;
+    }
+
+    @Override
+    public boolean next() {
+      if (index + 1 >= books.size()) {
+        return false;
+      }
+      book = books.get(++index);
+      return true;
+    }
+
+    @Override
+    public double price() {
+      return book.getPrice();
+    }
+
+    @Override
+    public Category category() {
+      return book.getCategory();
+    }
+
+    @Override
+    public String author() {
+      return book.getAuthor();
+    }
+
+    @Override
+    public String publisher() {
+      return book.getPublisher();
+    }
+
+    @Override
+    public void appendName(StringBuilder target) {
+      target.append(book.getName());
+    }
+
+    @Override
+    public String name() {
+      return book.getName();
+    }
+
+    /** The list's own instance, not a copy. */
+    @Override
+    public Book toBook() {
+      return book;
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.model.Book;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorted index over books, by name and by price, for ordered iteration and range queries without
+ * a {@link java.util.TreeMap}. Each order is a sorted array of books with a parallel array of the
+ * sort keys, so a query is a binary search over contiguous keys, and its matches are a slice of
+ * the array: an entry costs two references and a double, against about 40 bytes for a tree node.
+ *
+ * <p>Queries return streams over their slice that are sized and split in halves, and report
+ * {@link Spliterator#SORTED} with the comparator of their order. Books with equal keys keep the
+ * order of the source collection. Names must not be null; prices that are NaN sort last and match
+ * no price range. Immutable once built, and safe to share between threads.
+ */
+public class BookIndex {
+
+  private static final Comparator<Book> BY_NAME = Comparator.comparing(Book::getName);
+  private static final Comparator<Book> BY_PRICE = Comparator.comparingDouble(Book::getPrice);
+
+  private final Book[] byName;
+  private final String[] names;
+  private final Book[] byPrice;
+  private final double[] prices;
+  /** Number of books with a price that is not NaN, which come first in price order. */
+  private final int priced;
+
+  private BookIndex(Book[] byName, Book[] byPrice) {
+    this.byName = byName;
+    this.byPrice = byPrice;
+    names = new String[byName.length];
+    prices = new double[byPrice.length];
+    for (int i = 0; i < byName.length; i++) {
+      names[i] = byName[i].getName();
+      prices[i] = byPrice[i].getPrice();
+    }
+    int count = prices.length;
+    while (count > 0 && Double.isNaN(prices[count - 1])) {
+      count--;
+    }
+    priced = count;
+  }
+
+  /**
+   * Index of a collection of books, sorted with {@link Arrays#parallelSort}, which is stable.
+   *
+   * @param books books to index, with non null names
+   * @return index of the books
+   */
+  public static BookIndex of(Collection<Book> books) {
+    Book[] byName = books.toArray(new Book[0]);
+    Book[] byPrice = byName.clone();
+    Arrays.parallelSort(byName, BY_NAME);
+    Arrays.parallelSort(byPrice, BY_PRICE);
+    return new BookIndex(byName, byPrice);
+  }
+
+  public int size() {
+    return byName.length;
+  }
+
+  /** All books ordered by name. */
+  public Stream<Book> byName() {
+    return stream(byName, 0, byName.length, BY_NAME);
+  }
+
+  /** All books ordered by price, cheapest first. */
+  public Stream<Book> byPrice() {
+    return stream(byPrice, 0, byPrice.length, BY_PRICE);
+  }
+
+  /**
+   * Books whose name starts with a prefix, ordered by name. Such names sort next to each other,
+   * right at or after the prefix itself, so the matches are found by two binary searches.
+   *
+   * @param prefix start of the names
+   * @return stream of the matching books
+   */
+  public Stream<Book> nameStartsWith(String prefix) {
+    int from = nameLowerBound(prefix);
+    return stream(byName, from, namePrefixEnd(prefix, from), BY_NAME);
+  }
+
+  /** Number of books whose name starts with a prefix, without visiting them. */
+  public int countNameStartsWith(String prefix) {
+    int from = nameLowerBound(prefix);
+    return namePrefixEnd(prefix, from) - from;
+  }
+
+  /**
+   * Books priced from low inclusive to high exclusive, cheapest first.
+   *
+   * @param low lowest price included
+   * @param high highest price, excluded
+   * @return stream of the matching books
+   */
+  public Stream<Book> priceRange(double low, double high) {
+    int from = priceLowerBound(low);
+    return stream(byPrice, from, priceRangeEnd(from, low, high), BY_PRICE);
+  }
+
+  /** Number of books priced from low inclusive to high exclusive, without visiting them. */
+  public int countPriceRange(double low, double high) {
+    int from = priceLowerBound(low);
+    return priceRangeEnd(from, low, high) - from;
+  }
+
+  /**
+   * Books priced above a threshold, cheapest first: the index counterpart of {@code filter(b ->
+   * b.getPrice() > threshold)}.
+   *
+   * @param threshold price excluded
+   * @return stream of the matching books
+   */
+  public Stream<Book> priceGreaterThan(double threshold) {
+    return stream(byPrice, priceUpperBound(threshold), priced, BY_PRICE);
+  }
+
+  /** Number of books priced above a threshold, without visiting them. */
+  public int countPriceGreaterThan(double threshold) {
+    return priced - priceUpperBound(threshold);
+  }
+
+  /** First position whose name is not less than a key. */
+  private int nameLowerBound(String key) {
+    int low = 0;
+    int high = names.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (names[middle].compareTo(key) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /** First position from a lower bound whose name does not start with the prefix. */
+  private int namePrefixEnd(String prefix, int from) {
+    int low = from;
+    int high = names.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (names[middle].startsWith(prefix)) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /** First position whose price is not less than a key, among the prices that are not NaN. */
+  private int priceLowerBound(double key) {
+    int low = 0;
+    int high = priced;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (prices[middle] < key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /** End of a price range from its start, which is empty unless low is less than high. */
+  private int priceRangeEnd(int from, double low, double high) {
+    return low < high ? priceLowerBound(high) : from;
+  }
+
+  /** First position whose price is greater than a key, among the prices that are not NaN. */
+  private int priceUpperBound(double key) {
+    int low = 0;
+    int high = priced;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (prices[middle] <= key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return Double.isNaN(key) ? priced : low;
+  }
+
+  private static Stream<Book> stream(
+      Book[] books, int from, int to, Comparator<Book> comparator) {
+    return StreamSupport.stream(new SliceSpliterator(books, from, to, comparator), false);
+  }
+
+  /** Books in [origin, fence) of a sorted array, split in halves. */
+  private static class SliceSpliterator implements Spliterator<Book> {
+    private static final int CHARACTERISTICS =
+        Spliterator.ORDERED
+            | Spliterator.SORTED
+            | Spliterator.SIZED
+            | Spliterator.SUBSIZED
+            | Spliterator.NONNULL
+            | Spliterator.IMMUTABLE;
+
+    private final Book[] books;
+    private int origin;
+    private final int fence;
+    private final Comparator<Book> comparator;
+
+    SliceSpliterator(Book[] books, int origin, int fence, Comparator<Book> comparator) {
+      this.books = books;
+      this.origin = origin;
+      this.fence = fence;
+      this.comparator = comparator;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Book> action) {
+      if (origin >= fence) {
+        return false;
+      }
+      action.accept(books[origin++]);
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Book> action) {
+      for (int i = origin; i < fence; i++) {
+        action.accept(books[i]);
+      }
+      origin = fence;
+    }
+
+    @Override
+    public Spliterator<Book> trySplit() {
+      int middle = (origin + fence) >>> 1;
+      if (middle <= origin) {
+        return null;
+      }
+      var prefix = new SliceSpliterator(books, origin, middle, comparator);
+      origin = middle;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+      return CHARACTERISTICS;
+    }
+
+    @Override
+    public Comparator<? super Book> getComparator() {
+      return comparator;
+    }
+  }
+}
@@ -0,0 +1,591 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Binary, memory-mapped catalog file.
+ *
+ * <p>The file starts with a header of {@code [magic:int][version:int][count:long]
+ * [categories:int][strings:int][stringsOffset:long][recordsOffset:long][namesOffset:long]}
+ * followed by the number of books per category, so category counts are known without reading a
+ * record. Books follow as fixed width records of {@code [price:double][nameOffset:long]
+ * [nameLength:int][author:int][publisher:int][category:byte]} padded to {@value #RECORD_SIZE}
+ * bytes. Names are UTF-8 bytes in a section after the records, in record order, at an offset from
+ * the start of that section. Authors and publishers repeat across books, so they are ids into a
+ * string table at the end of the file: {@code [offset:int]} per string plus one, then the UTF-8
+ * bytes. A null name has length -1 and a null author or publisher id -1. All values are little
+ * endian.
+ *
+ * <p>{@link #write(Path, Iterable)} holds only the distinct authors and publishers in memory:
+ * records and names are written as books arrive, names through a temporary file next to the
+ * catalog that is then appended to it, so a catalog of any size is written in bounded heap.
+ *
+ * <p>{@link #open(Path)} maps the file; nothing is read up front and a book is only decoded when
+ * it is visited. Records, and the names of their books, are mapped in chunks of {@value
+ * #CHUNK_RECORDS} books, so files are not limited to the 2 GB of a single mapping. The reader is
+ * immutable and safe to share between threads.
+ */
+public class CatalogFile {
+
+  public static final int RECORD_SIZE = 32;
+  static final int CHUNK_RECORDS = 1 << 24;
+
+  private static final int MAGIC = 0x424B4354;
+  private static final int VERSION = 2;
+  private static final int HEADER_SIZE = 48;
+  private static final int PRICE = 0;
+  private static final int NAME_OFFSET = 8;
+  private static final int NAME_LENGTH = 16;
+  private static final int AUTHOR = 20;
+  private static final int PUBLISHER = 24;
+  private static final int CATEGORY = 28;
+  private static final int NULL = -1;
+  private static final int WRITE_BUFFER_SIZE = 1 << 20;
+  private static final Category[] CATEGORIES = Category.values();
+
+  private final long count;
+  private final long[] categoryCounts;
+  private final MappedByteBuffer[] chunks;
+  /** Names of the books of each chunk of records. */
+  private final MappedByteBuffer[] nameChunks;
+  /** Offset in the names section of the first name of each chunk. */
+  private final long[] nameBases;
+  private final ByteBuffer strings;
+  private final int stringCount;
+
+  private CatalogFile(
+      long count,
+      long[] categoryCounts,
+      MappedByteBuffer[] chunks,
+      MappedByteBuffer[] nameChunks,
+      long[] nameBases,
+      ByteBuffer strings,
+      int stringCount) {
+    this.count = count;
+    this.categoryCounts = categoryCounts;
+    this.chunks = chunks;
+    this.nameChunks = nameChunks;
+    this.nameBases = nameBases;
+    this.strings = strings;
+    this.stringCount = stringCount;
+  }
+
+  /**
+   * Writes books to a catalog file, replacing it if it exists.
+   *
+   * @param path file to write
+   * @param books books to write, with non null category
+   * @return number of books written
+   * @throws IOException if the file can not be written
+   */
+  public static long write(Path path, Iterable<Book> books) throws IOException {
+    try (var channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+      Path namesPath =
+          Files.createTempFile(
+              path.toAbsolutePath().getParent(), path.getFileName().toString(), ".names");
+      try (var namesChannel = FileChannel.open(namesPath, READ, WRITE, DELETE_ON_CLOSE)) {
+        return write(channel, namesChannel, books);
+      }
+    }
+  }
+
+  private static long write(FileChannel channel, FileChannel namesChannel, Iterable<Book> books)
+      throws IOException {
+    Map<String, Integer> ids = new HashMap<>();
+    List<String> table = new ArrayList<>();
+    long[] categoryCounts = new long[CATEGORIES.length];
+    long recordsOffset = align(HEADER_SIZE + (long) Long.BYTES * CATEGORIES.length);
+    channel.position(recordsOffset);
+
+    var buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    var namesBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    long count = 0;
+    long namesSize = 0;
+    for (Book book : books) {
+      if (buffer.remaining() < RECORD_SIZE) {
+        drain(channel, buffer);
+      }
+      byte[] name = book.getName() == null ? null : book.getName().getBytes(UTF_8);
+      int start = buffer.position();
+      buffer
+          .putDouble(book.getPrice())
+          .putLong(namesSize)
+          .putInt(name == null ? NULL : name.length)
+          .putInt(id(book.getAuthor(), ids, table))
+          .putInt(id(book.getPublisher(), ids, table))
+          .put((byte) book.getCategory().ordinal())
+          .position(start + RECORD_SIZE);
+      if (name != null) {
+        put(namesChannel, namesBuffer, name);
+        namesSize += name.length;
+      }
+      categoryCounts[book.getCategory().ordinal()]++;
+      count++;
+    }
+    drain(channel, buffer);
+    drain(namesChannel, namesBuffer);
+
+    long namesOffset = recordsOffset + count * RECORD_SIZE;
+    for (long transferred = 0; transferred < namesSize; ) {
+      transferred += namesChannel.transferTo(transferred, namesSize - transferred, channel);
+    }
+    long stringsOffset = namesOffset + namesSize;
+    writeStrings(channel, buffer, table);
+
+    buffer
+        .putInt(MAGIC)
+        .putInt(VERSION)
+        .putLong(count)
+        .putInt(CATEGORIES.length)
+        .putInt(table.size())
+        .putLong(stringsOffset)
+        .putLong(recordsOffset)
+        .putLong(namesOffset);
+    for (long categoryCount : categoryCounts) {
+      buffer.putLong(categoryCount);
+    }
+    buffer.flip();
+    channel.write(buffer, 0);
+    return count;
+  }
+
+  /**
+   * Writes a stream of books to a catalog file, replacing it if it exists.
+   *
+   * @param path file to write
+   * @param books books to write, consumed sequentially
+   * @return number of books written
+   * @throws IOException if the file can not be written
+   */
+  public static long write(Path path, Stream<Book> books) throws IOException {
+    Iterator<Book> iterator = books.sequential().iterator();
+    return write(path, () -> iterator);
+  }
+
+  /**
+   * Maps a catalog file for reading.
+   *
+   * @param path file written by {@link #write(Path, Iterable)}
+   * @return reader over the mapped file
+   * @throws IOException if the file can not be mapped or is not a catalog file
+   */
+  public static CatalogFile open(Path path) throws IOException {
+    try (var channel = FileChannel.open(path, READ)) {
+      ByteBuffer header =
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), 4096));
+      header.order(ByteOrder.LITTLE_ENDIAN);
+      if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+        throw new IOException(path + " is not a catalog file");
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported catalog file version " + version);
+      }
+      long count = header.getLong();
+      int categories = header.getInt();
+      int stringCount = header.getInt();
+      long stringsOffset = header.getLong();
+      long recordsOffset = header.getLong();
+      long namesOffset = header.getLong();
+      long[] categoryCounts = new long[CATEGORIES.length];
+      for (int category = 0; category < categories; category++) {
+        long categoryCount = header.getLong();
+        if (category < categoryCounts.length) {
+          categoryCounts[category] = categoryCount;
+        }
+      }
+
+      var chunks = new MappedByteBuffer[(int) ((count + CHUNK_RECORDS - 1) / CHUNK_RECORDS)];
+      for (int chunk = 0; chunk < chunks.length; chunk++) {
+        long first = (long) chunk * CHUNK_RECORDS;
+        long records = Math.min(CHUNK_RECORDS, count - first);
+        chunks[chunk] =
+            channel.map(
+                FileChannel.MapMode.READ_ONLY,
+                recordsOffset + first * RECORD_SIZE,
+                records * RECORD_SIZE);
+        chunks[chunk].order(ByteOrder.LITTLE_ENDIAN);
+      }
+      // Names are in record order, so the names of a chunk are contiguous
+      var nameChunks = new MappedByteBuffer[chunks.length];
+      long[] nameBases = new long[chunks.length + 1];
+      for (int chunk = 0; chunk < chunks.length; chunk++) {
+        nameBases[chunk] = chunks[chunk].getLong(NAME_OFFSET);
+      }
+      nameBases[chunks.length] = stringsOffset - namesOffset;
+      for (int chunk = 0; chunk < chunks.length; chunk++) {
+        long namesSize = nameBases[chunk + 1] - nameBases[chunk];
+        if (namesSize > Integer.MAX_VALUE) {
+          throw new IOException("Names of " + namesSize + " bytes are too large for a chunk");
+        }
+        nameChunks[chunk] =
+            channel.map(FileChannel.MapMode.READ_ONLY, namesOffset + nameBases[chunk], namesSize);
+      }
+      long stringsSize = channel.size() - stringsOffset;
+      if (stringsSize > Integer.MAX_VALUE) {
+        throw new IOException("String table of " + stringsSize + " bytes is too large");
+      }
+      ByteBuffer strings = channel.map(FileChannel.MapMode.READ_ONLY, stringsOffset, stringsSize);
+      strings.order(ByteOrder.LITTLE_ENDIAN);
+      return new CatalogFile(
+          count, categoryCounts, chunks, nameChunks, nameBases, strings, stringCount);
+    }
+  }
+
+  public long size() {
+    return count;
+  }
+
+  /** Number of books per category, from the header. */
+  public Map<Category, Long> countByCategory() {
+    Map<Category, Long> result = new EnumMap<>(Category.class);
+    for (int category = 0; category < categoryCounts.length; category++) {
+      if (categoryCounts[category] > 0) {
+        result.put(CATEGORIES[category], categoryCounts[category]);
+      }
+    }
+    return result;
+  }
+
+  public double getPrice(long row) {
+    return chunk(row).getDouble(offset(row) + PRICE);
+  }
+
+  public Category getCategory(long row) {
+    return CATEGORIES[chunk(row).get(offset(row) + CATEGORY)];
+  }
+
+  public String getName(long row) {
+    return name(chunk(row), offset(row), row);
+  }
+
+  public String getAuthor(long row) {
+    return string(chunk(row).getInt(offset(row) + AUTHOR));
+  }
+
+  public String getPublisher(long row) {
+    return string(chunk(row).getInt(offset(row) + PUBLISHER));
+  }
+
+  /**
+   * Decodes a record into a {@link Book}.
+   *
+   * @param row record number
+   * @return new Book with the record's values
+   */
+  public Book getBook(long row) {
+    ByteBuffer chunk = chunk(row);
+    int offset = offset(row);
+    return Book.builder()
+        .price(chunk.getDouble(offset + PRICE))
+        .name(name(chunk, offset, row))
+        .author(string(chunk.getInt(offset + AUTHOR)))
+        .publisher(string(chunk.getInt(offset + PUBLISHER)))
+        .category(CATEGORIES[chunk.get(offset + CATEGORY)])
+        .build();
+  }
+
+  /** Books decoded lazily from the mapped records, splitting on record boundaries. */
+  public Spliterator<Book> spliterator() {
+    return new RecordSpliterator(0, count);
+  }
+
+  public Stream<Book> books() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Cursor over all records, reading them in place from the mapping. Names are appended from the
+   * names section without decoding a String, and authors and publishers are decoded once per id and
+   * kept in a small cache of the cursor, as they repeat across records.
+   */
+  public BookCursor cursor() {
+    return new RecordCursor();
+  }
+
+  /** Prices read straight from the mapped records, without decoding books. */
+  public DoubleStream prices() {
+    return LongStream.range(0, count).mapToDouble(this::getPrice);
+  }
+
+  /**
+   * String from the table, decoded from the mapping.
+   *
+   * @param id index into the string table, or -1 for null
+   * @return decoded string
+   */
+  String string(int id) {
+    if (id == NULL) {
+      return null;
+    }
+    if (id < 0 || id >= stringCount) {
+      throw new IndexOutOfBoundsException("String " + id + " of " + stringCount);
+    }
+    int bytesStart = (stringCount + 1) * Integer.BYTES;
+    int start = strings.getInt(id * Integer.BYTES);
+    int end = strings.getInt((id + 1) * Integer.BYTES);
+    return decode(strings, bytesStart + start, end - start);
+  }
+
+  /** Name of a record, decoded from the names of its chunk. */
+  private String name(ByteBuffer chunk, int offset, long row) {
+    int length = chunk.getInt(offset + NAME_LENGTH);
+    if (length == NULL) {
+      return null;
+    }
+    int index = (int) (row / CHUNK_RECORDS);
+    int start = (int) (chunk.getLong(offset + NAME_OFFSET) - nameBases[index]);
+    return decode(nameChunks[index], start, length);
+  }
+
+  /**
+   * Appends the name of a record to a builder, copying ASCII bytes as chars. A null name is
+   * appended as "null", as {@link StringBuilder#append(String)} does.
+   */
+  private void appendName(ByteBuffer chunk, int offset, long row, StringBuilder target) {
+    int length = chunk.getInt(offset + NAME_LENGTH);
+    if (length == NULL) {
+      target.append((String) null);
+      return;
+    }
+    int index = (int) (row / CHUNK_RECORDS);
+    ByteBuffer names = nameChunks[index];
+    int start = (int) (chunk.getLong(offset + NAME_OFFSET) - nameBases[index]);
+    for (int i = start; i < start + length; i++) {
+      byte b = names.get(i);
+      if (b < 0) {
+        target.append(decode(names, i, start + length - i));
+        return;
+      }
+      target.append((char) b);
+    }
+  }
+
+  private static String decode(ByteBuffer buffer, int start, int length) {
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = buffer.get(start + i);
+    }
+    return new String(bytes, UTF_8);
+  }
+
+  ByteBuffer chunk(long row) {
+    if (row < 0 || row >= count) {
+      throw new IndexOutOfBoundsException("Row " + row + " of " + count);
+    }
+    return chunks[(int) (row / CHUNK_RECORDS)];
+  }
+
+  static int offset(long row) {
+    return (int) (row % CHUNK_RECORDS) * RECORD_SIZE;
+  }
+
+  /**
+   * Writes the string table: the offsets, from the encoded length of each string, then the bytes,
+   * encoding each string again rather than keeping its bytes.
+   */
+  private static void writeStrings(FileChannel channel, ByteBuffer buffer, List<String> table)
+      throws IOException {
+    int offset = 0;
+    for (String value : table) {
+      if (buffer.remaining() < Integer.BYTES) {
+        drain(channel, buffer);
+      }
+      buffer.putInt(offset);
+      offset = Math.addExact(offset, value.getBytes(UTF_8).length);
+    }
+    if (buffer.remaining() < Integer.BYTES) {
+      drain(channel, buffer);
+    }
+    buffer.putInt(offset);
+    for (String value : table) {
+      put(channel, buffer, value.getBytes(UTF_8));
+    }
+    drain(channel, buffer);
+  }
+
+  /** Puts bytes in a buffer, draining it to the channel whenever it fills. */
+  private static void put(FileChannel channel, ByteBuffer buffer, byte[] bytes)
+      throws IOException {
+    for (int written = 0; written < bytes.length; ) {
+      if (!buffer.hasRemaining()) {
+        drain(channel, buffer);
+      }
+      int length = Math.min(buffer.remaining(), bytes.length - written);
+      buffer.put(bytes, written, length);
+      written += length;
+    }
+  }
+
+  private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private static int id(String value, Map<String, Integer> ids, List<String> table) {
+    if (value == null) {
+      return NULL;
+    }
+    return ids.computeIfAbsent(
+        value,
+        v -> {
+          table.add(v);
+          return table.size() - 1;
+        });
+  }
+
+  private static long align(long offset) {
+    return (offset + Long.BYTES - 1) & -Long.BYTES;
+  }
+
+  /** Records in order, with a direct mapped cache of decoded author and publisher strings. */
+  private class RecordCursor extends BookCursor {
+    private static final int CACHE_SIZE = 1 << 12;
+
+    private int[] cachedIds;
+    private String[] cachedStrings;
+    private long row = -1;
+    private ByteBuffer chunk;
+    private int offset;
+
+    @Override
+    public boolean next() {
+      if (row + 1 >= count) {
+        row = count;
+        return false;
+      }
+      row++;
+      if (chunk == null || row % CHUNK_RECORDS == 0) {
+        chunk = chunk(row);
+      }
+      offset = offset(row);
+      return true;
+    }
+
+    @Override
+    public double price() {
+      return chunk.getDouble(offset + PRICE);
+    }
+
+    @Override
+    public Category category() {
+      return CATEGORIES[chunk.get(offset + CATEGORY)];
+    }
+
+    @Override
+    public String author() {
+      return cached(chunk.getInt(offset + AUTHOR));
+    }
+
+    @Override
+    public String publisher() {
+      return cached(chunk.getInt(offset + PUBLISHER));
+    }
+
+    @Override
+    public void appendName(StringBuilder target) {
+      CatalogFile.this.appendName(chunk, offset, row, target);
+    }
+
+    @Override
+    public String name() {
+      return CatalogFile.this.name(chunk, offset, row);
+    }
+
+    private String cached(int id) {
+      if (id == NULL) {
+        return null;
+      }
+      if (cachedIds == null) {
+        cachedIds = new int[CACHE_SIZE];
+        cachedStrings = new String[CACHE_SIZE];
+        Arrays.fill(cachedIds, -1);
+      }
+      int slot = id & (CACHE_SIZE - 1);
+      if (cachedIds[slot] != id) {
+        cachedStrings[slot] = string(id);
+        cachedIds[slot] = id;
+      }
+      return cachedStrings[slot];
+    }
+  }
+
+  /** Records in the range [origin, fence), split in halves. */
+  private class RecordSpliterator implements Spliterator<Book> {
+
+    private long origin;
+    private final long fence;
+
+    RecordSpliterator(long origin, long fence) {
+      this.origin = origin;
+      this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Book> action) {
+      if (origin >= fence) {
+        return false;
+      }
+      action.accept(getBook(origin++));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Book> action) {
+      long row = origin;
+      origin = fence;
+      for (; row < fence; row++) {
+        action.accept(getBook(row));
+      }
+    }
+
+    @Override
+    public Spliterator<Book> trySplit() {
+      long middle = (origin + fence) >>> 1;
+      if (middle <= origin) {
+        return null;
+      }
+      var prefix = new RecordSpliterator(origin, middle);
+      origin = middle;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+  }
+}
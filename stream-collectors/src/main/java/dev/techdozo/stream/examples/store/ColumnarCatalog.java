@@ -0,0 +1,456 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.collector.DoubleSums;
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Catalog stored column by column instead of as {@link Book} objects. Prices are one contiguous
+ * {@code double[]}, categories a {@code byte[]} of ordinals, authors and publishers {@code int[]}
+ * ids into dictionaries of distinct names, and names UTF-8 bytes with offsets, plus a bitset of
+ * null names if there are any. A scan over prices reads 8 bytes per book sequentially, instead of
+ * following a reference to a heap object per book.
+ *
+ * <p>Aggregations are plain loops over the columns. Sums keep four independent accumulators so
+ * the additions of consecutive rows don't wait on each other, and predicates are folded into
+ * arithmetic rather than branches. Rows are numbered from 0 in insertion order. Immutable once
+ * built, and safe to share between threads.
+ */
+public class ColumnarCatalog {
+
+  private static final Category[] CATEGORIES = Category.values();
+  private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+  private final int size;
+  final double[] prices;
+  final byte[] categories;
+  final int[] authors;
+  final int[] publishers;
+  final String[] authorDictionary;
+  final String[] publisherDictionary;
+  final byte[] names;
+  final int[] nameOffsets;
+  /** Bitset of rows whose name is null, or null if no name is. */
+  final long[] nullNames;
+
+  ColumnarCatalog(
+      int size,
+      double[] prices,
+      byte[] categories,
+      int[] authors,
+      int[] publishers,
+      String[] authorDictionary,
+      String[] publisherDictionary,
+      byte[] names,
+      int[] nameOffsets,
+      long[] nullNames) {
+    this.size = size;
+    this.prices = prices;
+    this.categories = categories;
+    this.authors = authors;
+    this.publishers = publishers;
+    this.authorDictionary = authorDictionary;
+    this.publisherDictionary = publisherDictionary;
+    this.names = names;
+    this.nameOffsets = nameOffsets;
+    this.nullNames = nullNames;
+  }
+
+  /**
+   * Columnar copy of a list of books.
+   *
+   * @param books books to store, with non null category
+   * @return catalog of the books, in list order
+   */
+  public static ColumnarCatalog of(List<Book> books) {
+    var builder = new Builder(books.size());
+    books.forEach(builder::add);
+    return builder.build();
+  }
+
+  public static Builder builder() {
+    return new Builder(16);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public double getPrice(int row) {
+    return prices[checkRow(row)];
+  }
+
+  public Category getCategory(int row) {
+    return CATEGORIES[categories[checkRow(row)]];
+  }
+
+  public String getAuthor(int row) {
+    return authorDictionary[authors[checkRow(row)]];
+  }
+
+  public String getPublisher(int row) {
+    return publisherDictionary[publishers[checkRow(row)]];
+  }
+
+  public String getName(int row) {
+    if (isNullName(checkRow(row))) {
+      return null;
+    }
+    int start = nameOffsets[row];
+    return new String(names, start, nameOffsets[row + 1] - start, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Materializes a row as a {@link Book}.
+   *
+   * @param row row number
+   * @return new Book with the row's values
+   */
+  public Book getBook(int row) {
+    return Book.builder()
+        .name(getName(row))
+        .category(getCategory(row))
+        .price(prices[row])
+        .author(getAuthor(row))
+        .publisher(getPublisher(row))
+        .build();
+  }
+
+  /** All books, materialized one at a time as the stream is consumed. */
+  public Stream<Book> books() {
+    return IntStream.range(0, size).mapToObj(this::getBook);
+  }
+
+  /** Cursor over all rows, reading the columns in place without materializing books. */
+  public BookCursor cursor() {
+    return new RowCursor();
+  }
+
+  /** Price column as a sized, splittable stream, without boxing or object access. */
+  public DoubleStream prices() {
+    return Arrays.stream(prices, 0, size);
+  }
+
+  /** Category column as ordinals of {@link Category}. */
+  public IntStream categoryOrdinals() {
+    return IntStream.range(0, size).map(row -> categories[row]);
+  }
+
+  /** Sum of all prices. */
+  public double totalPrice() {
+    double s0 = 0;
+    double s1 = 0;
+    double s2 = 0;
+    double s3 = 0;
+    int row = 0;
+    for (; row + 3 < size; row += 4) {
+      s0 += prices[row];
+      s1 += prices[row + 1];
+      s2 += prices[row + 2];
+      s3 += prices[row + 3];
+    }
+    for (; row < size; row++) {
+      s0 += prices[row];
+    }
+    return (s0 + s1) + (s2 + s3);
+  }
+
+  /** Number of books priced above a threshold. */
+  public long countPriceGreaterThan(double threshold) {
+    long count = 0;
+    for (int row = 0; row < size; row++) {
+      count += prices[row] > threshold ? 1 : 0;
+    }
+    return count;
+  }
+
+  /** Sum of the prices above a threshold. */
+  public double totalPriceGreaterThan(double threshold) {
+    double s0 = 0;
+    double s1 = 0;
+    int row = 0;
+    for (; row + 1 < size; row += 2) {
+      double p0 = prices[row];
+      double p1 = prices[row + 1];
+      s0 += p0 > threshold ? p0 : 0;
+      s1 += p1 > threshold ? p1 : 0;
+    }
+    for (; row < size; row++) {
+      s0 += prices[row] > threshold ? prices[row] : 0;
+    }
+    return s0 + s1;
+  }
+
+  /** Equivalent of {@code groupingBy(Book::getCategory, counting())}. */
+  public Map<Category, Long> countByCategory() {
+    long[] counts = new long[CATEGORIES.length];
+    for (int row = 0; row < size; row++) {
+      counts[categories[row]]++;
+    }
+    return counts(counts);
+  }
+
+  /**
+   * Equivalent of {@code filter(b -> b.getPrice() > threshold)} followed by {@code
+   * groupingBy(Book::getCategory, counting())}.
+   */
+  public Map<Category, Long> countByCategoryPriceGreaterThan(double threshold) {
+    long[] counts = new long[CATEGORIES.length];
+    for (int row = 0; row < size; row++) {
+      counts[categories[row]] += prices[row] > threshold ? 1 : 0;
+    }
+    return counts(counts);
+  }
+
+  /**
+   * Equivalent of {@code groupingBy(Book::getCategory, summingDouble(Book::getPrice))}, with the
+   * same compensated summation.
+   */
+  public Map<Category, Double> totalPriceByCategory() {
+    DoubleSums sums = sumByCategory();
+    long[] counts = new long[CATEGORIES.length];
+    double[] totals = new double[CATEGORIES.length];
+    for (int category = 0; category < CATEGORIES.length; category++) {
+      counts[category] = sums.count(category);
+      totals[category] = sums.sum(category);
+    }
+    return values(counts, totals);
+  }
+
+  /**
+   * Equivalent of {@code groupingBy(Book::getCategory, averagingDouble(Book::getPrice))}, with the
+   * same compensated summation.
+   */
+  public Map<Category, Double> averagePriceByCategory() {
+    DoubleSums sums = sumByCategory();
+    long[] counts = new long[CATEGORIES.length];
+    double[] averages = new double[CATEGORIES.length];
+    for (int category = 0; category < CATEGORIES.length; category++) {
+      counts[category] = sums.count(category);
+      averages[category] = sums.average(category);
+    }
+    return values(counts, averages);
+  }
+
+  /** Equivalent of {@code groupingBy(Book::getCategory, mapping(Book::getPrice, maxBy(...)))}. */
+  public Map<Category, Double> maxPriceByCategory() {
+    long[] counts = new long[CATEGORIES.length];
+    double[] max = new double[CATEGORIES.length];
+    Arrays.fill(max, Double.NEGATIVE_INFINITY);
+    for (int row = 0; row < size; row++) {
+      int category = categories[row];
+      counts[category]++;
+      max[category] = Math.max(max[category], prices[row]);
+    }
+    return values(counts, max);
+  }
+
+  private DoubleSums sumByCategory() {
+    DoubleSums sums = new DoubleSums(CATEGORIES.length);
+    for (int row = 0; row < size; row++) {
+      sums.add(categories[row], prices[row]);
+    }
+    return sums;
+  }
+
+  private boolean isNullName(int row) {
+    return nullNames != null && (nullNames[row >>> 6] & 1L << row) != 0;
+  }
+
+  private static Map<Category, Long> counts(long[] counts) {
+    Map<Category, Long> result = new EnumMap<>(Category.class);
+    for (int category = 0; category < counts.length; category++) {
+      if (counts[category] > 0) {
+        result.put(CATEGORIES[category], counts[category]);
+      }
+    }
+    return result;
+  }
+
+  private static Map<Category, Double> values(long[] counts, double[] values) {
+    Map<Category, Double> result = new EnumMap<>(Category.class);
+    for (int category = 0; category < counts.length; category++) {
+      if (counts[category] > 0) {
+        result.put(CATEGORIES[category], values[category]);
+      }
+    }
+    return result;
+  }
+
+  private int checkRow(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+    }
+    return row;
+  }
+
+  /** Cursor over the rows in order; authors and publishers come from the dictionaries. */
+  private class RowCursor extends BookCursor {
+    private int row = -1;
+
+    @Override
+    public boolean next() {
+      if (row + 1 >= size) {
+        row = size;
+        return false;
+      }
+      row++;
+      return true;
+    }
+
+    @Override
+    public double price() {
+      return prices[row];
+    }
+
+    @Override
+    public Category category() {
+      return CATEGORIES[categories[row]];
+    }
+
+    @Override
+    public String author() {
+      return authorDictionary[authors[row]];
+    }
+
+    @Override
+    public String publisher() {
+      return publisherDictionary[publishers[row]];
+    }
+
+    @Override
+    public void appendName(StringBuilder target) {
+      if (isNullName(row)) {
+        target.append((String) null);
+      } else {
+        appendUtf8(target, names, nameOffsets[row], nameOffsets[row + 1]);
+      }
+    }
+
+    @Override
+    public String name() {
+      return getName(row);
+    }
+  }
+
+  /**
+   * Appends books column by column, growing the columns as needed. Names take at most 2 GB of
+   * UTF-8 in all, the size of one array.
+   */
+  public static class Builder {
+    private int size;
+    private double[] prices;
+    private byte[] categories;
+    private int[] authors;
+    private int[] publishers;
+    private final Map<String, Integer> authorIds = new HashMap<>();
+    private final Map<String, Integer> publisherIds = new HashMap<>();
+    private final List<String> authorDictionary = new ArrayList<>();
+    private final List<String> publisherDictionary = new ArrayList<>();
+    private byte[] names;
+    private int[] nameOffsets;
+    private long[] nullNames;
+
+    Builder(int capacity) {
+      capacity = Math.max(1, Math.min(capacity, MAX_ARRAY_SIZE - 1));
+      prices = new double[capacity];
+      categories = new byte[capacity];
+      authors = new int[capacity];
+      publishers = new int[capacity];
+      names = new byte[(int) Math.min(capacity * 16L, MAX_ARRAY_SIZE)];
+      nameOffsets = new int[capacity + 1];
+    }
+
+    public Builder add(Book book) {
+      return add(
+          book.getName(),
+          book.getCategory(),
+          book.getPrice(),
+          book.getAuthor(),
+          book.getPublisher());
+    }
+
+    public Builder add(
+        String name, Category category, double price, String author, String publisher) {
+      if (size == prices.length) {
+        grow();
+      }
+      prices[size] = price;
+      categories[size] = (byte) category.ordinal();
+      authors[size] = id(author, authorIds, authorDictionary);
+      publishers[size] = id(publisher, publisherIds, publisherDictionary);
+      int start = nameOffsets[size];
+      if (name == null) {
+        markNullName(size);
+        nameOffsets[++size] = start;
+        return this;
+      }
+      byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+      long end = (long) start + bytes.length;
+      if (end > MAX_ARRAY_SIZE) {
+        throw new IllegalStateException("Names exceed " + MAX_ARRAY_SIZE + " bytes");
+      }
+      if (end > names.length) {
+        long capacity = Math.min(Math.max(names.length * 2L, end), MAX_ARRAY_SIZE);
+        names = Arrays.copyOf(names, (int) capacity);
+      }
+      System.arraycopy(bytes, 0, names, start, bytes.length);
+      nameOffsets[++size] = (int) end;
+      return this;
+    }
+
+    public ColumnarCatalog build() {
+      return new ColumnarCatalog(
+          size,
+          Arrays.copyOf(prices, size),
+          Arrays.copyOf(categories, size),
+          Arrays.copyOf(authors, size),
+          Arrays.copyOf(publishers, size),
+          authorDictionary.toArray(new String[0]),
+          publisherDictionary.toArray(new String[0]),
+          Arrays.copyOf(names, nameOffsets[size]),
+          Arrays.copyOf(nameOffsets, size + 1),
+          nullNames == null ? null : Arrays.copyOf(nullNames, (size + 63) >>> 6));
+    }
+
+    private void markNullName(int row) {
+      if (nullNames == null || row >>> 6 >= nullNames.length) {
+        int words = (prices.length + 63) >>> 6;
+        nullNames = nullNames == null ? new long[words] : Arrays.copyOf(nullNames, words);
+      }
+      nullNames[row >>> 6] |= 1L << row;
+    }
+
+    private void grow() {
+      if (prices.length >= MAX_ARRAY_SIZE - 1) {
+        throw new IllegalStateException("Catalog is full at " + prices.length + " books");
+      }
+      int capacity = (int) Math.min(prices.length * 2L, MAX_ARRAY_SIZE - 1);
+      prices = Arrays.copyOf(prices, capacity);
+      categories = Arrays.copyOf(categories, capacity);
+      authors = Arrays.copyOf(authors, capacity);
+      publishers = Arrays.copyOf(publishers, capacity);
+      nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+    }
+
+    private static int id(String value, Map<String, Integer> ids, List<String> dictionary) {
+      return ids.computeIfAbsent(
+          value,
+          v -> {
+            dictionary.add(v);
+            return dictionary.size() - 1;
+          });
+    }
+  }
+}
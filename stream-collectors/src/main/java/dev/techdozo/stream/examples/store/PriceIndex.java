@@ -0,0 +1,266 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Category;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.IntStream;
+
+/**
+ * Secondary index on price, per category: for each {@link Category}, the prices of its books in
+ * ascending order with the row of each. A query such as "price greater than X, grouped by category"
+ * is a binary search per category followed by a walk over the matching rows, O(log n + matches),
+ * where {@code filter(b -> b.getPrice() > x)} tests every book.
+ *
+ * <p>Rows are positions in the indexed list, or rows of a {@link ColumnarCatalog}, and are turned
+ * back into values by a row mapper such as {@code books::get} or {@code catalog::getBook}. The
+ * index is built with a stable radix sort on the price bits, so books of equal price keep their
+ * row order. Prices that are NaN sort last and are never greater than a threshold. Immutable once
+ * built, and safe to share between threads.
+ */
+public class PriceIndex {
+
+  private static final Category[] CATEGORIES = Category.values();
+
+  private final int size;
+  /** Sorted prices per category ordinal. */
+  private final double[][] prices;
+  /** Row of each price, per category ordinal. */
+  private final int[][] rows;
+  /** Number of prices that are not NaN, per category ordinal. */
+  private final int[] priced;
+
+  private PriceIndex(int size, double[][] prices, int[][] rows, int[] priced) {
+    this.size = size;
+    this.prices = prices;
+    this.rows = rows;
+    this.priced = priced;
+  }
+
+  /**
+   * Price index of a list of books, with rows numbered by list position.
+   *
+   * @param books books to index, with non null category
+   * @return index of the books
+   */
+  public static PriceIndex of(List<Book> books) {
+    double[] prices = new double[books.size()];
+    byte[] categories = new byte[books.size()];
+    int row = 0;
+    for (Book book : books) {
+      prices[row] = book.getPrice();
+      categories[row++] = (byte) book.getCategory().ordinal();
+    }
+    return of(prices, categories, prices.length);
+  }
+
+  /**
+   * Price index of a columnar catalog, read straight from its price and category columns.
+   *
+   * @param catalog catalog to index
+   * @return index of the catalog's rows
+   */
+  public static PriceIndex of(ColumnarCatalog catalog) {
+    return of(catalog.prices, catalog.categories, catalog.size());
+  }
+
+  private static PriceIndex of(double[] prices, byte[] categories, int size) {
+    int[] sorted = sortByPrice(prices, size);
+    int[] counts = new int[CATEGORIES.length];
+    for (int row = 0; row < size; row++) {
+      counts[categories[row]]++;
+    }
+    double[][] categoryPrices = new double[CATEGORIES.length][];
+    int[][] categoryRows = new int[CATEGORIES.length][];
+    for (int category = 0; category < CATEGORIES.length; category++) {
+      categoryPrices[category] = new double[counts[category]];
+      categoryRows[category] = new int[counts[category]];
+    }
+    // Distribute rows in price order, so each category stays sorted
+    int[] fill = new int[CATEGORIES.length];
+    int[] priced = new int[CATEGORIES.length];
+    for (int row : sorted) {
+      int category = categories[row];
+      int i = fill[category]++;
+      categoryPrices[category][i] = prices[row];
+      categoryRows[category][i] = row;
+      if (!Double.isNaN(prices[row])) {
+        priced[category]++;
+      }
+    }
+    return new PriceIndex(size, categoryPrices, categoryRows, priced);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** Number of books priced above a threshold, from one binary search per category. */
+  public long countGreaterThan(double threshold) {
+    long count = 0;
+    for (int category = 0; category < CATEGORIES.length; category++) {
+      count += priced[category] - upperBound(category, threshold);
+    }
+    return count;
+  }
+
+  /**
+   * Equivalent of {@code filter(b -> b.getPrice() > threshold)} followed by {@code
+   * groupingBy(Book::getCategory, counting())}, without visiting any book.
+   */
+  public Map<Category, Long> countByCategoryGreaterThan(double threshold) {
+    Map<Category, Long> result = new EnumMap<>(Category.class);
+    for (int category = 0; category < CATEGORIES.length; category++) {
+      long count = priced[category] - upperBound(category, threshold);
+      if (count > 0) {
+        result.put(CATEGORIES[category], count);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Rows of a category priced above a threshold, cheapest first.
+   *
+   * @param category category of the books
+   * @param threshold price excluded
+   * @return sized, splittable stream of rows
+   */
+  public IntStream rowsGreaterThan(Category category, double threshold) {
+    int ordinal = category.ordinal();
+    return Arrays.stream(rows[ordinal], upperBound(ordinal, threshold), priced[ordinal]);
+  }
+
+  /**
+   * Equivalent of {@code filter(b -> b.getPrice() > threshold)} followed by {@code
+   * groupingBy(Book::getCategory, downstream)}: like that pipeline, categories without a match are
+   * left out, and each category's books reach the downstream collector in row order. A few
+   * matching rows of a category are sorted back into row order, and many are marked in a bitset
+   * scanned in order, so the cost is O(log n + m log m) for m matches while they are sparse, and
+   * never more than a pass over one bit per book.
+   *
+   * @param threshold price excluded
+   * @param rowMapper value of a row, such as {@code books::get}
+   * @param downstream collects the values of each category
+   * @return EnumMap containing key as a category and value as result of downstream
+   */
+  public <T, A, D> Map<Category, D> groupByCategoryGreaterThan(
+      double threshold, IntFunction<? extends T> rowMapper, Collector<? super T, A, D> downstream) {
+    Supplier<A> supplier = downstream.supplier();
+    BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+    Map<Category, D> result = new EnumMap<>(Category.class);
+    long[] marks = null;
+    for (int category = 0; category < CATEGORIES.length; category++) {
+      int from = upperBound(category, threshold);
+      int to = priced[category];
+      if (from == to) {
+        continue;
+      }
+      A container = supplier.get();
+      IntConsumer action = row -> accumulator.accept(container, rowMapper.apply(row));
+      if (to - from <= size >>> 10) {
+        int[] matches = Arrays.copyOfRange(rows[category], from, to);
+        Arrays.sort(matches);
+        for (int row : matches) {
+          action.accept(row);
+        }
+      } else {
+        marks = marks == null ? new long[(size + 63) >>> 6] : marks;
+        forEachMarked(rows[category], from, to, marks, action);
+      }
+      result.put(CATEGORIES[category], downstream.finisher().apply(container));
+    }
+    return result;
+  }
+
+  /**
+   * Visits rows in row order by marking them in a bitset and scanning its words, which is cheaper
+   * than sorting once the rows are more than about one in a thousand. Leaves the bitset cleared.
+   */
+  private static void forEachMarked(
+      int[] rows, int from, int to, long[] marks, IntConsumer action) {
+    for (int i = from; i < to; i++) {
+      marks[rows[i] >>> 6] |= 1L << rows[i];
+    }
+    for (int word = 0; word < marks.length; word++) {
+      for (long bits = marks[word]; bits != 0; bits &= bits - 1) {
+        action.accept(word << 6 | Long.numberOfTrailingZeros(bits));
+      }
+      marks[word] = 0;
+    }
+  }
+
+  /** First position of a category whose price is greater than a key, or its priced count. */
+  private int upperBound(int category, double key) {
+    double[] sorted = prices[category];
+    int low = 0;
+    int high = priced[category];
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (sorted[middle] <= key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return Double.isNaN(key) ? priced[category] : low;
+  }
+
+  /**
+   * Rows ordered by price, by a least significant digit radix sort of the prices' bits, one byte
+   * per pass. Radix sort is stable, so equal prices keep their row order, and passes where every
+   * price has the same byte are skipped.
+   */
+  static int[] sortByPrice(double[] prices, int size) {
+    long[] keys = new long[size];
+    int[] rows = new int[size];
+    for (int row = 0; row < size; row++) {
+      keys[row] = sortableBits(prices[row]);
+      rows[row] = row;
+    }
+    long[] keyBuffer = new long[size];
+    int[] rowBuffer = new int[size];
+    int[] counts = new int[257];
+    for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+      Arrays.fill(counts, 0);
+      for (int i = 0; i < size; i++) {
+        counts[(int) (keys[i] >>> shift & 0xFF) + 1]++;
+      }
+      if (size == 0 || counts[(int) (keys[0] >>> shift & 0xFF) + 1] == size) {
+        continue;
+      }
+      for (int digit = 1; digit < counts.length; digit++) {
+        counts[digit] += counts[digit - 1];
+      }
+      for (int i = 0; i < size; i++) {
+        int position = counts[(int) (keys[i] >>> shift & 0xFF)]++;
+        keyBuffer[position] = keys[i];
+        rowBuffer[position] = rows[i];
+      }
+      long[] swapKeys = keys;
+      keys = keyBuffer;
+      keyBuffer = swapKeys;
+      int[] swapRows = rows;
+      rows = rowBuffer;
+      rowBuffer = swapRows;
+    }
+    return rows;
+  }
+
+  /**
+   * Bits of a double whose unsigned order is the order of {@link Double#compare}: negative values
+   * have all bits flipped, others only the sign bit. NaN is canonical and sorts last.
+   */
+  private static long sortableBits(double value) {
+    long bits = Double.doubleToLongBits(value);
+    return bits ^ (bits >> 63 | Long.MIN_VALUE);
+  }
+}
@@ -0,0 +1,42 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.Grouping.Type;
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.model.Category;
+import dev.techdozo.stream.examples.store.BitmapIndex;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class GroupingTest {
+
+  @Test
+  public void typeCountShouldMatchGroupingBy() {
+    List<Book> books = Catalog.books(10_000);
+    List<Book> javaBooks =
+        books.stream().filter(book -> book.getCategory() == Category.JAVA).collect(toList());
+
+    for (List<Book> catalog : List.of(books, javaBooks, List.<Book>of())) {
+      assertThat(Grouping.groupByTypeCount(BitmapIndex.of(catalog)), is(typeCount(catalog)));
+    }
+  }
+
+  private static Map<Type, Long> typeCount(List<Book> books) {
+    return books.stream()
+        .collect(
+            groupingBy(
+                book ->
+                    book.getCategory() == Category.JAVA || book.getCategory() == Category.C_SHARP
+                        ? Type.STATIC
+                        : Type.DYNAMIC,
+                counting()));
+  }
+}
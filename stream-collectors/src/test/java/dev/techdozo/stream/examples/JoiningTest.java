@@ -0,0 +1,25 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class JoiningTest {
+
+  @Test
+  public void presizedJoiningShouldMatchCollectorsJoining() {
+    List<Book> books = Catalog.books(10_000);
+    String expected = Joining.joiningByNamePretty(books);
+
+    assertThat(Joining.joiningByNamePresized(books), is(expected));
+    ByteBuffer utf8 = Joining.joiningByNameUtf8(books);
+    assertThat(UTF_8.decode(utf8).toString(), is(expected));
+  }
+}
@@ -0,0 +1,85 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.model.Category;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static dev.techdozo.stream.examples.collector.EnumCollectors.*;
+import static java.util.Comparator.comparingDouble;
+import static java.util.stream.Collectors.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class EnumCollectorsTest {
+
+  private static final double TOLERANCE = 1e-6;
+
+  private final List<Book> books = Catalog.books(100_000);
+
+  @Test
+  public void countingByShouldMatchGroupingBy() {
+    Map<Category, Long> expected =
+        books.stream().collect(groupingBy(Book::getCategory, counting()));
+    assertThat(books.stream().collect(countingBy(Category.class, Book::getCategory)), is(expected));
+    assertThat(
+        books.parallelStream().collect(countingBy(Category.class, Book::getCategory)),
+        is(expected));
+  }
+
+  @Test
+  public void summingAndAveragingShouldMatchGroupingBy() {
+    assertClose(
+        books.stream().collect(groupingBy(Book::getCategory, summingDouble(Book::getPrice))),
+        books.parallelStream()
+            .collect(summingDoubleBy(Category.class, Book::getCategory, Book::getPrice)));
+    assertClose(
+        books.stream().collect(groupingBy(Book::getCategory, averagingDouble(Book::getPrice))),
+        books.parallelStream()
+            .collect(averagingDoubleBy(Category.class, Book::getCategory, Book::getPrice)));
+  }
+
+  @Test
+  public void minAndMaxShouldMatchGroupingBy() {
+    Map<Category, Double> max =
+        books.stream()
+            .collect(
+                groupingBy(
+                    Book::getCategory,
+                    collectingAndThen(
+                        maxBy(comparingDouble(Book::getPrice)), book -> book.get().getPrice())));
+    Map<Category, Double> min =
+        books.stream()
+            .collect(
+                groupingBy(
+                    Book::getCategory,
+                    collectingAndThen(
+                        minBy(comparingDouble(Book::getPrice)), book -> book.get().getPrice())));
+    assertThat(
+        books.parallelStream()
+            .collect(maxDoubleBy(Category.class, Book::getCategory, Book::getPrice)),
+        is(max));
+    assertThat(
+        books.parallelStream()
+            .collect(minDoubleBy(Category.class, Book::getCategory, Book::getPrice)),
+        is(min));
+  }
+
+  @Test
+  public void absentKeysShouldBeLeftOut() {
+    Map<Category, Double> average =
+        Catalog.books().stream()
+            .collect(averagingDoubleBy(Category.class, Book::getCategory, Book::getPrice));
+    assertThat(average.keySet(), is(Set.of(Category.JAVA, Category.PYTHON, Category.C_SHARP)));
+  }
+
+  private static void assertClose(Map<Category, Double> expected, Map<Category, Double> actual) {
+    assertThat(actual.keySet(), is(expected.keySet()));
+    expected.forEach((key, value) -> assertEquals(value, actual.get(key), TOLERANCE));
+  }
+}
@@ -0,0 +1,45 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static dev.techdozo.stream.examples.collector.FrozenMapCollectors.toFrozenMap;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toUnmodifiableMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FrozenMapCollectorsTest {
+
+  private final List<Book> books = Catalog.books(200_000);
+
+  @Test
+  public void toFrozenMapShouldMatchToUnmodifiableMap() {
+    Map<String, Book> expected =
+        books.stream().collect(toUnmodifiableMap(Book::getName, identity()));
+    assertThat(books.stream().collect(toFrozenMap(Book::getName, identity())), is(expected));
+    assertThat(
+        books.parallelStream().collect(toFrozenMap(Book::getName, identity())), is(expected));
+  }
+
+  @Test
+  public void mergeFunctionShouldSeeEncounterOrder() {
+    Map<String, String> expected =
+        books.stream()
+            .collect(toUnmodifiableMap(Book::getAuthor, Book::getName, (a, b) -> a + "," + b));
+    assertThat(
+        books.parallelStream()
+            .collect(toFrozenMap(Book::getAuthor, Book::getName, (a, b) -> a + "," + b)),
+        is(expected));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void duplicateKeyShouldFail() {
+    Stream.of("a", "b", "a").collect(toFrozenMap(key -> key, key -> 1));
+  }
+}
@@ -0,0 +1,72 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static dev.techdozo.stream.examples.collector.JoiningCollectors.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class JoiningCollectorsTest {
+
+  private final List<Book> books = Catalog.books(100_000);
+
+  @Test
+  public void joiningShouldMatchCollectorsJoining() {
+    String expected = books.stream().map(Book::getName).collect(Collectors.joining(",", "[", "]"));
+    assertThat(books.stream().map(Book::getName).collect(joining(",", "[", "]")), is(expected));
+    assertThat(
+        books.parallelStream().map(Book::getName).collect(joining(",", "[", "]")), is(expected));
+    assertThat(
+        books.parallelStream().map(Book::getName).collect(joining(",")),
+        is(books.stream().map(Book::getName).collect(Collectors.joining(","))));
+  }
+
+  @Test
+  public void emptyShouldJoinPrefixAndSuffix() {
+    assertThat(Stream.<String>empty().collect(joining(",", "[", "]")), is("[]"));
+    assertThat(Stream.of("a").collect(joining(",", "[", "]")), is("[a]"));
+  }
+
+  @Test
+  public void nullShouldJoinAsNull() {
+    assertThat(Stream.of("a", null, "b").collect(joining(",")), is("a,null,b"));
+  }
+
+  @Test
+  public void joiningToShouldWriteInOrder() {
+    String expected = books.stream().map(Book::getName).collect(Collectors.joining("\n", "", "\n"));
+    StringWriter writer =
+        books.parallelStream()
+            .map(Book::getName)
+            .collect(joiningTo(new StringWriter(), "\n", "", "\n"));
+    assertThat(writer.toString(), is(expected));
+  }
+
+  @Test
+  public void joiningToUtf8ShouldMatchGetBytes() {
+    List<String> names = Arrays.asList("Café", "Ελληνικά", "📚 books", "\uD800 lone");
+    String expected = String.join(";", names);
+    ByteBuffer buffer = names.parallelStream().collect(joiningToUtf8(";", "", ""));
+    assertThat(buffer.remaining(), is(expected.getBytes(UTF_8).length));
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    assertThat(bytes, is(expected.getBytes(UTF_8)));
+  }
+
+  @Test
+  public void utf8LengthShouldMatchGetBytes() {
+    for (String value : Arrays.asList("", "abc", "é", "€", "📚", "\uDC00", "a\uD800")) {
+      assertThat(utf8Length(value), is((long) value.getBytes(UTF_8).length));
+    }
+  }
+}
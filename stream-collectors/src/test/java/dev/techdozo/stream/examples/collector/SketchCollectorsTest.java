@@ -0,0 +1,46 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.sketch.KllSketch;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static dev.techdozo.stream.examples.collector.SketchCollectors.*;
+import static java.util.stream.Collectors.*;
+import static org.junit.Assert.assertEquals;
+
+public class SketchCollectorsTest {
+
+  private final List<Book> books = Catalog.books(200_000);
+
+  @Test
+  public void distinctAuthorsPerPublisherShouldBeClose() {
+    Map<String, Integer> exact =
+        books.stream()
+            .collect(
+                groupingBy(
+                    Book::getPublisher,
+                    collectingAndThen(mapping(Book::getAuthor, toSet()), Set::size)));
+    Map<String, Long> approximate =
+        books.parallelStream()
+            .collect(groupingBy(Book::getPublisher, approximateDistinctCount(Book::getAuthor)));
+    exact.forEach(
+        (publisher, authors) ->
+            assertEquals(authors, approximate.get(publisher), Math.max(2, authors * 0.03)));
+  }
+
+  @Test
+  public void priceQuantilesShouldBeClose() {
+    double[] prices = books.stream().mapToDouble(Book::getPrice).sorted().toArray();
+    double[] quantiles =
+        books.parallelStream().collect(approximateQuantiles(Book::getPrice, 0.5, 0.99));
+    KllSketch sketch = books.parallelStream().collect(toKllSketch(Book::getPrice));
+    assertEquals(0.5, sketch.rank(quantiles[0]), 0.02);
+    assertEquals(0.99, sketch.rank(quantiles[1]), 0.02);
+    assertEquals(prices[prices.length / 2], quantiles[0], 1.0);
+  }
+}
@@ -0,0 +1,57 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static dev.techdozo.stream.examples.collector.StringMapCollectors.*;
+import static java.util.stream.Collectors.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class StringMapCollectorsTest {
+
+  private final List<Book> books = Catalog.books(200_000);
+
+  @Test
+  public void toStringMapShouldMatchToMap() {
+    Map<String, String> expected = books.stream().collect(toMap(Book::getName, Book::getAuthor));
+    assertThat(books.stream().collect(toStringMap(Book::getName, Book::getAuthor)), is(expected));
+    assertThat(
+        books.parallelStream().collect(toStringMap(Book::getName, Book::getAuthor)), is(expected));
+  }
+
+  @Test
+  public void mergeFunctionShouldSeeEncounterOrder() {
+    Map<String, String> expected =
+        books.stream().collect(toMap(Book::getAuthor, Book::getName, (a, b) -> a + "," + b));
+    assertThat(
+        books.parallelStream()
+            .collect(toStringMap(Book::getAuthor, Book::getName, (a, b) -> a + "," + b)),
+        is(expected));
+  }
+
+  @Test
+  public void groupingByStringShouldMatchGroupingBy() {
+    assertThat(
+        books.parallelStream().collect(groupingByString(Book::getAuthor)),
+        is(books.stream().collect(groupingBy(Book::getAuthor))));
+    assertThat(
+        books.parallelStream()
+            .collect(groupingByString(Book::getPublisher, summingDouble(Book::getPrice)))
+            .keySet(),
+        is(books.stream().collect(groupingBy(Book::getPublisher)).keySet()));
+    assertThat(
+        books.parallelStream().collect(groupingByString(Book::getAuthor, counting())),
+        is(books.stream().collect(groupingBy(Book::getAuthor, counting()))));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void duplicateKeyShouldFail() {
+    Stream.of("a", "b", "a").collect(toStringMap(key -> key, key -> 1));
+  }
+}
@@ -0,0 +1,122 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.model.Category;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+import static dev.techdozo.stream.examples.collector.StripedCollectors.*;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class StripedCollectorsTest {
+
+  private final List<Book> books = Catalog.books(200_000);
+
+  @Test
+  public void countingAndSummingShouldMatchGroupingBy() {
+    assertThat(
+        books.parallelStream().collect(countingByStriped(Book::getAuthor)),
+        is(books.stream().collect(groupingBy(Book::getAuthor, counting()))));
+
+    Map<Category, Double> expected =
+        books.stream().collect(groupingBy(Book::getCategory, summingDouble(Book::getPrice)));
+    Map<Category, Double> actual =
+        books.parallelStream().collect(summingDoubleByStriped(Book::getCategory, Book::getPrice));
+    assertThat(actual.keySet(), is(expected.keySet()));
+    expected.forEach((key, value) -> assertEquals(value, actual.get(key), 1e-6));
+  }
+
+  @Test
+  public void groupingShouldMatchGroupingBy() {
+    Map<Category, List<Book>> grouped =
+        books.parallelStream().collect(groupingByStriped(Book::getCategory));
+    Map<Category, List<Book>> expected = books.stream().collect(groupingBy(Book::getCategory));
+    assertThat(grouped.keySet(), is(expected.keySet()));
+    expected.forEach(
+        (key, value) -> assertThat(new HashSet<>(grouped.get(key)), is(new HashSet<>(value))));
+
+    assertThat(
+        books.parallelStream()
+            .collect(groupingByStriped(Book::getPublisher, mapping(Book::getCategory, toSet()))),
+        is(
+            books.stream()
+                .collect(groupingBy(Book::getPublisher, mapping(Book::getCategory, toSet())))));
+  }
+
+  @Test
+  public void toMapShouldMatchToMap() {
+    Map<String, Book> byName =
+        books.parallelStream().collect(toMapStriped(Book::getName, identity()));
+    assertThat(byName, is(books.stream().collect(toMap(Book::getName, identity()))));
+
+    Map<String, Double> maxPrice =
+        books.parallelStream().collect(toMapStriped(Book::getAuthor, Book::getPrice, Math::max));
+    assertThat(
+        maxPrice, is(books.stream().collect(toMap(Book::getAuthor, Book::getPrice, Math::max))));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void toMapShouldRejectDuplicateKeys() {
+    books.parallelStream().collect(toMapStriped(Book::getCategory, identity()));
+  }
+
+  @Test
+  public void sequentialStreamShouldUseOneContainer() {
+    Set<Category> categories =
+        Catalog.books().stream().collect(countingByStriped(Book::getCategory)).keySet();
+    assertThat(categories, is(Set.of(Category.JAVA, Category.PYTHON, Category.C_SHARP)));
+  }
+
+  @Test
+  public void manyKeysFromManyThreadsShouldBeMergedInParallel() throws InterruptedException {
+    assertThat(
+        collectFromThreads(countingByStriped(Book::getName), 8),
+        is(books.stream().collect(groupingBy(Book::getName, counting()))));
+  }
+
+  @Test
+  public void nullFinishedValuesShouldBeKeptAboveTheParallelMergeThreshold()
+      throws InterruptedException {
+    Collector<Book, ?, Map<String, Object>> collector =
+        groupingByStriped(Book::getName, collectingAndThen(counting(), count -> null));
+    Map<String, Object> names = collectFromThreads(collector, 8);
+
+    Set<String> expected = books.stream().map(Book::getName).collect(toSet());
+    assertThat(expected.size() > StripedCollectors.PARALLEL_MERGE_THRESHOLD, is(true));
+    assertThat(names.keySet(), is(expected));
+    assertThat(names.values().stream().allMatch(Objects::isNull), is(true));
+    assertThat(names instanceof HashMap, is(true));
+    assertThat(names.get(null), is(nullValue()));
+  }
+
+  /** Accumulates slices of the books from as many threads, so that they fill distinct stripes. */
+  private <A, R> R collectFromThreads(Collector<Book, A, R> collector, int count)
+      throws InterruptedException {
+    A container = collector.supplier().get();
+    BiConsumer<A, Book> accumulator = collector.accumulator();
+    Thread[] threads = new Thread[count];
+    for (int t = 0; t < count; t++) {
+      List<Book> slice = books.subList(t * books.size() / count, (t + 1) * books.size() / count);
+      threads[t] = new Thread(() -> slice.forEach(book -> accumulator.accept(container, book)));
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    return collector.finisher().apply(container);
+  }
+}
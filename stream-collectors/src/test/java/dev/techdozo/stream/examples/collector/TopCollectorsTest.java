@@ -0,0 +1,69 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.model.Category;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static dev.techdozo.stream.examples.collector.TopCollectors.*;
+import static java.util.Comparator.comparingDouble;
+import static java.util.stream.Collectors.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class TopCollectorsTest {
+
+  private static final Comparator<Book> BY_PRICE = comparingDouble(Book::getPrice);
+
+  private final List<Book> books = Catalog.books(100_000);
+
+  @Test
+  public void greatestShouldMatchSortedLimit() {
+    List<Double> expected =
+        books.stream().sorted(BY_PRICE.reversed()).limit(100).map(Book::getPrice).collect(toList());
+    assertThat(prices(books.stream().collect(greatest(100, BY_PRICE))), is(expected));
+    assertThat(prices(books.parallelStream().collect(greatest(100, BY_PRICE))), is(expected));
+  }
+
+  @Test
+  public void leastShouldMatchSortedLimit() {
+    List<Double> expected =
+        books.stream().sorted(BY_PRICE).limit(10).map(Book::getPrice).collect(toList());
+    assertThat(prices(books.parallelStream().collect(least(10, BY_PRICE))), is(expected));
+  }
+
+  @Test
+  public void greatestByShouldKeepTopOfEachGroup() {
+    Map<Category, List<Book>> top =
+        books.parallelStream().collect(greatestBy(Book::getCategory, 5, BY_PRICE));
+    assertThat(top.size(), is(Category.values().length));
+    top.forEach(
+        (category, categoryBooks) ->
+            assertThat(
+                prices(categoryBooks),
+                is(
+                    books.stream()
+                        .filter(book -> book.getCategory() == category)
+                        .sorted(BY_PRICE.reversed())
+                        .limit(5)
+                        .map(Book::getPrice)
+                        .collect(toList()))));
+  }
+
+  @Test
+  public void shouldKeepAllWhenFewerThanK() {
+    Comparator<Integer> natural = Comparator.naturalOrder();
+    assertThat(IntStream.of(3, 1, 2).boxed().collect(greatest(10, natural)), is(List.of(3, 2, 1)));
+    assertTrue(IntStream.of(3, 1, 2).boxed().collect(greatest(0, natural)).isEmpty());
+  }
+
+  private static List<Double> prices(List<Book> books) {
+    return books.stream().map(Book::getPrice).collect(toList());
+  }
+}
@@ -0,0 +1,71 @@
+package dev.techdozo.stream.examples.model;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CatalogGeneratorTest {
+
+  private static final int SIZE = 100_000;
+
+  @Test
+  public void sameSeedShouldGenerateSameCatalog() {
+    List<Book> first = new CatalogGenerator(7).books(SIZE);
+    List<Book> second = new CatalogGenerator(7).stream(SIZE).parallel().collect(Collectors.toList());
+    assertThat(first.size(), is(SIZE));
+    for (int i = 0; i < SIZE; i++) {
+      assertThat(first.get(i).toString(), is(second.get(i).toString()));
+    }
+  }
+
+  @Test
+  public void differentSeedShouldGenerateDifferentCatalog() {
+    Book first = new CatalogGenerator(7).book(0);
+    Book second = new CatalogGenerator(8).book(0);
+    assertThat(first.toString(), not(second.toString()));
+  }
+
+  @Test
+  public void distributionsShouldBeSkewed() {
+    List<Book> books = Catalog.books(SIZE);
+    Map<Category, Long> categories = count(books, Book::getCategory);
+    assertThat(categories.size(), is(Category.values().length));
+    assertTrue(categories.get(Category.JAVA) > 5 * categories.get(Category.COBOL));
+
+    Map<String, Long> publishers = count(books, Book::getPublisher);
+    assertTrue(publishers.get("Publisher 0") > 10 * publishers.get("Publisher 99"));
+
+    double average = books.stream().mapToDouble(Book::getPrice).average().orElseThrow();
+    assertTrue(average > 30 && average < 50);
+  }
+
+  @Test
+  public void namesShouldBeInterned() {
+    List<Book> books = Catalog.books(1000);
+    for (Book book : books) {
+      assertThat(book.getAuthor(), sameInstance(book.getAuthor().intern()));
+      assertThat(book.getPublisher(), sameInstance(book.getPublisher().intern()));
+    }
+  }
+
+  @Test
+  public void spliteratorShouldBeSizedAndSplittable() {
+    Spliterator<Book> spliterator = new CatalogGenerator().spliterator(10_000_000L);
+    assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    assertThat(spliterator.getExactSizeIfKnown(), is(10_000_000L));
+    Spliterator<Book> prefix = spliterator.trySplit();
+    assertThat(prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown(), is(10_000_000L));
+  }
+
+  private static <K> Map<K, Long> count(List<Book> books, Function<Book, K> key) {
+    return books.stream().collect(Collectors.groupingBy(key, Collectors.counting()));
+  }
+}
@@ -0,0 +1,62 @@
+package dev.techdozo.stream.examples.sketch;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+public class HyperLogLogTest {
+
+  @Test
+  public void estimateShouldBeWithinError() {
+    for (int distinct : new int[] {10, 1_000, 100_000, 1_000_000}) {
+      var sketch = new HyperLogLog();
+      for (int i = 0; i < distinct; i++) {
+        sketch.add("value-" + i);
+        sketch.add("value-" + i);
+      }
+      assertEquals(distinct, sketch.estimate(), distinct * 0.03);
+    }
+  }
+
+  @Test
+  public void mergeShouldEstimateUnion() {
+    var left = new HyperLogLog();
+    var right = new HyperLogLog();
+    var union = new HyperLogLog();
+    for (int i = 0; i < 200_000; i++) {
+      (i % 2 == 0 ? left : right).add((long) i);
+      union.add((long) i);
+    }
+    left.add(1L);
+    assertThat(left.merge(right).estimate(), is(union.estimate()));
+  }
+
+  @Test
+  public void serializedSketchShouldEstimateTheSame() throws Exception {
+    var sketch = new HyperLogLog(10);
+    for (int i = 0; i < 50_000; i++) {
+      sketch.add(i);
+    }
+    assertThat(HyperLogLog.fromByteArray(sketch.toByteArray()).estimate(), is(sketch.estimate()));
+
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new ObjectOutputStream(bytes)) {
+      out.writeObject(sketch);
+    }
+    try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertThat(((HyperLogLog) in.readObject()).estimate(), is(sketch.estimate()));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void mergeShouldRejectDifferentPrecision() {
+    new HyperLogLog(10).merge(new HyperLogLog(12));
+  }
+}
@@ -0,0 +1,67 @@
+package dev.techdozo.stream.examples.sketch;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class KllSketchTest {
+
+  private static final int SIZE = 1_000_000;
+  private static final double RANK_ERROR = 0.02;
+
+  private final double[] values = new SplittableRandom(1).doubles(SIZE, 0, 1000).toArray();
+
+  @Test
+  public void quantilesShouldBeWithinRankError() {
+    var sketch = new KllSketch();
+    for (double value : values) {
+      sketch.add(value);
+    }
+    assertQuantiles(sketch);
+    assertTrue(sketch.retained() < 1000);
+    assertThat(sketch.getCount(), is((long) SIZE));
+  }
+
+  @Test
+  public void mergedSketchesShouldBeWithinRankError() {
+    var sketches = new KllSketch[8];
+    for (int i = 0; i < sketches.length; i++) {
+      sketches[i] = new KllSketch();
+    }
+    for (int i = 0; i < values.length; i++) {
+      sketches[i % sketches.length].add(values[i]);
+    }
+    var merged = new KllSketch();
+    for (KllSketch sketch : sketches) {
+      merged.merge(KllSketch.fromByteArray(sketch.toByteArray()));
+    }
+    assertThat(merged.getCount(), is((long) SIZE));
+    assertQuantiles(merged);
+  }
+
+  @Test
+  public void emptySketchShouldHaveNoQuantiles() {
+    var sketch = new KllSketch();
+    assertTrue(Double.isNaN(sketch.quantile(0.5)));
+    assertTrue(Double.isNaN(sketch.merge(new KllSketch()).rank(1)));
+  }
+
+  private void assertQuantiles(KllSketch sketch) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    for (double fraction : new double[] {0.01, 0.25, 0.5, 0.75, 0.99}) {
+      double quantile = sketch.quantile(fraction);
+      int rank = Arrays.binarySearch(sorted, quantile);
+      assertEquals(fraction, (double) rank / SIZE, RANK_ERROR);
+      assertEquals(fraction, sketch.rank(quantile), RANK_ERROR);
+    }
+    assertThat(sketch.quantile(0), is(sorted[0]));
+    assertThat(sketch.quantile(1), is(sorted[SIZE - 1]));
+  }
+}
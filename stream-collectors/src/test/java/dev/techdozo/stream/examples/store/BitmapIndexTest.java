@@ -0,0 +1,84 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.bitmap.RoaringBitmap;
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.CatalogGenerator;
+import dev.techdozo.stream.examples.model.Category;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BitmapIndexTest {
+
+  private static final int SIZE = 200_000;
+
+  private final List<Book> books = new CatalogGenerator().books(SIZE);
+  private final BitmapIndex index = BitmapIndex.of(books);
+
+  @Test
+  public void bitmapsShouldMatchPredicates() {
+    String publisher = books.get(0).getPublisher();
+    String author = books.get(1).getAuthor();
+    var catalogIndex = BitmapIndex.of(ColumnarCatalog.of(books));
+    for (BitmapIndex candidate : List.of(index, catalogIndex)) {
+      for (Category category : Category.values()) {
+        assertRows(candidate.category(category), book -> book.getCategory() == category);
+      }
+      assertRows(candidate.publisher(publisher), book -> book.getPublisher().equals(publisher));
+      assertRows(candidate.author(author), book -> book.getAuthor().equals(author));
+      assertRows(candidate.all(), book -> true);
+      assertRows(candidate.author("Nobody"), book -> false);
+    }
+  }
+
+  @Test
+  public void combinedPredicatesShouldMatchFilter() {
+    String publisher = books.get(0).getPublisher();
+    RoaringBitmap java = index.category(Category.JAVA);
+    RoaringBitmap rust = index.category(Category.RUST);
+    assertRows(
+        java.and(index.publisher(publisher)),
+        book -> book.getCategory() == Category.JAVA && book.getPublisher().equals(publisher));
+    assertRows(
+        java.or(rust).andNot(index.publisher(publisher)),
+        book ->
+            (book.getCategory() == Category.JAVA || book.getCategory() == Category.RUST)
+                && !book.getPublisher().equals(publisher));
+  }
+
+  @Test
+  public void partitionShouldMatchPartitioningBy() {
+    var partition = index.partition(index.category(Category.JAVA));
+    var expected =
+        books.stream().collect(partitioningBy(book -> book.getCategory() == Category.JAVA));
+    for (boolean key : new boolean[] {true, false}) {
+      assertThat(
+          BitmapIndex.rows(partition.get(key), books::get).collect(toList()),
+          is(expected.get(key)));
+    }
+  }
+
+  @Test
+  public void countByCategoryShouldMatchGroupingBy() {
+    String publisher = books.get(0).getPublisher();
+    assertThat(
+        index.countByCategory(index.publisher(publisher)),
+        is(
+            books.stream()
+                .filter(book -> book.getPublisher().equals(publisher))
+                .collect(groupingBy(Book::getCategory, counting()))));
+  }
+
+  private void assertRows(RoaringBitmap rows, Predicate<Book> predicate) {
+    int[] expected =
+        IntStream.range(0, SIZE).filter(row -> predicate.test(books.get(row))).toArray();
+    assertThat(rows.toArray(), is(expected));
+    assertThat(rows.cardinality(), is((long) expected.length));
+  }
+}
@@ -0,0 +1,129 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.model.CatalogGenerator;
+import dev.techdozo.stream.examples.model.Category;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.stream.Collectors.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class BookCursorTest {
+
+  private static final int SIZE = 50_000;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private final List<Book> books = new CatalogGenerator().books(SIZE);
+
+  @Test
+  public void authorsShouldMatchStream() throws IOException {
+    List<String> expected =
+        books.stream()
+            .filter(book -> book.getCategory() == Category.JAVA)
+            .map(Book::getAuthor)
+            .collect(toList());
+
+    assertThat(
+        BookCursor.of(books).category(Category.JAVA).authors(new ArrayList<>()), is(expected));
+    assertThat(
+        ColumnarCatalog.of(books).cursor().category(Category.JAVA).authors(new ArrayList<>()),
+        is(expected));
+    assertThat(
+        file(books).cursor().category(Category.JAVA).authors(new ArrayList<>()), is(expected));
+  }
+
+  @Test
+  public void joinNamesShouldMatchJoining() throws IOException {
+    String expected = books.stream().map(Book::getName).collect(joining(",", "[", "]"));
+
+    assertThat(BookCursor.of(books).joinNames(",", "[", "]"), is(expected));
+    assertThat(ColumnarCatalog.of(books).cursor().joinNames(",", "[", "]"), is(expected));
+    assertThat(file(books).cursor().joinNames(",", "[", "]"), is(expected));
+  }
+
+  @Test
+  public void toListShouldMaterializeOnlyMatches() throws IOException {
+    List<String> expected =
+        books.stream()
+            .filter(book -> book.getPrice() > 100)
+            .map(Book::toString)
+            .collect(toList());
+
+    assertThat(
+        ColumnarCatalog.of(books).cursor().filter(book -> book.price() > 100).toList().stream()
+            .map(Book::toString)
+            .collect(toList()),
+        is(expected));
+    assertThat(
+        file(books).cursor().filter(book -> book.price() > 100).toList().stream()
+            .map(Book::toString)
+            .collect(toList()),
+        is(expected));
+    assertThat(
+        file(books).cursor().filter(book -> book.price() > 100).count(),
+        is((long) expected.size()));
+  }
+
+  @Test
+  public void listCursorShouldReturnTheListsOwnBooks() {
+    List<Book> expensive = BookCursor.of(books).filter(book -> book.price() > 100).toList();
+    List<Book> expected = books.stream().filter(book -> book.getPrice() > 100).collect(toList());
+
+    assertThat(expensive.size(), is(expected.size()));
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(expensive.get(i), sameInstance(expected.get(i)));
+    }
+  }
+
+  @Test
+  public void partitionShouldMatchPartitioningBy() {
+    List<Book> books = Catalog.books();
+    var partitions =
+        ColumnarCatalog.of(books).cursor().partition(book -> book.category() == Category.JAVA);
+    var expected =
+        books.stream().collect(partitioningBy(book -> book.getCategory() == Category.JAVA));
+
+    assertThat(partitions.get(true).toString(), is(expected.get(true).toString()));
+    assertThat(partitions.get(false).toString(), is(expected.get(false).toString()));
+  }
+
+  @Test
+  public void listCursorShouldReturnSameBooks() {
+    List<Book> books = Catalog.books();
+    List<Book> java = BookCursor.of(books).category(Category.JAVA).toList();
+    assertThat(java.get(0), sameInstance(books.get(0)));
+  }
+
+  @Test
+  public void namesShouldDecodeNonAscii() throws IOException {
+    List<Book> books =
+        List.of(
+            Book.builder().name("Café Java").category(Category.JAVA).author("A").build(),
+            Book.builder().name("Rust").category(Category.RUST).author("B").build(),
+            Book.builder().name("Ελληνικά").category(Category.C).author("C").build());
+
+    assertThat(
+        ColumnarCatalog.of(books).cursor().joinNames("|", "", ""), is("Café Java|Rust|Ελληνικά"));
+    assertThat(file(books).cursor().joinNames("|", "", ""), is("Café Java|Rust|Ελληνικά"));
+    BookCursor cursor = file(books).cursor();
+    cursor.next();
+    assertThat(cursor.name(), is("Café Java"));
+  }
+
+  private CatalogFile file(List<Book> books) throws IOException {
+    Path path = folder.newFile().toPath();
+    CatalogFile.write(path, books);
+    return CatalogFile.open(path);
+  }
+}
@@ -0,0 +1,111 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.CatalogGenerator;
+import dev.techdozo.stream.examples.model.Category;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BookIndexTest {
+
+  private static final int SIZE = 50_000;
+
+  private final List<Book> books = new CatalogGenerator().books(SIZE);
+  private final BookIndex index = BookIndex.of(books);
+
+  @Test
+  public void shouldIterateInOrder() {
+    assertThat(
+        index.byName().collect(toList()),
+        is(books.stream().sorted(Comparator.comparing(Book::getName)).collect(toList())));
+    assertThat(
+        index.byPrice().collect(toList()),
+        is(books.stream().sorted(Comparator.comparingDouble(Book::getPrice)).collect(toList())));
+  }
+
+  @Test
+  public void nameStartsWithShouldMatchFilter() {
+    for (String prefix : new String[] {"Book 1", "Book 4999", "Book 49999", "Book", "", "Z"}) {
+      List<Book> expected =
+          books.stream()
+              .filter(book -> book.getName().startsWith(prefix))
+              .sorted(Comparator.comparing(Book::getName))
+              .collect(toList());
+      assertThat(index.nameStartsWith(prefix).collect(toList()), is(expected));
+      assertThat(index.countNameStartsWith(prefix), is(expected.size()));
+    }
+  }
+
+  @Test
+  public void priceQueriesShouldMatchFilter() {
+    double[][] ranges = {{0, 10}, {35, 35.5}, {40, 40}, {51, 1e9}, {60, 20}};
+    for (double[] range : ranges) {
+      List<Book> expected =
+          byPrice(books.stream().filter(b -> b.getPrice() >= range[0] && b.getPrice() < range[1]));
+      assertThat(index.priceRange(range[0], range[1]).collect(toList()), is(expected));
+      assertThat(index.countPriceRange(range[0], range[1]), is(expected.size()));
+    }
+    for (double threshold : new double[] {-1, 35, 51, 1e9}) {
+      List<Book> expected = byPrice(books.stream().filter(b -> b.getPrice() > threshold));
+      assertThat(index.priceGreaterThan(threshold).collect(toList()), is(expected));
+      assertThat(index.countPriceGreaterThan(threshold), is(expected.size()));
+    }
+  }
+
+  @Test
+  public void nanPricesShouldMatchNoRange() {
+    List<Book> withNaN = new ArrayList<>(books.subList(0, 100));
+    withNaN.add(book("Unpriced", Double.NaN));
+    var nanIndex = BookIndex.of(withNaN);
+    assertThat(nanIndex.countPriceGreaterThan(0), is(100));
+    assertThat(nanIndex.countPriceRange(0, Double.POSITIVE_INFINITY), is(100));
+    assertThat(nanIndex.countPriceGreaterThan(Double.NaN), is(0));
+    assertThat(nanIndex.countPriceRange(Double.NaN, 100), is(0));
+    assertThat(nanIndex.byPrice().count(), is(101L));
+  }
+
+  @Test
+  public void equalKeysShouldKeepSourceOrder() {
+    List<Book> same = List.of(book("b", 1), book("a", 2), book("b", 2), book("a", 1));
+    var sameIndex = BookIndex.of(same);
+    assertThat(
+        sameIndex.byName().collect(toList()),
+        is(List.of(same.get(1), same.get(3), same.get(0), same.get(2))));
+    assertThat(
+        sameIndex.byPrice().collect(toList()),
+        is(List.of(same.get(0), same.get(3), same.get(1), same.get(2))));
+  }
+
+  @Test
+  public void parallelStreamShouldKeepOrder() {
+    assertThat(
+        index.priceGreaterThan(20).parallel().collect(toList()),
+        is(index.priceGreaterThan(20).collect(toList())));
+    Spliterator<Book> spliterator = index.byName().spliterator();
+    assertThat(spliterator.hasCharacteristics(Spliterator.SORTED | Spliterator.SIZED), is(true));
+    assertThat(spliterator.getExactSizeIfKnown(), is((long) SIZE));
+  }
+
+  private static List<Book> byPrice(Stream<Book> books) {
+    return books.sorted(Comparator.comparingDouble(Book::getPrice)).collect(toList());
+  }
+
+  private static Book book(String name, double price) {
+    return Book.builder()
+        .name(name)
+        .category(Category.JAVA)
+        .price(price)
+        .author("Author")
+        .publisher("Publisher")
+        .build();
+  }
+}
@@ -0,0 +1,108 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.model.CatalogGenerator;
+import dev.techdozo.stream.examples.model.Category;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Spliterator;
+
+import static java.util.stream.Collectors.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CatalogFileTest {
+
+  private static final int SIZE = 100_000;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void booksShouldRoundTrip() throws IOException {
+    Path path = folder.getRoot().toPath().resolve("catalog.bin");
+    List<Book> books = Catalog.books();
+    assertThat(CatalogFile.write(path, books), is((long) books.size()));
+
+    CatalogFile file = CatalogFile.open(path);
+    assertThat(file.size(), is((long) books.size()));
+    assertThat(
+        file.books().map(Book::toString).collect(toList()),
+        is(books.stream().map(Book::toString).collect(toList())));
+    assertThat(file.getAuthor(1), is("Brian Goetz"));
+    assertThat(file.getPrice(4), is(53.88));
+  }
+
+  @Test
+  public void headerShouldCountCategories() throws IOException {
+    Path path = folder.getRoot().toPath().resolve("catalog.bin");
+    CatalogFile.write(path, new CatalogGenerator().stream(SIZE));
+    CatalogFile file = CatalogFile.open(path);
+    assertThat(
+        file.countByCategory(),
+        is(new CatalogGenerator().stream(SIZE).collect(groupingBy(Book::getCategory, counting()))));
+  }
+
+  @Test
+  public void stringsShouldBeStoredOnce() throws IOException {
+    Path path = folder.getRoot().toPath().resolve("catalog.bin");
+    CatalogFile.write(path, new CatalogGenerator().stream(SIZE));
+    // Records plus inline names; authors and publishers are a few thousand shared strings
+    assertTrue(Files.size(path) < SIZE * (CatalogFile.RECORD_SIZE + 20L) + 200_000);
+  }
+
+  @Test
+  public void parallelStreamShouldSplitOnRecords() throws IOException {
+    Path path = folder.getRoot().toPath().resolve("catalog.bin");
+    List<Book> books = Catalog.books(SIZE);
+    CatalogFile.write(path, books);
+    CatalogFile file = CatalogFile.open(path);
+
+    Spliterator<Book> spliterator = file.spliterator();
+    Spliterator<Book> prefix = spliterator.trySplit();
+    assertThat(prefix.estimateSize() + spliterator.estimateSize(), is((long) SIZE));
+    assertThat(
+        file.books().parallel().map(Book::toString).collect(toList()),
+        is(books.stream().map(Book::toString).collect(toList())));
+    assertThat(
+        file.prices().parallel().max().getAsDouble(),
+        is(books.stream().mapToDouble(Book::getPrice).max().getAsDouble()));
+  }
+
+  @Test
+  public void nullStringsShouldRoundTrip() throws IOException {
+    Path path = folder.getRoot().toPath().resolve("catalog.bin");
+    List<Book> books =
+        List.of(
+            Book.builder().name(null).category(Category.JAVA).price(1).author("").build(),
+            Book.builder().name("").category(Category.PYTHON).price(2).publisher("").build());
+    CatalogFile.write(path, books);
+    CatalogFile file = CatalogFile.open(path);
+
+    assertThat(file.getName(0), is(nullValue()));
+    assertThat(file.getPublisher(0), is(nullValue()));
+    assertThat(file.getAuthor(0), is(""));
+    assertThat(file.getName(1), is(""));
+    assertThat(file.getAuthor(1), is(nullValue()));
+    assertThat(
+        file.books().map(Book::toString).collect(toList()),
+        is(books.stream().map(Book::toString).collect(toList())));
+    assertThat(file.cursor().toList().get(0).getName(), is(nullValue()));
+    assertThat(Files.list(folder.getRoot().toPath()).count(), is(1L));
+  }
+
+  @Test(expected = IOException.class)
+  public void openShouldRejectOtherFiles() throws IOException {
+    Path path = folder.newFile().toPath();
+    Files.write(path, new byte[64]);
+    CatalogFile.open(path);
+  }
+}
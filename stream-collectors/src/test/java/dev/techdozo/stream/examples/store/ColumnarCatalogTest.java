@@ -0,0 +1,124 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.model.Category;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public class ColumnarCatalogTest {
+
+  private static final double TOLERANCE = 1e-6;
+
+  private final List<Book> books = Catalog.books(100_001);
+  private final ColumnarCatalog catalog = ColumnarCatalog.of(books);
+
+  @Test
+  public void rowsShouldRoundTrip() {
+    assertThat(catalog.size(), is(books.size()));
+    for (int row = 0; row < books.size(); row += 997) {
+      assertThat(catalog.getBook(row).toString(), is(books.get(row).toString()));
+    }
+    List<Book> small = Catalog.books();
+    assertThat(
+        ColumnarCatalog.of(small).books().map(Book::toString).collect(toList()),
+        is(small.stream().map(Book::toString).collect(toList())));
+  }
+
+  @Test
+  public void priceScansShouldMatchStreams() {
+    assertEquals(
+        books.stream().mapToDouble(Book::getPrice).sum(), catalog.totalPrice(), TOLERANCE);
+    assertEquals(catalog.prices().sum(), catalog.totalPrice(), TOLERANCE);
+    assertThat(
+        catalog.countPriceGreaterThan(51),
+        is(books.stream().filter(b -> b.getPrice() > 51).count()));
+    assertEquals(
+        books.stream().mapToDouble(Book::getPrice).filter(p -> p > 51).sum(),
+        catalog.totalPriceGreaterThan(51),
+        TOLERANCE);
+  }
+
+  @Test
+  public void groupingShouldMatchGroupingBy() {
+    assertThat(
+        catalog.countByCategory(),
+        is(books.stream().collect(groupingBy(Book::getCategory, counting()))));
+    assertThat(
+        catalog.countByCategoryPriceGreaterThan(51),
+        is(
+            books.stream()
+                .filter(b -> b.getPrice() > 51)
+                .collect(groupingBy(Book::getCategory, counting()))));
+    assertClose(
+        books.stream().collect(groupingBy(Book::getCategory, summingDouble(Book::getPrice))),
+        catalog.totalPriceByCategory());
+    assertClose(
+        books.stream().collect(groupingBy(Book::getCategory, averagingDouble(Book::getPrice))),
+        catalog.averagePriceByCategory());
+    assertClose(
+        books.stream()
+            .collect(
+                groupingBy(
+                    Book::getCategory,
+                    collectingAndThen(
+                        mapping(Book::getPrice, maxBy(Double::compare)), max -> max.get()))),
+        catalog.maxPriceByCategory());
+  }
+
+  @Test
+  public void sumsShouldBeCompensatedLikeSummingDouble() {
+    List<Book> books =
+        List.of(book("a", 1e17), book("b", 1.0), book("c", 1.0), book("d", -1e17), book("e", 3.0));
+    ColumnarCatalog catalog = ColumnarCatalog.of(books);
+    assertThat(
+        catalog.totalPriceByCategory(),
+        is(books.stream().collect(groupingBy(Book::getCategory, summingDouble(Book::getPrice)))));
+    assertThat(
+        catalog.averagePriceByCategory(),
+        is(
+            books.stream()
+                .collect(groupingBy(Book::getCategory, averagingDouble(Book::getPrice)))));
+  }
+
+  @Test
+  public void nullNamesShouldRoundTrip() {
+    List<Book> books = List.of(book("a", 1), book(null, 2), book("", 3), book(null, 4));
+    ColumnarCatalog catalog = ColumnarCatalog.of(books);
+    assertThat(catalog.getName(0), is("a"));
+    assertNull(catalog.getName(1));
+    assertThat(catalog.getName(2), is(""));
+    assertNull(catalog.getBook(3).getName());
+
+    BookCursor cursor = catalog.cursor();
+    StringBuilder names = new StringBuilder();
+    while (cursor.next()) {
+      cursor.appendName(names);
+      names.append(',');
+    }
+    assertThat(names.toString(), is("a,null,,null,"));
+  }
+
+  private static Book book(String name, double price) {
+    return Book.builder()
+        .name(name)
+        .category(Category.JAVA)
+        .price(price)
+        .author("author")
+        .publisher("publisher")
+        .build();
+  }
+
+  private static void assertClose(Map<Category, Double> expected, Map<Category, Double> actual) {
+    assertThat(actual.keySet(), is(expected.keySet()));
+    expected.forEach((key, value) -> assertEquals(value, actual.get(key), TOLERANCE));
+  }
+}
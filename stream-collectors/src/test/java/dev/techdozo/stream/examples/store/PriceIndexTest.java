@@ -0,0 +1,105 @@
+package dev.techdozo.stream.examples.store;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.CatalogGenerator;
+import dev.techdozo.stream.examples.model.Category;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.*;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PriceIndexTest {
+
+  private static final int SIZE = 50_000;
+
+  private final List<Book> books = new CatalogGenerator().books(SIZE);
+  private final PriceIndex index = PriceIndex.of(books);
+
+  @Test
+  public void groupByCategoryShouldMatchFilterThenGroup() {
+    for (double threshold : new double[] {-1, 20, 51, 200, 1e9}) {
+      assertThat(
+          index.groupByCategoryGreaterThan(threshold, books::get, toList()),
+          is(
+              books.stream()
+                  .filter(b -> b.getPrice() > threshold)
+                  .collect(groupingBy(Book::getCategory))));
+      assertThat(
+          index.groupByCategoryGreaterThan(threshold, books::get, summingDouble(Book::getPrice)),
+          is(
+              books.stream()
+                  .filter(b -> b.getPrice() > threshold)
+                  .collect(groupingBy(Book::getCategory, summingDouble(Book::getPrice)))));
+    }
+  }
+
+  @Test
+  public void countsShouldMatchFilter() {
+    var catalog = ColumnarCatalog.of(books);
+    var catalogIndex = PriceIndex.of(catalog);
+    for (double threshold : new double[] {-1, 20, 51, 200, 1e9}) {
+      assertThat(
+          index.countByCategoryGreaterThan(threshold),
+          is(catalog.countByCategoryPriceGreaterThan(threshold)));
+      assertThat(
+          catalogIndex.countByCategoryGreaterThan(threshold),
+          is(catalog.countByCategoryPriceGreaterThan(threshold)));
+      assertThat(
+          index.countGreaterThan(threshold), is(catalog.countPriceGreaterThan(threshold)));
+    }
+  }
+
+  @Test
+  public void rowsShouldBeOrderedByPrice() {
+    int[] rows = index.rowsGreaterThan(Category.JAVA, 51).toArray();
+    int[] expected =
+        IntStream.range(0, SIZE)
+            .filter(row -> books.get(row).getCategory() == Category.JAVA)
+            .filter(row -> books.get(row).getPrice() > 51)
+            .boxed()
+            .sorted((a, b) -> Double.compare(books.get(a).getPrice(), books.get(b).getPrice()))
+            .mapToInt(Integer::intValue)
+            .toArray();
+    assertThat(rows, is(expected));
+  }
+
+  @Test
+  public void sortByPriceShouldBeStable() {
+    var random = new SplittableRandom(7);
+    double[] prices = new double[10_000];
+    for (int i = 0; i < prices.length; i++) {
+      prices[i] = random.nextInt(100) - 50 + (random.nextBoolean() ? 0.5 : 0);
+    }
+    prices[10] = Double.NaN;
+    prices[20] = -0.0;
+    prices[30] = Double.NEGATIVE_INFINITY;
+    Integer[] expected = IntStream.range(0, prices.length).boxed().toArray(Integer[]::new);
+    Arrays.sort(expected, (a, b) -> Double.compare(prices[a], prices[b]));
+    int[] sorted = PriceIndex.sortByPrice(prices, prices.length);
+    assertThat(IntStream.of(sorted).boxed().toArray(Integer[]::new), is(expected));
+  }
+
+  @Test
+  public void nanPricesShouldNeverMatch() {
+    var nanIndex = PriceIndex.of(List.of(book(Double.NaN), book(10), book(Double.NaN), book(20)));
+    assertThat(nanIndex.countGreaterThan(0), is(2L));
+    assertThat(nanIndex.countGreaterThan(Double.NaN), is(0L));
+    assertThat(nanIndex.rowsGreaterThan(Category.JAVA, 0).toArray(), is(new int[] {1, 3}));
+  }
+
+  private static Book book(double price) {
+    return Book.builder()
+        .name("Book")
+        .category(Category.JAVA)
+        .price(price)
+        .author("Author")
+        .publisher("Publisher")
+        .build();
+  }
+}
@@ -0,0 +1,631 @@
+package dev.techdozo.stream.examples.bitmap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Compressed bitmap of non negative ints, such as row numbers, in the layout of Roaring bitmaps.
+ * Values are split by their high 16 bits into chunks of 65536. A chunk of at most 4096 values
+ * stores their low 16 bits as a sorted {@code char[]}, and a denser chunk as a bitmap of 1024
+ * words, so a chunk never takes more than 8 KB, and a sparse one 2 bytes per value.
+ *
+ * <p>{@link #and}, {@link #or} and {@link #andNot} work chunk by chunk, skipping chunks missing on
+ * either side as needed: sorted arrays are merged, arrays are probed against bitmaps, and bitmaps
+ * are combined a word, 64 values, at a time. The cardinality of each chunk is known, so {@link
+ * #cardinality()} is a field, and {@link #andCardinality} and its derived counts don't build the
+ * bitmap they count.
+ *
+ * <p>Immutable, and safe to share between threads. Built from ascending values with a {@link
+ * Builder}, or combined from other bitmaps.
+ */
+public final class RoaringBitmap {
+
+  /** Largest number of values in an array chunk, where it takes as much memory as a bitmap. */
+  static final int ARRAY_MAX = 4096;
+
+  private static final int BITMAP_WORDS = 1024;
+  private static final RoaringBitmap EMPTY = new RoaringBitmap(new char[0], new Container[0], 0);
+
+  /** High 16 bits of each chunk, ascending. */
+  private final char[] keys;
+
+  private final Container[] containers;
+  private final long cardinality;
+
+  private RoaringBitmap(char[] keys, Container[] containers, long cardinality) {
+    this.keys = keys;
+    this.containers = containers;
+    this.cardinality = cardinality;
+  }
+
+  public static RoaringBitmap empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Bitmap of some values, in any order and possibly repeated.
+   *
+   * @param values non negative values
+   * @return bitmap of the distinct values
+   */
+  public static RoaringBitmap of(int... values) {
+    int[] sorted = values.clone();
+    Arrays.sort(sorted);
+    var builder = new Builder();
+    for (int i = 0; i < sorted.length; i++) {
+      if (i == 0 || sorted[i] != sorted[i - 1]) {
+        builder.add(sorted[i]);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Bitmap of all values from inclusive to exclusive, such as all the rows of a table.
+   *
+   * @param from first value, not negative
+   * @param to value after the last
+   * @return bitmap of the range
+   */
+  public static RoaringBitmap range(int from, int to) {
+    if (from < 0) {
+      throw new IllegalArgumentException("Negative value " + from);
+    }
+    if (from >= to) {
+      return EMPTY;
+    }
+    var builder = new Builder();
+    for (int high = from >>> 16; high <= (to - 1) >>> 16; high++) {
+      int start = Math.max(from, high << 16);
+      int end = (int) Math.min(to, (long) (high + 1) << 16);
+      if (end - start <= ARRAY_MAX) {
+        for (int value = start; value < end; value++) {
+          builder.add(value);
+        }
+      } else {
+        long[] words = new long[BITMAP_WORDS];
+        for (int low = start & 0xFFFF; low <= ((end - 1) & 0xFFFF); low++) {
+          words[low >>> 6] |= 1L << low;
+        }
+        builder.append((char) high, new BitmapContainer(words, end - start));
+      }
+    }
+    return builder.build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Number of values. */
+  public long cardinality() {
+    return cardinality;
+  }
+
+  public boolean isEmpty() {
+    return cardinality == 0;
+  }
+
+  public boolean contains(int value) {
+    if (value < 0) {
+      return false;
+    }
+    int chunk = Arrays.binarySearch(keys, (char) (value >>> 16));
+    return chunk >= 0 && containers[chunk].contains((char) value);
+  }
+
+  /** Values in both bitmaps. */
+  public RoaringBitmap and(RoaringBitmap other) {
+    var builder = new Builder();
+    int i = 0;
+    int j = 0;
+    while (i < keys.length && j < other.keys.length) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        builder.append(keys[i], containers[i++].and(other.containers[j++]));
+      }
+    }
+    return builder.build();
+  }
+
+  /** Values in either bitmap. */
+  public RoaringBitmap or(RoaringBitmap other) {
+    var builder = new Builder();
+    int i = 0;
+    int j = 0;
+    while (i < keys.length || j < other.keys.length) {
+      if (j == other.keys.length || i < keys.length && keys[i] < other.keys[j]) {
+        builder.append(keys[i], containers[i++]);
+      } else if (i == keys.length || keys[i] > other.keys[j]) {
+        builder.append(other.keys[j], other.containers[j++]);
+      } else {
+        builder.append(keys[i], containers[i++].or(other.containers[j++]));
+      }
+    }
+    return builder.build();
+  }
+
+  /** Values in this bitmap and not in the other. */
+  public RoaringBitmap andNot(RoaringBitmap other) {
+    var builder = new Builder();
+    int j = 0;
+    for (int i = 0; i < keys.length; i++) {
+      while (j < other.keys.length && other.keys[j] < keys[i]) {
+        j++;
+      }
+      if (j < other.keys.length && other.keys[j] == keys[i]) {
+        builder.append(keys[i], containers[i].andNot(other.containers[j]));
+      } else {
+        builder.append(keys[i], containers[i]);
+      }
+    }
+    return builder.build();
+  }
+
+  /** Number of values in both bitmaps, without building their intersection. */
+  public long andCardinality(RoaringBitmap other) {
+    long count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < keys.length && j < other.keys.length) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        count += containers[i++].andCardinality(other.containers[j++]);
+      }
+    }
+    return count;
+  }
+
+  /** Number of values in either bitmap, without building their union. */
+  public long orCardinality(RoaringBitmap other) {
+    return cardinality + other.cardinality - andCardinality(other);
+  }
+
+  /** Number of values in this bitmap and not in the other, without building the difference. */
+  public long andNotCardinality(RoaringBitmap other) {
+    return cardinality - andCardinality(other);
+  }
+
+  /** Calls an action with every value, in ascending order. */
+  public void forEach(IntConsumer action) {
+    for (int chunk = 0; chunk < keys.length; chunk++) {
+      containers[chunk].forEach(keys[chunk] << 16, action);
+    }
+  }
+
+  /** Values in ascending order, materialized one chunk at a time. */
+  public IntStream stream() {
+    return IntStream.range(0, keys.length)
+        .flatMap(chunk -> Arrays.stream(containers[chunk].toArray(keys[chunk] << 16)));
+  }
+
+  public int[] toArray() {
+    if (cardinality > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Bitmap of " + cardinality + " values exceeds an array");
+    }
+    int[] values = new int[(int) cardinality];
+    int[] next = new int[1];
+    forEach(value -> values[next[0]++] = value);
+    return values;
+  }
+
+  /** Number of array chunks and bitmap chunks, for tests. */
+  int[] containerCounts() {
+    int arrays = 0;
+    for (Container container : containers) {
+      arrays += container instanceof ArrayContainer ? 1 : 0;
+    }
+    return new int[] {arrays, containers.length - arrays};
+  }
+
+  @Override
+  public String toString() {
+    return "RoaringBitmap{cardinality=" + cardinality + ", chunks=" + keys.length + "}";
+  }
+
+  /** Chunk of values sharing their high 16 bits; combinations return null when empty. */
+  private abstract static class Container {
+
+    abstract int cardinality();
+
+    abstract boolean contains(char low);
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    abstract int andCardinality(Container other);
+
+    abstract void forEach(int high, IntConsumer action);
+
+    abstract int[] toArray(int high);
+  }
+
+  /** Sorted low bits of at most {@link #ARRAY_MAX} values. */
+  private static final class ArrayContainer extends Container {
+    private final char[] values;
+
+    ArrayContainer(char[] values) {
+      this.values = values;
+    }
+
+    @Override
+    int cardinality() {
+      return values.length;
+    }
+
+    @Override
+    boolean contains(char low) {
+      return Arrays.binarySearch(values, low) >= 0;
+    }
+
+    @Override
+    Container and(Container other) {
+      if (other instanceof BitmapContainer) {
+        return filter((BitmapContainer) other, true);
+      }
+      char[] others = ((ArrayContainer) other).values;
+      char[] result = new char[Math.min(values.length, others.length)];
+      int size = 0;
+      int i = 0;
+      int j = 0;
+      while (i < values.length && j < others.length) {
+        if (values[i] < others[j]) {
+          i++;
+        } else if (values[i] > others[j]) {
+          j++;
+        } else {
+          result[size++] = values[i++];
+          j++;
+        }
+      }
+      return array(result, size);
+    }
+
+    @Override
+    Container or(Container other) {
+      if (other instanceof BitmapContainer) {
+        return other.or(this);
+      }
+      char[] others = ((ArrayContainer) other).values;
+      char[] result = new char[values.length + others.length];
+      int size = 0;
+      int i = 0;
+      int j = 0;
+      while (i < values.length || j < others.length) {
+        if (j == others.length || i < values.length && values[i] < others[j]) {
+          result[size++] = values[i++];
+        } else if (i == values.length || values[i] > others[j]) {
+          result[size++] = others[j++];
+        } else {
+          result[size++] = values[i++];
+          j++;
+        }
+      }
+      if (size > ARRAY_MAX) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int k = 0; k < size; k++) {
+          words[result[k] >>> 6] |= 1L << result[k];
+        }
+        return new BitmapContainer(words, size);
+      }
+      return array(result, size);
+    }
+
+    @Override
+    Container andNot(Container other) {
+      if (other instanceof BitmapContainer) {
+        return filter((BitmapContainer) other, false);
+      }
+      char[] others = ((ArrayContainer) other).values;
+      char[] result = new char[values.length];
+      int size = 0;
+      int j = 0;
+      for (char value : values) {
+        while (j < others.length && others[j] < value) {
+          j++;
+        }
+        if (j == others.length || others[j] != value) {
+          result[size++] = value;
+        }
+      }
+      return array(result, size);
+    }
+
+    @Override
+    int andCardinality(Container other) {
+      if (other instanceof BitmapContainer) {
+        long[] words = ((BitmapContainer) other).words;
+        int count = 0;
+        for (char value : values) {
+          count += (int) (words[value >>> 6] >>> value) & 1;
+        }
+        return count;
+      }
+      char[] others = ((ArrayContainer) other).values;
+      int count = 0;
+      int i = 0;
+      int j = 0;
+      while (i < values.length && j < others.length) {
+        if (values[i] < others[j]) {
+          i++;
+        } else if (values[i] > others[j]) {
+          j++;
+        } else {
+          count++;
+          i++;
+          j++;
+        }
+      }
+      return count;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+      for (char value : values) {
+        action.accept(high | value);
+      }
+    }
+
+    @Override
+    int[] toArray(int high) {
+      int[] result = new int[values.length];
+      for (int i = 0; i < values.length; i++) {
+        result[i] = high | values[i];
+      }
+      return result;
+    }
+
+    /** Values that are, or are not, in a bitmap. */
+    private Container filter(BitmapContainer bitmap, boolean in) {
+      char[] result = new char[values.length];
+      int size = 0;
+      for (char value : values) {
+        if (((bitmap.words[value >>> 6] >>> value & 1) != 0) == in) {
+          result[size++] = value;
+        }
+      }
+      return array(result, size);
+    }
+
+    private static Container array(char[] values, int size) {
+      if (size == 0) {
+        return null;
+      }
+      return new ArrayContainer(size == values.length ? values : Arrays.copyOf(values, size));
+    }
+  }
+
+  /** Bit per low 16 bits, for more than {@link #ARRAY_MAX} values. */
+  private static final class BitmapContainer extends Container {
+    private final long[] words;
+    private final int cardinality;
+
+    BitmapContainer(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    boolean contains(char low) {
+      return (words[low >>> 6] >>> low & 1) != 0;
+    }
+
+    @Override
+    Container and(Container other) {
+      if (other instanceof ArrayContainer) {
+        return other.and(this);
+      }
+      long[] others = ((BitmapContainer) other).words;
+      long[] result = new long[BITMAP_WORDS];
+      int count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        result[i] = words[i] & others[i];
+        count += Long.bitCount(result[i]);
+      }
+      return bitmap(result, count);
+    }
+
+    @Override
+    Container or(Container other) {
+      long[] result = words.clone();
+      int count = cardinality;
+      if (other instanceof ArrayContainer) {
+        for (char value : ((ArrayContainer) other).values) {
+          long bit = 1L << value;
+          count += (result[value >>> 6] & bit) == 0 ? 1 : 0;
+          result[value >>> 6] |= bit;
+        }
+        return new BitmapContainer(result, count);
+      }
+      long[] others = ((BitmapContainer) other).words;
+      count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        result[i] |= others[i];
+        count += Long.bitCount(result[i]);
+      }
+      return new BitmapContainer(result, count);
+    }
+
+    @Override
+    Container andNot(Container other) {
+      long[] result = words.clone();
+      int count = cardinality;
+      if (other instanceof ArrayContainer) {
+        for (char value : ((ArrayContainer) other).values) {
+          long bit = 1L << value;
+          count -= (result[value >>> 6] & bit) != 0 ? 1 : 0;
+          result[value >>> 6] &= ~bit;
+        }
+        return bitmap(result, count);
+      }
+      long[] others = ((BitmapContainer) other).words;
+      count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        result[i] &= ~others[i];
+        count += Long.bitCount(result[i]);
+      }
+      return bitmap(result, count);
+    }
+
+    @Override
+    int andCardinality(Container other) {
+      if (other instanceof ArrayContainer) {
+        return other.andCardinality(this);
+      }
+      long[] others = ((BitmapContainer) other).words;
+      int count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        count += Long.bitCount(words[i] & others[i]);
+      }
+      return count;
+    }
+
+    @Override
+    void forEach(int high, IntConsumer action) {
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        for (long word = words[i]; word != 0; word &= word - 1) {
+          action.accept(high | i << 6 | Long.numberOfTrailingZeros(word));
+        }
+      }
+    }
+
+    @Override
+    int[] toArray(int high) {
+      int[] result = new int[cardinality];
+      int size = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        for (long word = words[i]; word != 0; word &= word - 1) {
+          result[size++] = high | i << 6 | Long.numberOfTrailingZeros(word);
+        }
+      }
+      return result;
+    }
+
+    /** Container of the bits, as an array once few enough are left. */
+    private static Container bitmap(long[] words, int count) {
+      if (count == 0) {
+        return null;
+      }
+      if (count > ARRAY_MAX) {
+        return new BitmapContainer(words, count);
+      }
+      char[] values = new char[count];
+      int size = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        for (long word = words[i]; word != 0; word &= word - 1) {
+          values[size++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+        }
+      }
+      return new ArrayContainer(values);
+    }
+  }
+
+  /** Appends values in strictly ascending order, chunk by chunk. */
+  public static class Builder {
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int chunks;
+    private long cardinality;
+    private int last = -1;
+    private int currentKey = -1;
+    /** Low bits of the current chunk while it is an array, grown up to {@link #ARRAY_MAX}. */
+    private char[] buffer = new char[16];
+    private long[] words;
+    private int count;
+
+    Builder() {}
+
+    /**
+     * Appends a value greater than all the values added so far.
+     *
+     * @param value non negative value
+     * @return this builder
+     */
+    public Builder add(int value) {
+      if (value <= last) {
+        throw new IllegalArgumentException(
+            value < 0
+                ? "Negative value " + value
+                : "Value " + value + " not greater than " + last);
+      }
+      int key = value >>> 16;
+      if (key != currentKey) {
+        // Flushing appends the chunk, which moves last to the chunk's end, so set it after
+        flush();
+        currentKey = key;
+      }
+      last = value;
+      char low = (char) value;
+      if (words != null) {
+        words[low >>> 6] |= 1L << low;
+      } else if (count < ARRAY_MAX) {
+        if (count == buffer.length) {
+          buffer = Arrays.copyOf(buffer, count * 2);
+        }
+        buffer[count] = low;
+      } else {
+        words = new long[BITMAP_WORDS];
+        for (int i = 0; i < count; i++) {
+          words[buffer[i] >>> 6] |= 1L << buffer[i];
+        }
+        words[low >>> 6] |= 1L << low;
+      }
+      count++;
+      return this;
+    }
+
+    public RoaringBitmap build() {
+      flush();
+      if (chunks == 0) {
+        return EMPTY;
+      }
+      return new RoaringBitmap(
+          Arrays.copyOf(keys, chunks), Arrays.copyOf(containers, chunks), cardinality);
+    }
+
+    /** Appends a whole chunk after the current one; a null container is skipped. */
+    void append(char key, Container container) {
+      flush();
+      if (container == null) {
+        return;
+      }
+      if (chunks == keys.length) {
+        keys = Arrays.copyOf(keys, chunks * 2);
+        containers = Arrays.copyOf(containers, chunks * 2);
+      }
+      keys[chunks] = key;
+      containers[chunks++] = container;
+      cardinality += container.cardinality();
+      last = key << 16 | 0xFFFF;
+      currentKey = key;
+    }
+
+    private void flush() {
+      if (count == 0) {
+        return;
+      }
+      Container container =
+          words != null
+              ? new BitmapContainer(words, count)
+              : new ArrayContainer(Arrays.copyOf(buffer, count));
+      words = null;
+      count = 0;
+      append((char) currentKey, container);
+    }
+  }
+}
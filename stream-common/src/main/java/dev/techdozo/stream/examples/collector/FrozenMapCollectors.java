@@ -0,0 +1,54 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.map.FrozenMap;
+
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Counterparts of {@code toUnmodifiableMap} that collect into a {@link FrozenMap}. Entries are
+ * appended to flat arrays as they arrive, with no intermediate map, and the perfect hash is built
+ * once by the finisher. Other collectors' results can be frozen with {@code
+ * collectingAndThen(collector, FrozenMap::copyOf)}.
+ */
+public class FrozenMapCollectors {
+
+  private FrozenMapCollectors() {}
+
+  /**
+   * Equivalent of {@code toUnmodifiableMap(keyMapper, valueMapper)}.
+   *
+   * @param keyMapper maps an element to its key, not null
+   * @param valueMapper maps an element to its value, not null
+   * @return FrozenMap containing key and value
+   * @throws IllegalStateException on a duplicate key
+   */
+  public static <T, K, U> Collector<T, ?, FrozenMap<K, U>> toFrozenMap(
+      Function<? super T, ? extends K> keyMapper, Function<? super T, ? extends U> valueMapper) {
+    return Collector.of(
+        FrozenMap::<K, U>builder,
+        (builder, element) -> builder.add(keyMapper.apply(element), valueMapper.apply(element)),
+        FrozenMap.Builder::addAll,
+        FrozenMap.Builder::build);
+  }
+
+  /**
+   * Equivalent of {@code toUnmodifiableMap(keyMapper, valueMapper, mergeFunction)}.
+   *
+   * @param keyMapper maps an element to its key, not null
+   * @param valueMapper maps an element to its value, not null
+   * @param mergeFunction combines the values of a duplicate key, earlier value first
+   * @return FrozenMap containing key and merged value
+   */
+  public static <T, K, U> Collector<T, ?, FrozenMap<K, U>> toFrozenMap(
+      Function<? super T, ? extends K> keyMapper,
+      Function<? super T, ? extends U> valueMapper,
+      BinaryOperator<U> mergeFunction) {
+    return Collector.of(
+        FrozenMap::<K, U>builder,
+        (builder, element) -> builder.add(keyMapper.apply(element), valueMapper.apply(element)),
+        FrozenMap.Builder::addAll,
+        builder -> builder.build(mergeFunction));
+  }
+}
@@ -0,0 +1,38 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.map.SortedArrayMap;
+
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Counterparts of {@code toMap(keyMapper, valueMapper, mergeFunction, TreeMap::new)} that collect
+ * into a {@link SortedArrayMap}. Entries are appended to flat arrays as they arrive, with no tree
+ * to rebalance on every insert, and are sorted once by the finisher.
+ */
+public class SortedArrayMapCollectors {
+
+  private SortedArrayMapCollectors() {}
+
+  /**
+   * Equivalent of {@code toMap(keyMapper, valueMapper, mergeFunction, TreeMap::new)}, ordered by
+   * the natural order of the keys.
+   *
+   * @param keyMapper maps an element to its key, not null
+   * @param valueMapper maps an element to its value, not null
+   * @param mergeFunction combines the values of a duplicate key, earlier value first
+   * @return SortedArrayMap containing key and merged value
+   */
+  public static <T, K extends Comparable<? super K>, U>
+      Collector<T, ?, SortedArrayMap<K, U>> toSortedArrayMap(
+          Function<? super T, ? extends K> keyMapper,
+          Function<? super T, ? extends U> valueMapper,
+          BinaryOperator<U> mergeFunction) {
+    return Collector.of(
+        SortedArrayMap::<K, U>builder,
+        (builder, element) -> builder.add(keyMapper.apply(element), valueMapper.apply(element)),
+        SortedArrayMap.Builder::addAll,
+        builder -> builder.build(mergeFunction));
+  }
+}
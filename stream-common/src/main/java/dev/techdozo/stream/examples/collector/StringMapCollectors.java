@@ -0,0 +1,153 @@
+package dev.techdozo.stream.examples.collector;
+
+import dev.techdozo.stream.examples.map.StringMap;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Counterparts of {@code toMap} and {@code groupingBy} for String keys that collect into a {@link
+ * StringMap}, with the same semantics as the JDK collectors: duplicate keys without a merge
+ * function fail, and a merge function combines values in encounter order. Partial maps of a
+ * parallel stream are merged entry by entry into the larger one.
+ */
+public class StringMapCollectors {
+
+  private StringMapCollectors() {}
+
+  /**
+   * Equivalent of {@code toMap(keyMapper, valueMapper)}.
+   *
+   * @param keyMapper maps an element to its key
+   * @param valueMapper maps an element to its value, not null
+   * @return StringMap containing key and value
+   * @throws IllegalStateException on a duplicate key
+   */
+  public static <T, U> Collector<T, ?, StringMap<U>> toStringMap(
+      Function<? super T, String> keyMapper, Function<? super T, ? extends U> valueMapper) {
+    return Collector.of(
+        StringMap::new,
+        (map, element) -> putUnique(map, keyMapper.apply(element), valueMapper.apply(element)),
+        (left, right) -> {
+          StringMap<U> larger = left.size() >= right.size() ? left : right;
+          StringMap<U> smaller = larger == left ? right : left;
+          smaller.forEach((key, value) -> putUnique(larger, key, value));
+          return larger;
+        },
+        Collector.Characteristics.IDENTITY_FINISH);
+  }
+
+  /**
+   * Equivalent of {@code toMap(keyMapper, valueMapper, mergeFunction)}.
+   *
+   * @param keyMapper maps an element to its key
+   * @param valueMapper maps an element to its value, not null
+   * @param mergeFunction combines the values of a duplicate key, earlier value first
+   * @return StringMap containing key and merged value
+   */
+  public static <T, U> Collector<T, ?, StringMap<U>> toStringMap(
+      Function<? super T, String> keyMapper,
+      Function<? super T, ? extends U> valueMapper,
+      BinaryOperator<U> mergeFunction) {
+    return toStringMap(keyMapper, valueMapper, mergeFunction, StringMap::new);
+  }
+
+  /**
+   * Equivalent of {@code toMap(keyMapper, valueMapper, mergeFunction, mapFactory)}, to presize
+   * the map.
+   *
+   * @param keyMapper maps an element to its key
+   * @param valueMapper maps an element to its value, not null
+   * @param mergeFunction combines the values of a duplicate key, earlier value first
+   * @param mapFactory supplies empty maps, such as {@code () -> new StringMap<>(expectedSize)}
+   * @return StringMap containing key and merged value
+   */
+  public static <T, U> Collector<T, ?, StringMap<U>> toStringMap(
+      Function<? super T, String> keyMapper,
+      Function<? super T, ? extends U> valueMapper,
+      BinaryOperator<U> mergeFunction,
+      Supplier<StringMap<U>> mapFactory) {
+    return Collector.of(
+        mapFactory,
+        (map, element) ->
+            map.merge(keyMapper.apply(element), valueMapper.apply(element), mergeFunction),
+        (left, right) -> combine(left, right, mergeFunction),
+        Collector.Characteristics.IDENTITY_FINISH);
+  }
+
+  /**
+   * Equivalent of {@code groupingBy(classifier)}.
+   *
+   * @param classifier maps an element to its key
+   * @return StringMap containing key and List of the elements with that key
+   */
+  public static <T> Collector<T, ?, StringMap<List<T>>> groupingByString(
+      Function<? super T, String> classifier) {
+    return groupingByString(classifier, Collectors.toList());
+  }
+
+  /**
+   * Equivalent of {@code groupingBy(classifier, downstream)}.
+   *
+   * @param classifier maps an element to its key
+   * @param downstream collects the elements of each key
+   * @return StringMap containing key and result of downstream
+   */
+  @SuppressWarnings("unchecked")
+  public static <T, A, D> Collector<T, ?, StringMap<D>> groupingByString(
+      Function<? super T, String> classifier, Collector<? super T, A, D> downstream) {
+    Supplier<A> supplier = downstream.supplier();
+    BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+    BinaryOperator<A> combiner = downstream.combiner();
+    Collector<T, StringMap<A>, StringMap<A>> grouping =
+        Collector.of(
+            StringMap::new,
+            (map, element) -> {
+              A container = map.computeIfAbsent(classifier.apply(element), key -> supplier.get());
+              accumulator.accept(container, element);
+            },
+            (left, right) -> combine(left, right, combiner),
+            Collector.Characteristics.IDENTITY_FINISH);
+    if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+      return (Collector<T, ?, StringMap<D>>) (Collector<T, ?, ?>) grouping;
+    }
+    Function<A, A> finisher = (Function<A, A>) downstream.finisher();
+    return Collectors.collectingAndThen(
+        grouping,
+        map -> {
+          map.replaceAll((key, value) -> finisher.apply(value));
+          return (StringMap<D>) (StringMap<?>) map;
+        });
+  }
+
+  private static <U> void putUnique(StringMap<U> map, String key, U value) {
+    U previous = map.putIfAbsent(key, Objects.requireNonNull(value));
+    if (previous != null) {
+      throw new IllegalStateException(
+          String.format(
+              "Duplicate key %s (attempted merging values %s and %s)", key, previous, value));
+    }
+  }
+
+  /**
+   * Merges the smaller of two partial maps into the larger, keeping the values of the left map
+   * first in the merge function.
+   */
+  private static <V> StringMap<V> combine(
+      StringMap<V> left, StringMap<V> right, BiFunction<V, V, V> mergeFunction) {
+    if (left.size() >= right.size()) {
+      right.forEach((key, value) -> left.merge(key, value, mergeFunction));
+      return left;
+    }
+    BiFunction<V, V, V> reversed = (later, earlier) -> mergeFunction.apply(earlier, later);
+    left.forEach((key, value) -> right.merge(key, value, reversed));
+    return right;
+  }
+}
@@ -0,0 +1,242 @@
+package dev.techdozo.stream.examples.collector;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Concurrent grouping and toMap collectors for large parallel streams.
+ *
+ * <p>{@code groupingBy} and {@code toMap} build one {@code HashMap} per split of a parallel stream
+ * and merge them pairwise, so every key is rehashed once per level of the split tree. {@code
+ * groupingByConcurrent} and {@code toConcurrentMap} avoid the merges but funnel every thread
+ * through one {@code ConcurrentHashMap}, contending on the bins of hot keys. The collectors here
+ * are {@link Collector.Characteristics#CONCURRENT} and instead accumulate into a fixed set of
+ * stripes, each a plain {@code HashMap} used by the threads hashed to it, and merge the stripes
+ * once when the stream finishes. Counting and summing keep a {@code long[]} or {@code double[]}
+ * cell per key in each stripe, so updates to a hot key are striped as well.
+ *
+ * <p>Stripes with many keys, as a {@code toMap} on unique keys leaves them, are merged in parallel
+ * into a presized {@code ConcurrentHashMap}, one task per stripe, so that combining the containers
+ * of a key is not serial; the result is then copied into a {@code HashMap}, finishing each
+ * container on the way. The result is a {@code HashMap} whatever the number of keys, so it allows
+ * null values from a downstream finisher, as {@code groupingBy} does. Results are unordered, as
+ * with {@code groupingByConcurrent}.
+ */
+public class StripedCollectors {
+
+  private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+  /** Total entries of the stripes from which they are merged in parallel. */
+  static final int PARALLEL_MERGE_THRESHOLD = 1 << 16;
+
+  private StripedCollectors() {}
+
+  /**
+   * Concurrent equivalent of {@code groupingBy(classifier, counting())}, counting into a {@code
+   * long[]} cell per key and stripe.
+   *
+   * @param classifier maps an element to its key
+   * @return Map containing key and number of elements with that key
+   */
+  public static <T, K> Collector<T, ?, Map<K, Long>> countingByStriped(
+      Function<? super T, ? extends K> classifier) {
+    return groupingByStriped(classifier, Collectors.counting());
+  }
+
+  /**
+   * Concurrent equivalent of {@code groupingBy(classifier, summingDouble(mapper))}, summing into
+   * the compensated {@code double[]} cells of {@code summingDouble}, one per key and stripe. As with
+   * a parallel {@code summingDouble}, the order of additions varies from run to run, and so may the
+   * last bits of a sum.
+   *
+   * @param classifier maps an element to its key
+   * @param mapper value to sum
+   * @return Map containing key and sum of values of elements with that key
+   */
+  public static <T, K> Collector<T, ?, Map<K, Double>> summingDoubleByStriped(
+      Function<? super T, ? extends K> classifier, ToDoubleFunction<? super T> mapper) {
+    return groupingByStriped(classifier, Collectors.summingDouble(mapper));
+  }
+
+  /**
+   * Concurrent equivalent of {@code groupingBy(classifier)}.
+   *
+   * @param classifier maps an element to its key
+   * @return Map containing key and List of elements with that key
+   */
+  public static <T, K> Collector<T, ?, Map<K, List<T>>> groupingByStriped(
+      Function<? super T, ? extends K> classifier) {
+    return groupingByStriped(classifier, Collectors.toList());
+  }
+
+  /**
+   * Concurrent equivalent of {@code groupingBy(classifier, downstream)}. The downstream collector
+   * need not be concurrent, each of its containers is only updated under its stripe's lock.
+   *
+   * @param classifier maps an element to its key
+   * @param downstream collector for the elements of each key
+   * @return Map containing key and result of the downstream collector for that key
+   */
+  public static <T, K, A, D> Collector<T, ?, Map<K, D>> groupingByStriped(
+      Function<? super T, ? extends K> classifier, Collector<? super T, A, D> downstream) {
+    Supplier<A> supplier = downstream.supplier();
+    BiConsumer<A, ? super T> accumulator = downstream.accumulator();
+    BinaryOperator<A> combiner = downstream.combiner();
+    Function<A, D> finisher =
+        downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)
+            ? null
+            : downstream.finisher();
+    return Collector.<T, Stripes<K, A>, Map<K, D>>of(
+        Stripes::new,
+        (stripes, element) -> {
+          K key = key(classifier, element);
+          Map<K, A> stripe = stripes.stripe();
+          synchronized (stripe) {
+            accumulator.accept(stripe.computeIfAbsent(key, k -> supplier.get()), element);
+          }
+        },
+        (left, right) -> left.mergeFrom(right, combiner),
+        stripes -> stripes.merge(combiner, finisher),
+        Collector.Characteristics.CONCURRENT,
+        Collector.Characteristics.UNORDERED);
+  }
+
+  /**
+   * Concurrent equivalent of {@code toMap(keyMapper, valueMapper)}.
+   *
+   * @param keyMapper maps an element to its key
+   * @param valueMapper maps an element to its value
+   * @return Map containing key and value of each element
+   * @throws IllegalStateException if two elements have the same key
+   */
+  public static <T, K, U> Collector<T, ?, Map<K, U>> toMapStriped(
+      Function<? super T, ? extends K> keyMapper, Function<? super T, ? extends U> valueMapper) {
+    return toMapStriped(
+        keyMapper,
+        valueMapper,
+        (u, v) -> {
+          throw new IllegalStateException(
+              String.format("Duplicate key (attempted merging values %s and %s)", u, v));
+        });
+  }
+
+  /**
+   * Concurrent equivalent of {@code toMap(keyMapper, valueMapper, mergeFunction)}. As the stream
+   * is unordered, the merge function may see the values of a key in any order.
+   *
+   * @param keyMapper maps an element to its key
+   * @param valueMapper maps an element to its value
+   * @param mergeFunction resolves values of the same key
+   * @return Map containing key and merged values of elements with that key
+   */
+  public static <T, K, U> Collector<T, ?, Map<K, U>> toMapStriped(
+      Function<? super T, ? extends K> keyMapper,
+      Function<? super T, ? extends U> valueMapper,
+      BinaryOperator<U> mergeFunction) {
+    return Collector.<T, Stripes<K, U>, Map<K, U>>of(
+        Stripes::new,
+        (stripes, element) -> {
+          K key = key(keyMapper, element);
+          U value = Objects.requireNonNull(valueMapper.apply(element));
+          Map<K, U> stripe = stripes.stripe();
+          synchronized (stripe) {
+            stripe.merge(key, value, mergeFunction);
+          }
+        },
+        (left, right) -> left.mergeFrom(right, mergeFunction),
+        stripes -> stripes.<U>merge(mergeFunction, null),
+        Collector.Characteristics.CONCURRENT,
+        Collector.Characteristics.UNORDERED);
+  }
+
+  private static <T, K> K key(Function<? super T, ? extends K> classifier, T element) {
+    return Objects.requireNonNull(
+        classifier.apply(element), "element cannot be mapped to a null key");
+  }
+
+  /** Next power of two of four stripes per processor, to keep threads from sharing a stripe. */
+  private static int stripes(int processors) {
+    return Integer.highestOneBit(Math.max(1, processors * 4 - 1)) << 1;
+  }
+
+  /** Partial maps, each guarded by its own monitor and picked by a hash of the current thread. */
+  private static class Stripes<K, V> {
+    private final Map<K, V>[] maps;
+
+    @SuppressWarnings("unchecked")
+    Stripes() {
+      maps = new Map[STRIPES];
+      for (int i = 0; i < STRIPES; i++) {
+        maps[i] = new HashMap<>();
+      }
+    }
+
+    Map<K, V> stripe() {
+      long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+      return maps[(int) (id >>> 32) & (maps.length - 1)];
+    }
+
+    Stripes<K, V> mergeFrom(Stripes<K, V> other, BinaryOperator<V> combiner) {
+      for (int i = 0; i < maps.length; i++) {
+        Map<K, V> stripe = maps[i];
+        other.maps[i].forEach((key, value) -> stripe.merge(key, value, combiner));
+      }
+      return this;
+    }
+
+    /**
+     * Merges the stripes once all accumulation is done: a single non empty stripe is the result,
+     * few entries are merged into the largest stripe, and many are merged in parallel, one task per
+     * stripe, into a ConcurrentHashMap presized for their total, then copied into a HashMap.
+     *
+     * @param combiner combines the values of a key found in several stripes
+     * @param finisher applied to each merged value, or null to keep the values as they are
+     * @return HashMap of the merged, finished values
+     */
+    @SuppressWarnings("unchecked")
+    <R> Map<K, R> merge(BinaryOperator<V> combiner, Function<V, R> finisher) {
+      List<Map<K, V>> nonEmpty = new ArrayList<>(maps.length);
+      long total = 0;
+      Map<K, V> largest = maps[0];
+      for (Map<K, V> stripe : maps) {
+        if (!stripe.isEmpty()) {
+          nonEmpty.add(stripe);
+          total += stripe.size();
+        }
+        if (stripe.size() > largest.size()) {
+          largest = stripe;
+        }
+      }
+      if (nonEmpty.size() <= 1 || total < PARALLEL_MERGE_THRESHOLD) {
+        for (Map<K, V> stripe : nonEmpty) {
+          if (stripe != largest) {
+            Map<K, V> target = largest;
+            stripe.forEach((key, value) -> target.merge(key, value, combiner));
+          }
+        }
+        if (finisher != null) {
+          ((Map<K, Object>) largest).replaceAll((key, value) -> finisher.apply((V) value));
+        }
+        return (Map<K, R>) largest;
+      }
+      Map<K, V> merged = new ConcurrentHashMap<>((int) Math.min(total, 1 << 30));
+      nonEmpty
+          .parallelStream()
+          .forEach(stripe -> stripe.forEach((key, value) -> merged.merge(key, value, combiner)));
+      Map<K, R> result = new HashMap<>((int) Math.min(merged.size() / 0.75 + 1, 1 << 30));
+      merged.forEach(
+          (key, value) -> result.put(key, finisher == null ? (R) value : finisher.apply(value)));
+      return result;
+    }
+  }
+}
@@ -0,0 +1,429 @@
+package dev.techdozo.stream.examples.map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+
+/**
+ * Immutable map indexed by a minimal perfect hash of its keys' hash codes, built once from all the
+ * entries. Every distinct hash code owns exactly one slot, so the table has no empty slots and no
+ * probing: a lookup mixes the hash code into a bucket, reads the bucket's displacement, computes
+ * the slot and compares one key. An entry costs a key and a value reference plus about two bytes
+ * of displacement, under half the memory of a {@link java.util.HashMap}.
+ *
+ * <p>The perfect hash is built with hash and displace: keys are spread over about n / 2 buckets,
+ * and buckets, largest first, search for a displacement seed that sends all their keys to free
+ * slots. Buckets of one key take the next free slot directly. Keys sharing a hash code, which no
+ * seed can separate, share a slot and are told apart by equals.
+ *
+ * <p>All fields are final and never modified, so a map can be shared between threads without
+ * synchronization. Null keys and values are not allowed. Iteration order is the slot order.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public final class FrozenMap<K, V> extends AbstractMap<K, V> {
+
+  private static final int KEYS_PER_BUCKET = 2;
+  private static final int GOLDEN = 0x9E3779B9;
+  private static final FrozenMap<?, ?> EMPTY =
+      new FrozenMap<>(new int[1], null, new Object[0], new Object[0]);
+
+  /** Seed per bucket, or {@code -slot - 1} for a bucket placed directly. */
+  private final int[] displacements;
+  /** Start of each slot's keys, only when hash codes are shared; otherwise slot i holds key i. */
+  private final int[] offsets;
+
+  private final Object[] keys;
+  private final Object[] values;
+
+  private FrozenMap(int[] displacements, int[] offsets, Object[] keys, Object[] values) {
+    this.displacements = displacements;
+    this.offsets = offsets;
+    this.keys = keys;
+    this.values = values;
+  }
+
+  /**
+   * Immutable copy of a map.
+   *
+   * @param map entries to copy
+   * @return FrozenMap with the same entries
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> FrozenMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+    if (map instanceof FrozenMap) {
+      return (FrozenMap<K, V>) map;
+    }
+    Builder<K, V> builder = new Builder<>(map.size());
+    map.forEach(builder::add);
+    return builder.build();
+  }
+
+  public static <K, V> Builder<K, V> builder() {
+    return new Builder<>(16);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> FrozenMap<K, V> of(
+      Object[] keys, Object[] values, int size, BinaryOperator<V> mergeFunction) {
+    if (size == 0) {
+      return (FrozenMap<K, V>) EMPTY;
+    }
+    // Sort entries by hash code, then by encounter order so merges see values in order
+    long[] order = new long[size];
+    for (int i = 0; i < size; i++) {
+      Objects.requireNonNull(values[i]);
+      order[i] = (long) keys[i].hashCode() << 32 | i;
+    }
+    Arrays.sort(order);
+
+    // One group per distinct hash code, with duplicate keys merged
+    int[] hashes = new int[size];
+    int[] groupStarts = new int[size + 1];
+    Object[] sortedKeys = new Object[size];
+    Object[] sortedValues = new Object[size];
+    int groups = 0;
+    int entries = 0;
+    for (long hashAndIndex : order) {
+      int hash = (int) (hashAndIndex >> 32);
+      int index = (int) hashAndIndex;
+      if (groups == 0 || hashes[groups - 1] != hash) {
+        hashes[groups] = hash;
+        groupStarts[groups++] = entries;
+      }
+      int existing = indexOf(sortedKeys, groupStarts[groups - 1], entries, keys[index]);
+      if (existing < 0) {
+        sortedKeys[entries] = keys[index];
+        sortedValues[entries++] = values[index];
+      } else if (mergeFunction == null) {
+        throw new IllegalStateException(
+            String.format(
+                "Duplicate key %s (attempted merging values %s and %s)",
+                keys[index], sortedValues[existing], values[index]));
+      } else {
+        sortedValues[existing] =
+            Objects.requireNonNull(
+                mergeFunction.apply((V) sortedValues[existing], (V) values[index]));
+      }
+    }
+    groupStarts[groups] = entries;
+
+    int[] displacements = new int[(groups + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET];
+    int[] slots = place(hashes, groups, displacements);
+
+    boolean shared = entries > groups;
+    int[] offsets = shared ? new int[groups + 1] : null;
+    Object[] slotKeys = new Object[entries];
+    Object[] slotValues = new Object[entries];
+    if (shared) {
+      // Lay out groups in slot order, so each slot's keys are contiguous
+      int[] groupOfSlot = new int[groups];
+      for (int group = 0; group < groups; group++) {
+        groupOfSlot[slots[group]] = group;
+      }
+      int next = 0;
+      for (int slot = 0; slot < groups; slot++) {
+        offsets[slot] = next;
+        int group = groupOfSlot[slot];
+        for (int i = groupStarts[group]; i < groupStarts[group + 1]; i++) {
+          slotKeys[next] = sortedKeys[i];
+          slotValues[next++] = sortedValues[i];
+        }
+      }
+      offsets[groups] = next;
+    } else {
+      for (int group = 0; group < groups; group++) {
+        slotKeys[slots[group]] = sortedKeys[group];
+        slotValues[slots[group]] = sortedValues[group];
+      }
+    }
+    return new FrozenMap<>(displacements, offsets, slotKeys, slotValues);
+  }
+
+  @Override
+  public int size() {
+    return keys.length;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public V get(Object key) {
+    return getOrDefault(key, null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V getOrDefault(Object key, V defaultValue) {
+    int index = indexOf(key);
+    return index >= 0 ? (V) values[index] : defaultValue;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    for (int i = 0; i < keys.length; i++) {
+      action.accept((K) keys[i], (V) values[i]);
+    }
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return new EntrySet();
+  }
+
+  /** Index of a key in the key and value arrays, or -1. */
+  private int indexOf(Object key) {
+    if (key == null || keys.length == 0) {
+      return -1;
+    }
+    int hash = key.hashCode();
+    int displacement = displacements[bucket(hash, displacements.length)];
+    int slot =
+        displacement < 0
+            ? -displacement - 1
+            : slot(hash, displacement, offsets == null ? keys.length : offsets.length - 1);
+    if (offsets == null) {
+      return key.equals(keys[slot]) ? slot : -1;
+    }
+    return indexOf(keys, offsets[slot], offsets[slot + 1], key);
+  }
+
+  private static int indexOf(Object[] keys, int from, int to, Object key) {
+    for (int i = from; i < to; i++) {
+      if (key.equals(keys[i])) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Finds a displacement for every bucket so the hashes land in distinct slots.
+   *
+   * @param hashes distinct hash codes
+   * @param count number of hash codes, and of slots
+   * @param displacements displacement per bucket, filled in
+   * @return slot of each hash code
+   */
+  private static int[] place(int[] hashes, int count, int[] displacements) {
+    int buckets = displacements.length;
+    // Hash codes by bucket, with buckets ordered largest first
+    int[] bucketSizes = new int[buckets];
+    int[] bucketOf = new int[count];
+    for (int i = 0; i < count; i++) {
+      bucketOf[i] = bucket(hashes[i], buckets);
+      bucketSizes[bucketOf[i]]++;
+    }
+    int[] bucketStarts = new int[buckets + 1];
+    for (int bucket = 0; bucket < buckets; bucket++) {
+      bucketStarts[bucket + 1] = bucketStarts[bucket] + bucketSizes[bucket];
+    }
+    int[] members = new int[count];
+    int[] fill = Arrays.copyOf(bucketStarts, buckets);
+    for (int i = 0; i < count; i++) {
+      members[fill[bucketOf[i]]++] = i;
+    }
+    int maxSize = 0;
+    for (int size : bucketSizes) {
+      maxSize = Math.max(maxSize, size);
+    }
+    int[] bySize = new int[maxSize + 2];
+    for (int size : bucketSizes) {
+      bySize[maxSize - size + 1]++;
+    }
+    for (int i = 1; i < bySize.length; i++) {
+      bySize[i] += bySize[i - 1];
+    }
+    int[] order = new int[buckets];
+    for (int bucket = 0; bucket < buckets; bucket++) {
+      order[bySize[maxSize - bucketSizes[bucket]]++] = bucket;
+    }
+
+    int[] slots = new int[count];
+    boolean[] taken = new boolean[count];
+    int[] candidate = new int[maxSize];
+    int nextFree = 0;
+    for (int bucket : order) {
+      int start = bucketStarts[bucket];
+      int size = bucketSizes[bucket];
+      if (size == 0) {
+        continue;
+      }
+      if (size == 1) {
+        while (taken[nextFree]) {
+          nextFree++;
+        }
+        taken[nextFree] = true;
+        slots[members[start]] = nextFree;
+        displacements[bucket] = -nextFree - 1;
+        continue;
+      }
+      for (int seed = 0; ; seed++) {
+        if (seed == Integer.MAX_VALUE) {
+          throw new IllegalStateException("No displacement for bucket of " + size + " keys");
+        }
+        if (fits(hashes, members, start, size, seed, count, taken, candidate)) {
+          for (int i = 0; i < size; i++) {
+            taken[candidate[i]] = true;
+            slots[members[start + i]] = candidate[i];
+          }
+          displacements[bucket] = seed;
+          break;
+        }
+      }
+    }
+    return slots;
+  }
+
+  /** Whether a seed sends the members of a bucket to free, distinct slots, kept in candidate. */
+  private static boolean fits(
+      int[] hashes,
+      int[] members,
+      int start,
+      int size,
+      int seed,
+      int count,
+      boolean[] taken,
+      int[] candidate) {
+    for (int i = 0; i < size; i++) {
+      int slot = slot(hashes[members[start + i]], seed, count);
+      if (taken[slot]) {
+        return false;
+      }
+      for (int j = 0; j < i; j++) {
+        if (candidate[j] == slot) {
+          return false;
+        }
+      }
+      candidate[i] = slot;
+    }
+    return true;
+  }
+
+  private static int bucket(int hash, int buckets) {
+    return reduce(mix(hash), buckets);
+  }
+
+  private static int slot(int hash, int seed, int slots) {
+    return reduce(mix(hash ^ (seed + 1) * GOLDEN), slots);
+  }
+
+  /** Maps a uniformly distributed int to [0, n) with a multiply instead of a division. */
+  private static int reduce(int hash, int n) {
+    return (int) (((hash & 0xFFFFFFFFL) * n) >>> 32);
+  }
+
+  /** MurmurHash3 finalizer. */
+  private static int mix(int h) {
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    return h ^ (h >>> 16);
+  }
+
+  /** Collects entries in encounter order; the perfect hash is only built by {@link #build()}. */
+  public static class Builder<K, V> {
+    private Object[] keys;
+    private Object[] values;
+    private int size;
+
+    Builder(int capacity) {
+      keys = new Object[Math.max(1, capacity)];
+      values = new Object[keys.length];
+    }
+
+    public Builder<K, V> add(K key, V value) {
+      if (size == keys.length) {
+        grow(size + 1);
+      }
+      keys[size] = Objects.requireNonNull(key);
+      values[size++] = Objects.requireNonNull(value);
+      return this;
+    }
+
+    /**
+     * Appends the entries of another builder after the entries of this one.
+     *
+     * @param other builder with later entries
+     * @return this builder
+     */
+    public Builder<K, V> addAll(Builder<K, V> other) {
+      if (size + other.size > keys.length) {
+        grow(size + other.size);
+      }
+      System.arraycopy(other.keys, 0, keys, size, other.size);
+      System.arraycopy(other.values, 0, values, size, other.size);
+      size += other.size;
+      return this;
+    }
+
+    /**
+     * Builds the map.
+     *
+     * @return FrozenMap of the entries
+     * @throws IllegalStateException on a duplicate key
+     */
+    public FrozenMap<K, V> build() {
+      return of(keys, values, size, null);
+    }
+
+    /**
+     * Builds the map, merging the values of duplicate keys.
+     *
+     * @param mergeFunction combines the values of a duplicate key, earlier value first
+     * @return FrozenMap of the entries
+     */
+    public FrozenMap<K, V> build(BinaryOperator<V> mergeFunction) {
+      return of(keys, values, size, Objects.requireNonNull(mergeFunction));
+    }
+
+    private void grow(int minCapacity) {
+      int capacity = Math.max(minCapacity, keys.length * 2);
+      keys = Arrays.copyOf(keys, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+  }
+
+  private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+    @Override
+    public int size() {
+      return keys.length;
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+      return new Iterator<>() {
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+          return next < keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          int i = next++;
+          return new SimpleImmutableEntry<>((K) keys[i], (V) values[i]);
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,299 @@
+package dev.techdozo.stream.examples.map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+
+/**
+ * Immutable sorted map kept as two parallel arrays, keys in ascending order and their values,
+ * built once from all the entries. A lookup is a binary search over contiguous keys, and {@link
+ * #subMap}, {@link #headMap} and {@link #tailMap} are views over a range of the arrays, found by
+ * two binary searches, so the String keys starting with a prefix are {@code subMap(prefix, prefix
+ * + Character.MAX_VALUE)}. An entry costs a key and a value reference, where a {@link
+ * java.util.TreeMap} node takes about 40 bytes.
+ *
+ * <p>All fields are final and never modified, so a map can be shared between threads without
+ * synchronization. Null keys and values are not allowed. Iteration order is the key order.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public final class SortedArrayMap<K, V> extends AbstractMap<K, V> implements SortedMap<K, V> {
+
+  private final Comparator<? super K> comparator;
+  private final Object[] keys;
+  private final Object[] values;
+  /** Range of the arrays seen by this map, from inclusive to exclusive. */
+  private final int from;
+  private final int to;
+
+  private SortedArrayMap(
+      Comparator<? super K> comparator, Object[] keys, Object[] values, int from, int to) {
+    this.comparator = comparator;
+    this.keys = keys;
+    this.values = values;
+    this.from = from;
+    this.to = to;
+  }
+
+  /** Builder of a map ordered by the natural order of its keys. */
+  public static <K extends Comparable<? super K>, V> Builder<K, V> builder() {
+    return new Builder<>(Comparator.naturalOrder());
+  }
+
+  /** Builder of a map ordered by a comparator. */
+  public static <K, V> Builder<K, V> builder(Comparator<? super K> comparator) {
+    return new Builder<>(Objects.requireNonNull(comparator));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> SortedArrayMap<K, V> of(
+      Comparator<? super K> comparator,
+      Object[] keys,
+      Object[] values,
+      int size,
+      BinaryOperator<V> mergeFunction) {
+    // Stable sort of the entries by key, so merges see values in encounter order
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> comparator.compare((K) keys[a], (K) keys[b]));
+
+    Object[] sortedKeys = new Object[size];
+    Object[] sortedValues = new Object[size];
+    int entries = 0;
+    for (int index : order) {
+      if (entries == 0 || comparator.compare((K) sortedKeys[entries - 1], (K) keys[index]) != 0) {
+        sortedKeys[entries] = keys[index];
+        sortedValues[entries++] = values[index];
+      } else if (mergeFunction == null) {
+        throw new IllegalStateException(
+            String.format(
+                "Duplicate key %s (attempted merging values %s and %s)",
+                keys[index], sortedValues[entries - 1], values[index]));
+      } else {
+        sortedValues[entries - 1] =
+            Objects.requireNonNull(
+                mergeFunction.apply((V) sortedValues[entries - 1], (V) values[index]));
+      }
+    }
+    return new SortedArrayMap<>(
+        comparator,
+        Arrays.copyOf(sortedKeys, entries),
+        Arrays.copyOf(sortedValues, entries),
+        0,
+        entries);
+  }
+
+  @Override
+  public int size() {
+    return to - from;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return indexOf(key) >= 0;
+  }
+
+  @Override
+  public V get(Object key) {
+    return getOrDefault(key, null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V getOrDefault(Object key, V defaultValue) {
+    int index = indexOf(key);
+    return index >= 0 ? (V) values[index] : defaultValue;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    for (int i = from; i < to; i++) {
+      action.accept((K) keys[i], (V) values[i]);
+    }
+  }
+
+  @Override
+  public Comparator<? super K> comparator() {
+    return comparator;
+  }
+
+  @Override
+  public SortedArrayMap<K, V> subMap(K fromKey, K toKey) {
+    if (comparator.compare(fromKey, toKey) > 0) {
+      throw new IllegalArgumentException("fromKey > toKey");
+    }
+    int start = lowerBound(fromKey);
+    return range(start, Math.max(start, lowerBound(toKey)));
+  }
+
+  @Override
+  public SortedArrayMap<K, V> headMap(K toKey) {
+    return range(from, lowerBound(toKey));
+  }
+
+  @Override
+  public SortedArrayMap<K, V> tailMap(K fromKey) {
+    return range(lowerBound(fromKey), to);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public K firstKey() {
+    if (from == to) {
+      throw new NoSuchElementException();
+    }
+    return (K) keys[from];
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public K lastKey() {
+    if (from == to) {
+      throw new NoSuchElementException();
+    }
+    return (K) keys[to - 1];
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    return new EntrySet();
+  }
+
+  private SortedArrayMap<K, V> range(int start, int end) {
+    return start == from && end == to
+        ? this
+        : new SortedArrayMap<>(comparator, keys, values, start, end);
+  }
+
+  /** Index of a key in the key and value arrays, or -1. */
+  @SuppressWarnings("unchecked")
+  private int indexOf(Object key) {
+    if (key == null) {
+      return -1;
+    }
+    int index = lowerBound((K) key);
+    return index < to && comparator.compare((K) keys[index], (K) key) == 0 ? index : -1;
+  }
+
+  /** First index of the range whose key is not less than a key, or the end of the range. */
+  @SuppressWarnings("unchecked")
+  private int lowerBound(K key) {
+    Objects.requireNonNull(key);
+    int low = from;
+    int high = to;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (comparator.compare((K) keys[middle], key) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /** Collects entries in encounter order; they are only sorted by {@link #build()}. */
+  public static class Builder<K, V> {
+    private final Comparator<? super K> comparator;
+    private Object[] keys = new Object[16];
+    private Object[] values = new Object[16];
+    private int size;
+
+    Builder(Comparator<? super K> comparator) {
+      this.comparator = comparator;
+    }
+
+    public Builder<K, V> add(K key, V value) {
+      if (size == keys.length) {
+        grow(size + 1);
+      }
+      keys[size] = Objects.requireNonNull(key);
+      values[size++] = Objects.requireNonNull(value);
+      return this;
+    }
+
+    /**
+     * Appends the entries of another builder after the entries of this one.
+     *
+     * @param other builder with later entries
+     * @return this builder
+     */
+    public Builder<K, V> addAll(Builder<K, V> other) {
+      if (size + other.size > keys.length) {
+        grow(size + other.size);
+      }
+      System.arraycopy(other.keys, 0, keys, size, other.size);
+      System.arraycopy(other.values, 0, values, size, other.size);
+      size += other.size;
+      return this;
+    }
+
+    /**
+     * Builds the map.
+     *
+     * @return SortedArrayMap of the entries
+     * @throws IllegalStateException on a duplicate key
+     */
+    public SortedArrayMap<K, V> build() {
+      return of(comparator, keys, values, size, null);
+    }
+
+    /**
+     * Builds the map, merging the values of duplicate keys.
+     *
+     * @param mergeFunction combines the values of a duplicate key, earlier value first
+     * @return SortedArrayMap of the entries
+     */
+    public SortedArrayMap<K, V> build(BinaryOperator<V> mergeFunction) {
+      return of(comparator, keys, values, size, Objects.requireNonNull(mergeFunction));
+    }
+
+    private void grow(int minCapacity) {
+      int capacity = Math.max(minCapacity, keys.length * 2);
+      keys = Arrays.copyOf(keys, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+  }
+
+  private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+      return new Iterator<>() {
+        private int next = from;
+
+        @Override
+        public boolean hasNext() {
+          return next < to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          int i = next++;
+          return new SimpleImmutableEntry<>((K) keys[i], (V) values[i]);
+        }
+      };
+    }
+  }
+}
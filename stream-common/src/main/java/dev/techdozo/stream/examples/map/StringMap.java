@@ -0,0 +1,421 @@
+package dev.techdozo.stream.examples.map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Open addressing hash map with String keys. Keys, their hash codes and values are kept in three
+ * parallel arrays, and collisions probe the next slot, so there is no node object per entry: an
+ * entry costs a key reference, an int and a value reference, about 16 to 32 bytes depending on how
+ * full the table is, against about 40 for a {@link java.util.HashMap} node and its table slot. A
+ * lookup compares the cached hash before the key, so only a real match dereferences the String.
+ *
+ * <p>Removal shifts the following entries of the probe sequence back instead of leaving
+ * tombstones, so the table never degrades; as that can move entries an iterator has not visited
+ * yet, the views don't support removal. Null keys are not supported; null values are. Like
+ * {@link java.util.HashMap}, not thread safe, and iteration order is unspecified.
+ *
+ * @param <V> type of the values
+ */
+public class StringMap<V> extends AbstractMap<String, V> {
+
+  private static final int MIN_CAPACITY = 16;
+  private static final int MAX_CAPACITY = 1 << 30;
+  private static final float LOAD_FACTOR = 0.75f;
+
+  private String[] keys;
+  private int[] hashes;
+  private Object[] values;
+  private int size;
+  private int shift;
+  private int threshold;
+  private int modCount;
+  private Set<Entry<String, V>> entrySet;
+
+  public StringMap() {
+    this(0);
+  }
+
+  /**
+   * Map sized to hold a number of entries without resizing.
+   *
+   * @param expectedSize number of entries expected
+   */
+  public StringMap(int expectedSize) {
+    if (expectedSize < 0) {
+      throw new IllegalArgumentException("Negative size " + expectedSize);
+    }
+    allocate(capacityFor(expectedSize));
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String && find((String) key, hash((String) key)) >= 0;
+  }
+
+  @Override
+  public V get(Object key) {
+    return getOrDefault(key, null);
+  }
+
+  @Override
+  public V getOrDefault(Object key, V defaultValue) {
+    if (!(key instanceof String)) {
+      return defaultValue;
+    }
+    int slot = find((String) key, hash((String) key));
+    return slot >= 0 ? value(slot) : defaultValue;
+  }
+
+  @Override
+  public V put(String key, V value) {
+    int hash = hash(key);
+    int slot = find(key, hash);
+    if (slot >= 0) {
+      V previous = value(slot);
+      values[slot] = value;
+      return previous;
+    }
+    insert(-slot - 1, key, hash, value);
+    return null;
+  }
+
+  @Override
+  public V putIfAbsent(String key, V value) {
+    int hash = hash(key);
+    int slot = find(key, hash);
+    if (slot < 0) {
+      insert(-slot - 1, key, hash, value);
+      return null;
+    }
+    V previous = value(slot);
+    if (previous == null) {
+      values[slot] = value;
+    }
+    return previous;
+  }
+
+  @Override
+  public V computeIfAbsent(String key, Function<? super String, ? extends V> mappingFunction) {
+    int hash = hash(key);
+    int slot = find(key, hash);
+    if (slot >= 0 && values[slot] != null) {
+      return value(slot);
+    }
+    int count = modCount;
+    V value = mappingFunction.apply(key);
+    if (count != modCount) {
+      throw new ConcurrentModificationException();
+    }
+    if (value != null) {
+      if (slot >= 0) {
+        values[slot] = value;
+      } else {
+        insert(-slot - 1, key, hash, value);
+      }
+    }
+    return value;
+  }
+
+  @Override
+  public V merge(
+      String key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+    Objects.requireNonNull(value);
+    int hash = hash(key);
+    int slot = find(key, hash);
+    if (slot < 0) {
+      insert(-slot - 1, key, hash, value);
+      return value;
+    }
+    V previous = value(slot);
+    if (previous == null) {
+      values[slot] = value;
+      return value;
+    }
+    int count = modCount;
+    V merged = remappingFunction.apply(previous, value);
+    if (count != modCount) {
+      throw new ConcurrentModificationException();
+    }
+    if (merged == null) {
+      removeSlot(slot);
+    } else {
+      values[slot] = merged;
+    }
+    return merged;
+  }
+
+  @Override
+  public V remove(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    int slot = find((String) key, hash((String) key));
+    if (slot < 0) {
+      return null;
+    }
+    V previous = value(slot);
+    removeSlot(slot);
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, null);
+      Arrays.fill(values, null);
+      size = 0;
+      modCount++;
+    }
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super V> action) {
+    int count = modCount;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != null) {
+        action.accept(keys[slot], value(slot));
+      }
+    }
+    if (count != modCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super String, ? super V, ? extends V> function) {
+    int count = modCount;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != null) {
+        values[slot] = function.apply(keys[slot], value(slot));
+      }
+    }
+    if (count != modCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  /** Number of slots in the table, for sizing and tests. */
+  int capacity() {
+    return keys.length;
+  }
+
+  /**
+   * Slot of a key, or {@code -(insertion slot) - 1} if absent. Probes linearly from the home slot
+   * until the key or an empty slot is found; the table is never full.
+   */
+  private int find(String key, int hash) {
+    int mask = keys.length - 1;
+    for (int slot = hash >>> shift; ; slot = (slot + 1) & mask) {
+      String candidate = keys[slot];
+      if (candidate == null) {
+        return -slot - 1;
+      }
+      if (hashes[slot] == hash && (candidate == key || candidate.equals(key))) {
+        return slot;
+      }
+    }
+  }
+
+  private void insert(int slot, String key, int hash, V value) {
+    if (size >= threshold) {
+      resize(keys.length * 2);
+      slot = -find(key, hash) - 1;
+    }
+    keys[slot] = key;
+    hashes[slot] = hash;
+    values[slot] = value;
+    size++;
+    modCount++;
+  }
+
+  /** Empties a slot, moving back later entries of its probe sequence that would become lost. */
+  private void removeSlot(int slot) {
+    int mask = keys.length - 1;
+    int gap = slot;
+    for (int next = (gap + 1) & mask; keys[next] != null; next = (next + 1) & mask) {
+      int home = hashes[next] >>> shift;
+      // Move the entry into the gap unless its home slot lies cyclically in (gap, next]
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        keys[gap] = keys[next];
+        hashes[gap] = hashes[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+    }
+    keys[gap] = null;
+    values[gap] = null;
+    size--;
+    modCount++;
+  }
+
+  private void resize(int capacity) {
+    if (capacity > MAX_CAPACITY) {
+      throw new IllegalStateException("StringMap can not hold more than " + threshold + " keys");
+    }
+    String[] oldKeys = keys;
+    int[] oldHashes = hashes;
+    Object[] oldValues = values;
+    allocate(capacity);
+    int mask = capacity - 1;
+    for (int old = 0; old < oldKeys.length; old++) {
+      if (oldKeys[old] != null) {
+        int slot = oldHashes[old] >>> shift;
+        while (keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[old];
+        hashes[slot] = oldHashes[old];
+        values[slot] = oldValues[old];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new String[capacity];
+    hashes = new int[capacity];
+    values = new Object[capacity];
+    shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    threshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  @SuppressWarnings("unchecked")
+  private V value(int slot) {
+    return (V) values[slot];
+  }
+
+  private static int capacityFor(int expectedSize) {
+    long needed = (long) Math.ceil(expectedSize / (double) LOAD_FACTOR) + 1;
+    if (needed > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Expected size " + expectedSize + " is too large");
+    }
+    return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+  }
+
+  /**
+   * String hash code multiplied by the golden ratio. Slots are taken from the high bits of the
+   * product, which depend on all bits of the hash code, so keys with similar hash codes such as
+   * "Book 1" and "Book 2" land in distant slots.
+   */
+  private static int hash(String key) {
+    return key.hashCode() * 0x9E3779B9;
+  }
+
+  private class EntrySet extends AbstractSet<Entry<String, V>> {
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void clear() {
+      StringMap.this.clear();
+    }
+
+    @Override
+    public Iterator<Entry<String, V>> iterator() {
+      return new EntryIterator();
+    }
+  }
+
+  private class EntryIterator implements Iterator<Entry<String, V>> {
+    private int next = advance(0);
+    private final int expectedModCount = modCount;
+
+    @Override
+    public boolean hasNext() {
+      return next < keys.length;
+    }
+
+    @Override
+    public Entry<String, V> next() {
+      if (expectedModCount != modCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      int slot = next;
+      next = advance(next + 1);
+      return new SlotEntry(slot);
+    }
+
+    private int advance(int slot) {
+      while (slot < keys.length && keys[slot] == null) {
+        slot++;
+      }
+      return slot;
+    }
+  }
+
+  /** Entry reading and writing its slot, valid until the map is modified. */
+  private class SlotEntry implements Entry<String, V> {
+    private final int slot;
+    private final String key;
+
+    SlotEntry(int slot) {
+      this.slot = slot;
+      this.key = keys[slot];
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return value(slot);
+    }
+
+    @Override
+    public V setValue(V value) {
+      V previous = value(slot);
+      values[slot] = value;
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Entry<?, ?> other = (Entry<?, ?>) o;
+      return key.equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package dev.techdozo.stream.examples.bitmap;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RoaringBitmapTest {
+
+  /** Chunks from empty to full, so every pair of array and bitmap chunks is combined. */
+  private static final double[] DENSITIES = {0, 0.001, 0.05, 0.2, 0.9, 1};
+
+  @Test
+  public void operationsShouldMatchBitSet() {
+    var random = new SplittableRandom(42);
+    for (int round = 0; round < 8; round++) {
+      BitSet left = randomSet(random);
+      BitSet right = randomSet(random);
+      RoaringBitmap a = bitmap(left);
+      RoaringBitmap b = bitmap(right);
+
+      assertMatches(a, left);
+      assertMatches(a.and(b), and(left, right));
+      assertMatches(a.or(b), or(left, right));
+      assertMatches(a.andNot(b), andNot(left, right));
+      assertMatches(b.andNot(a), andNot(right, left));
+      assertThat(a.andCardinality(b), is((long) and(left, right).cardinality()));
+      assertThat(a.orCardinality(b), is((long) or(left, right).cardinality()));
+      assertThat(a.andNotCardinality(b), is((long) andNot(left, right).cardinality()));
+    }
+  }
+
+  @Test
+  public void chunksShouldSwitchBetweenArrayAndBitmap() {
+    RoaringBitmap sparse = RoaringBitmap.range(0, RoaringBitmap.ARRAY_MAX);
+    RoaringBitmap dense = RoaringBitmap.range(0, RoaringBitmap.ARRAY_MAX + 1);
+    assertThat(sparse.containerCounts(), is(new int[] {1, 0}));
+    assertThat(dense.containerCounts(), is(new int[] {0, 1}));
+    assertThat(dense.andNot(RoaringBitmap.of(0)).containerCounts(), is(new int[] {1, 0}));
+    assertThat(
+        sparse.or(RoaringBitmap.of(RoaringBitmap.ARRAY_MAX)).containerCounts(),
+        is(new int[] {0, 1}));
+    assertThat(dense.and(dense).containerCounts(), is(new int[] {0, 1}));
+    assertThat(dense.andNot(dense).isEmpty(), is(true));
+  }
+
+  @Test
+  public void rangeShouldCoverEveryValue() {
+    int[][] ranges = {{0, 0}, {5, 6}, {65530, 65540}, {1000, 300_000}, {0, 1 << 20}};
+    for (int[] range : ranges) {
+      BitSet expected = new BitSet();
+      expected.set(range[0], range[1]);
+      assertMatches(RoaringBitmap.range(range[0], range[1]), expected);
+    }
+  }
+
+  @Test
+  public void ofShouldSortAndDeduplicate() {
+    RoaringBitmap bitmap = RoaringBitmap.of(70_000, 3, 3, 1, 70_000, Integer.MAX_VALUE);
+    assertThat(bitmap.toArray(), is(new int[] {1, 3, 70_000, Integer.MAX_VALUE}));
+    assertThat(bitmap.contains(Integer.MAX_VALUE), is(true));
+    assertThat(bitmap.contains(2), is(false));
+    assertThat(bitmap.contains(-1), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void builderShouldRejectValuesOutOfOrder() {
+    RoaringBitmap.builder().add(5).add(5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void builderShouldRejectValuesOutOfOrderAcrossChunks() {
+    RoaringBitmap.builder().add(5).add(70_000).add(65_540);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void builderShouldRejectNegativeValues() {
+    RoaringBitmap.builder().add(-1);
+  }
+
+  private static void assertMatches(RoaringBitmap bitmap, BitSet expected) {
+    assertThat(bitmap.cardinality(), is((long) expected.cardinality()));
+    assertThat(bitmap.toArray(), is(expected.stream().toArray()));
+    assertThat(bitmap.stream().toArray(), is(expected.stream().toArray()));
+    for (int value = 0; value < expected.length() + 2; value += 97) {
+      assertThat(bitmap.contains(value), is(expected.get(value)));
+    }
+  }
+
+  /** Values in 16 chunks of random densities, some chunks left empty. */
+  private static BitSet randomSet(SplittableRandom random) {
+    BitSet set = new BitSet();
+    for (int chunk = 0; chunk < 16; chunk++) {
+      double density = DENSITIES[random.nextInt(DENSITIES.length)];
+      for (int low = 0; low < 65536; low++) {
+        if (random.nextDouble() < density) {
+          set.set(chunk << 16 | low);
+        }
+      }
+    }
+    return set;
+  }
+
+  private static RoaringBitmap bitmap(BitSet set) {
+    var builder = RoaringBitmap.builder();
+    set.stream().forEach(builder::add);
+    return builder.build();
+  }
+
+  private static BitSet and(BitSet left, BitSet right) {
+    BitSet result = (BitSet) left.clone();
+    result.and(right);
+    return result;
+  }
+
+  private static BitSet or(BitSet left, BitSet right) {
+    BitSet result = (BitSet) left.clone();
+    result.or(right);
+    return result;
+  }
+
+  private static BitSet andNot(BitSet left, BitSet right) {
+    BitSet result = (BitSet) left.clone();
+    result.andNot(right);
+    return result;
+  }
+}
@@ -0,0 +1,73 @@
+package dev.techdozo.stream.examples.map;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class FrozenMapTest {
+
+  @Test
+  public void shouldFindEveryKey() {
+    for (int size : new int[] {1, 2, 3, 5, 17, 1000, 200_000}) {
+      Map<String, Integer> expected =
+          IntStream.range(0, size).boxed().collect(Collectors.toMap(i -> "Book " + i, i -> i));
+      FrozenMap<String, Integer> frozen = FrozenMap.copyOf(expected);
+      assertThat(frozen.size(), is(size));
+      expected.forEach((key, value) -> assertThat(frozen.get(key), is(value)));
+      assertThat(frozen, is(expected));
+      assertThat(frozen.hashCode(), is(expected.hashCode()));
+      assertThat(frozen.get("Book " + size), nullValue());
+      assertFalse(frozen.containsKey("Missing"));
+    }
+  }
+
+  @Test
+  public void shouldSeparateKeysSharingHashCode() {
+    // "Aa" and "BB" have the same hash code, as do all their concatenations
+    List<String> keys = List.of("Aa", "BB", "AaAa", "AaBB", "BBAa", "BBBB", "C");
+    Map<String, Integer> expected = new HashMap<>();
+    keys.forEach(key -> expected.put(key, key.length()));
+    FrozenMap<String, Integer> frozen = FrozenMap.copyOf(expected);
+    keys.forEach(key -> assertThat(frozen.get(key), is(key.length())));
+    assertThat(frozen.get("CC"), nullValue());
+    assertThat(frozen, is(expected));
+  }
+
+  @Test
+  public void builderShouldMergeInEncounterOrder() {
+    FrozenMap<String, String> frozen =
+        FrozenMap.<String, String>builder()
+            .add("a", "1")
+            .add("b", "2")
+            .add("a", "3")
+            .build((first, second) -> first + second);
+    assertThat(frozen.get("a"), is("13"));
+    assertThat(frozen.get("b"), is("2"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void builderShouldRejectDuplicateKeys() {
+    FrozenMap.builder().add("a", 1).add("a", 2).build();
+  }
+
+  @Test
+  public void emptyMapShouldFindNothing() {
+    FrozenMap<String, String> frozen = FrozenMap.copyOf(Map.of());
+    assertThat(frozen.size(), is(0));
+    assertThat(frozen.get("a"), nullValue());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void shouldBeImmutable() {
+    FrozenMap.copyOf(Map.of("a", 1)).put("b", 2);
+  }
+}
@@ -0,0 +1,67 @@
+package dev.techdozo.stream.examples.map;
+
+import org.junit.Test;
+
+import java.util.SortedMap;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static dev.techdozo.stream.examples.collector.SortedArrayMapCollectors.toSortedArrayMap;
+import static java.util.stream.Collectors.toMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class SortedArrayMapTest {
+
+  @Test
+  public void shouldMatchTreeMap() {
+    var random = new SplittableRandom(42);
+    int[] keys = random.ints(50_000, 0, 20_000).toArray();
+    for (boolean parallel : new boolean[] {false, true}) {
+      SortedMap<String, Integer> expected =
+          IntStream.range(0, keys.length)
+              .boxed()
+              .collect(toMap(i -> "Book " + keys[i], i -> i, (a, b) -> a, TreeMap::new));
+      IntStream rows = IntStream.range(0, keys.length);
+      SortedArrayMap<String, Integer> actual =
+          (parallel ? rows.parallel() : rows)
+              .boxed()
+              .collect(toSortedArrayMap(i -> "Book " + keys[i], i -> i, (a, b) -> a));
+
+      assertThat(actual, is(expected));
+      assertThat(actual.keySet().toString(), is(expected.keySet().toString()));
+      assertThat(actual.firstKey(), is(expected.firstKey()));
+      assertThat(actual.lastKey(), is(expected.lastKey()));
+      assertThat(actual.get("Missing"), nullValue());
+    }
+  }
+
+  @Test
+  public void rangesShouldMatchTreeMap() {
+    SortedArrayMap.Builder<String, Integer> builder = SortedArrayMap.builder();
+    TreeMap<String, Integer> expected = new TreeMap<>();
+    for (int i = 0; i < 1000; i++) {
+      builder.add("Book " + i, i);
+      expected.put("Book " + i, i);
+    }
+    SortedArrayMap<String, Integer> actual = builder.build();
+
+    String prefix = "Book 12";
+    assertThat(
+        actual.subMap(prefix, prefix + Character.MAX_VALUE).toString(),
+        is(expected.subMap(prefix, prefix + Character.MAX_VALUE).toString()));
+    assertThat(actual.headMap("Book 2").toString(), is(expected.headMap("Book 2").toString()));
+    assertThat(actual.tailMap("Book 95").toString(), is(expected.tailMap("Book 95").toString()));
+    assertThat(
+        actual.tailMap("Book 3").headMap("Book 4").toString(),
+        is(expected.tailMap("Book 3").headMap("Book 4").toString()));
+    assertThat(actual.subMap("Book 5", "Book 5").isEmpty(), is(true));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void duplicateKeysShouldBeRejectedWithoutMergeFunction() {
+    SortedArrayMap.<String, Integer>builder().add("a", 1).add("b", 2).add("a", 3).build();
+  }
+}
@@ -0,0 +1,89 @@
+package dev.techdozo.stream.examples.map;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class StringMapTest {
+
+  @Test
+  public void shouldBehaveLikeHashMap() {
+    Map<String, Integer> expected = new HashMap<>();
+    StringMap<Integer> actual = new StringMap<>();
+    var random = new SplittableRandom(1);
+    for (int i = 0; i < 200_000; i++) {
+      String key = "Book " + random.nextInt(20_000);
+      int value = random.nextInt(100);
+      switch (random.nextInt(4)) {
+        case 0:
+          assertThat(actual.remove(key), is(expected.remove(key)));
+          break;
+        case 1:
+          assertThat(
+              actual.merge(key, value, Integer::sum), is(expected.merge(key, value, Integer::sum)));
+          break;
+        default:
+          assertThat(actual.put(key, value), is(expected.put(key, value)));
+      }
+    }
+    assertThat(actual.size(), is(expected.size()));
+    assertThat(actual, is(expected));
+    assertThat(expected, is(actual));
+    assertThat(actual.hashCode(), is(expected.hashCode()));
+    expected.forEach((key, value) -> assertThat(actual.get(key), is(value)));
+  }
+
+  @Test
+  public void shouldFindKeysAfterRemovalShifts() {
+    StringMap<Integer> map = new StringMap<>();
+    for (int i = 0; i < 10_000; i++) {
+      map.put("Book " + i, i);
+    }
+    for (int i = 0; i < 10_000; i += 2) {
+      map.remove("Book " + i);
+    }
+    assertThat(map.size(), is(5_000));
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(map.get("Book " + i), is(i % 2 == 0 ? null : i));
+    }
+  }
+
+  @Test
+  public void shouldHandleNullValuesAndForeignKeys() {
+    StringMap<String> map = new StringMap<>();
+    map.put("a", null);
+    assertTrue(map.containsKey("a"));
+    assertThat(map.get("a"), nullValue());
+    assertThat(map.computeIfAbsent("a", key -> "A"), is("A"));
+    assertFalse(map.containsKey(1));
+    assertThat(map.get(1), nullValue());
+    assertThat(map.remove(1), nullValue());
+  }
+
+  @Test
+  public void expectedSizeShouldAvoidResizing() {
+    StringMap<Integer> map = new StringMap<>(1000);
+    int capacity = map.capacity();
+    for (int i = 0; i < 1000; i++) {
+      map.put("Book " + i, i);
+    }
+    assertThat(map.capacity(), is(capacity));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void viewsShouldNotSupportRemoval() {
+    StringMap<Integer> map = new StringMap<>();
+    map.put("a", 1);
+    var iterator = map.entrySet().iterator();
+    iterator.next();
+    iterator.remove();
+  }
+}
@@ -2,6 +2,7 @@ package dev.techdozo.stream.examples;
 
 import dev.techdozo.stream.examples.model.Book;
 import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.source.Sequences;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
@@ -82,6 +83,10 @@ public class PrimitiveStream {
 
     DoubleStream tenRandomDouble = DoubleStream.generate(() -> new Random().nextDouble()).limit(10);
     tenRandomDouble.forEach(n -> log.info("" + n));
+
+    // Sized and splittable, the same numbers in parallel as sequentially
+    DoubleStream tenSeededDouble = Sequences.randomDoubles(42, 10).parallel();
+    tenSeededDouble.forEachOrdered(n -> log.info("" + n));
   }
 
   /** Example of Fibonacci number stream */
@@ -89,8 +94,13 @@ public class PrimitiveStream {
     log.info("Creating streams of Fibonacci numbers..");
 
     Fibonacci fibonacci = new Fibonacci();
-    IntStream fibStream = fibonacci.stream().limit(10);
+    IntStream fibStream = fibonacci.stream(10);
     fibStream.forEach(n -> log.info("" + n));
+
+    // Sized and splittable, each split jumps ahead to its first number
+    long evenFibonacci =
+        Sequences.fibonacci(0, 1_000_000).parallel().filter(n -> n % 2 == 0).count();
+    log.info("Even Fibonacci numbers modulo 2^64 in the first million: {}", evenFibonacci);
   }
 
   /** Creating streams using iterator */
@@ -98,21 +108,17 @@ public class PrimitiveStream {
     log.info("Creating streams using iterator..");
     IntStream evenNumbers = IntStream.iterate(0, n -> n + 2).limit(10);
     evenNumbers.forEach(n -> log.info("" + n));
+
+    // Element i computed from its index, so the range splits evenly
+    IntStream evenNumbersSized = Sequences.arithmetic(0, 2, 10);
+    evenNumbersSized.forEach(n -> log.info("" + n));
   }
 
+  /** Fibonacci numbers 1, 2, 3, 5, 8, ... wrapping around like int addition. Stateless. */
   static class Fibonacci {
-    private int prev = 0;
-    private int curr = 1;
-
-    private int next() {
-      int temp = prev + curr;
-      prev = curr;
-      curr = temp;
-      return curr;
-    }
 
-    public IntStream stream() {
-      return IntStream.generate(this::next);
+    public IntStream stream(int count) {
+      return Sequences.fibonacci(2, count).mapToInt(n -> (int) n);
     }
   }
 }
@@ -2,6 +2,7 @@ package dev.techdozo.stream.examples;
 
 import dev.techdozo.stream.examples.model.Book;
 import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.source.Sequences;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
@@ -107,6 +108,10 @@ public class StreamCreation {
     log.info("Creating streams using generator..");
     Stream<Integer> randomNumbers = Stream.generate(new Random()::nextInt).limit(10);
     randomNumbers.forEach(e -> log.info("" + e));
+
+    // Sized and splittable, the same numbers in parallel as sequentially
+    Stream<Integer> seededNumbers = Sequences.randomInts(42, 10).parallel().boxed();
+    seededNumbers.forEachOrdered(e -> log.info("" + e));
   }
 
   /** Stream creation example using Iterator.. */
@@ -114,5 +119,9 @@ public class StreamCreation {
     log.info("Creating streams using Iterator..");
     Stream<Integer> even = Stream.iterate(0, n -> n + 2).limit(10);
     even.forEach(e -> log.info("" + e));
+
+    // Element i computed from its index, so the range splits evenly
+    Stream<Integer> evenSized = Sequences.arithmetic(0, 2, 10).boxed();
+    evenSized.forEach(e -> log.info("" + e));
   }
 }
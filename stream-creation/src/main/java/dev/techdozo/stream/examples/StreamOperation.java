@@ -1,7 +1,9 @@
 package dev.techdozo.stream.examples;
 
+import dev.techdozo.stream.examples.bitmap.RoaringBitmap;
 import dev.techdozo.stream.examples.model.Book;
 import dev.techdozo.stream.examples.model.Catalog;
+import dev.techdozo.stream.examples.model.Category;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
@@ -19,6 +21,9 @@ public class StreamOperation {
 
     List<String> javaAuthors = javaAuthors(books);
     log.info("Java Authors - {} ", javaAuthors);
+
+    RoaringBitmap javaBooks = rowsOf(books, JAVA);
+    log.info("Java Authors from bitmap - {} ", javaAuthors(books, javaBooks));
   }
 
   /**
@@ -30,7 +35,7 @@ public class StreamOperation {
    * @param books - collection of book
    * @return - list of Java book authors
    */
-  private static List<String> javaAuthors(List<Book> books) {
+  static List<String> javaAuthors(List<Book> books) {
     List<String> javaAuthors =
         books.stream()
             .filter(book -> book.getCategory().equals(JAVA))
@@ -38,4 +43,37 @@ public class StreamOperation {
             .collect(Collectors.toList());
     return javaAuthors;
   }
+
+  /**
+   * Same result as {@link #javaAuthors(List)}, from a bitmap of the rows of Java books built once
+   * and kept along with the list. The pipeline then only visits the matching books instead of
+   * testing the category of every book, which pays off when the same bitmap serves many queries.
+   *
+   * @param books - collection of book
+   * @param javaBooks - positions in the collection of the Java books
+   * @return - list of Java book authors, in collection order
+   */
+  static List<String> javaAuthors(List<Book> books, RoaringBitmap javaBooks) {
+    return javaBooks.stream()
+        .mapToObj(books::get)
+        .map(Book::getAuthor)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Bitmap of the positions of the books of a category.
+   *
+   * @param books - collection of book
+   * @param category - category of the books
+   * @return - positions of the books of the category
+   */
+  static RoaringBitmap rowsOf(List<Book> books, Category category) {
+    RoaringBitmap.Builder rows = RoaringBitmap.builder();
+    for (int row = 0; row < books.size(); row++) {
+      if (books.get(row).getCategory() == category) {
+        rows.add(row);
+      }
+    }
+    return rows.build();
+  }
 }
@@ -4,6 +4,16 @@ import java.util.List;
 
 public class Catalog {
 
+  /**
+   * Synthetic catalog generated from {@link CatalogGenerator#DEFAULT_SEED}.
+   *
+   * @param size number of books
+   * @return the same books for the same size
+   */
+  public static List<Book> books(int size) {
+    return new CatalogGenerator().books(size);
+  }
+
   public static List<Book> books() {
     return List.of(
         Book.builder()
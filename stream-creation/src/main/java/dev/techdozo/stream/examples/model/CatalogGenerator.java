@@ -0,0 +1,219 @@
+package dev.techdozo.stream.examples.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Deterministic generator of synthetic catalogs, for running the examples at realistic volumes.
+ *
+ * <p>Every book is a pure function of the seed and its index, so a catalog can be generated
+ * lazily, split across threads in any order and regenerated identically. Categories, authors and
+ * publishers follow Zipf distributions, so a few of each dominate as in a real catalog, and prices
+ * are log-normal around {@link #MEDIAN_PRICE}. Authors and publishers come from fixed pools of
+ * interned strings, so a catalog of millions of books holds only one copy of each name.
+ */
+public class CatalogGenerator {
+
+  public static final long DEFAULT_SEED = 0x5DEECE66DL;
+  public static final int DEFAULT_AUTHORS = 10_000;
+  public static final int DEFAULT_PUBLISHERS = 200;
+  public static final double MEDIAN_PRICE = 35;
+
+  private static final Category[] CATEGORIES = Category.values();
+  private static final double CATEGORY_SKEW = 1.0;
+  private static final double AUTHOR_SKEW = 1.1;
+  private static final double PUBLISHER_SKEW = 1.3;
+  private static final double PRICE_SIGMA = 0.5;
+  private static final double MIN_PRICE = 1;
+  private static final double MAX_PRICE = 500;
+
+  private final long seed;
+  private final String[] authors;
+  private final String[] publishers;
+  private final double[] categoryDistribution;
+  private final double[] authorDistribution;
+  private final double[] publisherDistribution;
+
+  public CatalogGenerator() {
+    this(DEFAULT_SEED);
+  }
+
+  public CatalogGenerator(long seed) {
+    this(seed, DEFAULT_AUTHORS, DEFAULT_PUBLISHERS);
+  }
+
+  public CatalogGenerator(long seed, int authors, int publishers) {
+    if (authors < 1 || publishers < 1) {
+      throw new IllegalArgumentException("Author and publisher pools must not be empty");
+    }
+    this.seed = seed;
+    this.authors = pool("Author ", authors);
+    this.publishers = pool("Publisher ", publishers);
+    this.categoryDistribution = zipf(CATEGORIES.length, CATEGORY_SKEW);
+    this.authorDistribution = zipf(authors, AUTHOR_SKEW);
+    this.publisherDistribution = zipf(publishers, PUBLISHER_SKEW);
+  }
+
+  /**
+   * Book at the given position of the catalog.
+   *
+   * @param index position of the book, from 0
+   * @return the same book for the same seed and index
+   */
+  public Book book(long index) {
+    long state = mix(seed + index * 0x9E3779B97F4A7C15L);
+    long category = next(state);
+    long author = next(category);
+    long publisher = next(author);
+    long price = next(publisher);
+    return Book.builder()
+        .name("Book " + index)
+        .category(CATEGORIES[sample(categoryDistribution, category)])
+        .author(authors[sample(authorDistribution, author)])
+        .publisher(publishers[sample(publisherDistribution, publisher)])
+        .price(price(price, next(price)))
+        .build();
+  }
+
+  /**
+   * Materialized catalog, generated in parallel.
+   *
+   * @param size number of books
+   * @return fixed size, random access list of books
+   */
+  public List<Book> books(int size) {
+    Book[] books = new Book[size];
+    IntStream.range(0, size).parallel().forEach(i -> books[i] = book(i));
+    return Arrays.asList(books);
+  }
+
+  /**
+   * Lazily generated catalog. Books are created as the stream is consumed, and the stream splits
+   * evenly when run in parallel.
+   *
+   * @param size number of books
+   * @return sized, sequential stream of books
+   */
+  public Stream<Book> stream(long size) {
+    return StreamSupport.stream(spliterator(size), false);
+  }
+
+  /**
+   * Lazily generated catalog, as a sized and splittable spliterator.
+   *
+   * @param size number of books
+   * @return spliterator over the books
+   */
+  public Spliterator<Book> spliterator(long size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Negative catalog size " + size);
+    }
+    return new BookSpliterator(0, size);
+  }
+
+  private static String[] pool(String prefix, int size) {
+    String[] pool = new String[size];
+    for (int i = 0; i < size; i++) {
+      pool[i] = (prefix + i).intern();
+    }
+    return pool;
+  }
+
+  /** Cumulative Zipf distribution over ranks 1..n, normalized to end at 1. */
+  private static double[] zipf(int n, double skew) {
+    double[] cumulative = new double[n];
+    double sum = 0;
+    for (int rank = 1; rank <= n; rank++) {
+      sum += 1 / Math.pow(rank, skew);
+      cumulative[rank - 1] = sum;
+    }
+    for (int i = 0; i < n; i++) {
+      cumulative[i] /= sum;
+    }
+    return cumulative;
+  }
+
+  private static int sample(double[] cumulative, long random) {
+    int index = Arrays.binarySearch(cumulative, uniform(random));
+    return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+  }
+
+  /** Log-normal price, by Box-Muller, rounded to cents. */
+  private static double price(long first, long second) {
+    double gaussian =
+        Math.sqrt(-2 * Math.log(1 - uniform(first))) * Math.cos(2 * Math.PI * uniform(second));
+    double price = MEDIAN_PRICE * Math.exp(PRICE_SIGMA * gaussian);
+    return Math.round(Math.max(MIN_PRICE, Math.min(MAX_PRICE, price)) * 100) / 100.0;
+  }
+
+  private static double uniform(long random) {
+    return (random >>> 11) * 0x1.0p-53;
+  }
+
+  private static long next(long state) {
+    return mix(state + 0x9E3779B97F4A7C15L);
+  }
+
+  /** SplitMix64 finalizer. */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** Books in the index range [origin, fence), split in halves. */
+  private class BookSpliterator implements Spliterator<Book> {
+
+    private long origin;
+    private final long fence;
+
+    BookSpliterator(long origin, long fence) {
+      this.origin = origin;
+      this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Book> action) {
+      if (origin >= fence) {
+        return false;
+      }
+      action.accept(book(origin++));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Book> action) {
+      long index = origin;
+      origin = fence;
+      for (; index < fence; index++) {
+        action.accept(book(index));
+      }
+    }
+
+    @Override
+    public Spliterator<Book> trySplit() {
+      long middle = (origin + fence) >>> 1;
+      if (middle <= origin) {
+        return null;
+      }
+      var prefix = new BookSpliterator(origin, middle);
+      origin = middle;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return fence - origin;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+package dev.techdozo.stream.examples.source;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sized, splittable sources for sequences that are usually written with {@code generate} or
+ * {@code iterate} and {@code limit}. Those give unsized streams that split into ever larger
+ * batches, so a parallel pipeline does most of its work on one thread; here every element is a
+ * function of its index, so a range splits in halves and each half jumps straight to its first
+ * element. Results are the same whether the stream runs sequentially or in parallel, however it
+ * splits.
+ */
+public class Sequences {
+
+  /** Odd increment of {@link java.util.SplittableRandom} for a seeded instance. */
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  private Sequences() {}
+
+  /**
+   * Fibonacci numbers F(first), F(first + 1), ... modulo 2^64, where F(0) = 0 and F(1) = 1. A split
+   * jumps ahead by fast doubling in O(log n) steps, and each element after that is one addition.
+   *
+   * @param first index of the first number, not negative
+   * @param count number of elements
+   * @return sized, ordered, splittable stream
+   */
+  public static LongStream fibonacci(long first, long count) {
+    if (first < 0) {
+      throw new IllegalArgumentException("Negative index " + first);
+    }
+    checkCount(count);
+    return StreamSupport.longStream(new FibonacciSpliterator(first, first + count), false);
+  }
+
+  /**
+   * The values of {@code new SplittableRandom(seed).nextInt()} called count times, each computed
+   * from its index with the SplitMix64 steps of {@link java.util.SplittableRandom}, so a split
+   * starts where the sequential generator would be at that index.
+   *
+   * @param seed seed of the generator
+   * @param count number of elements
+   * @return sized, ordered, splittable stream
+   */
+  public static IntStream randomInts(long seed, long count) {
+    checkCount(count);
+    return StreamSupport.intStream(new RandomIntSpliterator(seed, 0, count), false);
+  }
+
+  /**
+   * The values of {@code new SplittableRandom(seed).nextDouble()} called count times, computed
+   * from their index like {@link #randomInts(long, long)}.
+   *
+   * @param seed seed of the generator
+   * @param count number of elements
+   * @return sized, ordered, splittable stream of values in [0, 1)
+   */
+  public static DoubleStream randomDoubles(long seed, long count) {
+    checkCount(count);
+    return StreamSupport.doubleStream(new RandomDoubleSpliterator(seed, 0, count), false);
+  }
+
+  /**
+   * Equivalent of {@code IntStream.iterate(start, n -> n + step).limit(count)}, with element i
+   * computed as {@code start + i * step} so a range splits by index.
+   *
+   * @param start first element
+   * @param step difference between consecutive elements
+   * @param count number of elements
+   * @return sized, ordered, splittable stream
+   */
+  public static IntStream arithmetic(int start, int step, int count) {
+    checkCount(count);
+    return IntStream.range(0, count).map(i -> start + i * step);
+  }
+
+  /**
+   * F(n) and F(n + 1) modulo 2^64 by fast doubling: F(2k) = F(k) * (2 * F(k + 1) - F(k)) and
+   * F(2k + 1) = F(k)^2 + F(k + 1)^2.
+   *
+   * @param n index, not negative
+   * @return {F(n), F(n + 1)}
+   */
+  static long[] fibonacciPair(long n) {
+    long a = 0;
+    long b = 1;
+    for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+      long c = a * (2 * b - a);
+      long d = a * a + b * b;
+      if ((n >>> bit & 1) == 0) {
+        a = c;
+        b = d;
+      } else {
+        a = d;
+        b = c + d;
+      }
+    }
+    return new long[] {a, b};
+  }
+
+  /** SplitMix64 finalizer, as in {@code SplittableRandom.mix64}. */
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** 32-bit finalizer, as in {@code SplittableRandom.mix32}. */
+  private static int mix32(long z) {
+    z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+    return (int) (((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+  }
+
+  private static void checkCount(long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Negative count " + count);
+    }
+  }
+
+  /** Indices in [origin, fence), split in halves. */
+  private abstract static class IndexSpliterator {
+    private static final int CHARACTERISTICS =
+        Spliterator.ORDERED
+            | Spliterator.SIZED
+            | Spliterator.SUBSIZED
+            | Spliterator.NONNULL
+            | Spliterator.IMMUTABLE;
+
+    long origin;
+    final long fence;
+
+    IndexSpliterator(long origin, long fence) {
+      this.origin = origin;
+      this.fence = fence;
+    }
+
+    /** Midpoint to split at, or -1 if the range is too small to split. */
+    long split() {
+      long middle = origin + ((fence - origin) >>> 1);
+      return middle <= origin ? -1 : middle;
+    }
+
+    public long estimateSize() {
+      return fence - origin;
+    }
+
+    public int characteristics() {
+      return CHARACTERISTICS;
+    }
+  }
+
+  private static class FibonacciSpliterator extends IndexSpliterator
+      implements Spliterator.OfLong {
+    private boolean started;
+    private long current;
+    private long next;
+
+    FibonacciSpliterator(long origin, long fence) {
+      super(origin, fence);
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+      if (origin >= fence) {
+        return false;
+      }
+      start();
+      action.accept(advance());
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+      if (origin >= fence) {
+        return;
+      }
+      start();
+      while (origin < fence) {
+        action.accept(advance());
+      }
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+      long middle = split();
+      if (middle < 0) {
+        return null;
+      }
+      var prefix = new FibonacciSpliterator(origin, middle);
+      if (started) {
+        prefix.started = true;
+        prefix.current = current;
+        prefix.next = next;
+        started = false;
+      }
+      origin = middle;
+      return prefix;
+    }
+
+    /** Jumps to the first index lazily, so only the splits that are traversed pay for it. */
+    private void start() {
+      if (!started) {
+        long[] pair = fibonacciPair(origin);
+        current = pair[0];
+        next = pair[1];
+        started = true;
+      }
+    }
+
+    private long advance() {
+      long value = current;
+      current = next;
+      next += value;
+      origin++;
+      return value;
+    }
+  }
+
+  private static class RandomIntSpliterator extends IndexSpliterator
+      implements Spliterator.OfInt {
+    private final long seed;
+
+    RandomIntSpliterator(long seed, long origin, long fence) {
+      super(origin, fence);
+      this.seed = seed;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+      if (origin >= fence) {
+        return false;
+      }
+      action.accept(mix32(seed + ++origin * GOLDEN_GAMMA));
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+      long state = seed + origin * GOLDEN_GAMMA;
+      for (long i = origin; i < fence; i++) {
+        action.accept(mix32(state += GOLDEN_GAMMA));
+      }
+      origin = fence;
+    }
+
+    @Override
+    public Spliterator.OfInt trySplit() {
+      long middle = split();
+      if (middle < 0) {
+        return null;
+      }
+      var prefix = new RandomIntSpliterator(seed, origin, middle);
+      origin = middle;
+      return prefix;
+    }
+  }
+
+  private static class RandomDoubleSpliterator extends IndexSpliterator
+      implements Spliterator.OfDouble {
+    private final long seed;
+
+    RandomDoubleSpliterator(long seed, long origin, long fence) {
+      super(origin, fence);
+      this.seed = seed;
+    }
+
+    @Override
+    public boolean tryAdvance(DoubleConsumer action) {
+      if (origin >= fence) {
+        return false;
+      }
+      action.accept((mix64(seed + ++origin * GOLDEN_GAMMA) >>> 11) * DOUBLE_UNIT);
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(DoubleConsumer action) {
+      long state = seed + origin * GOLDEN_GAMMA;
+      for (long i = origin; i < fence; i++) {
+        action.accept((mix64(state += GOLDEN_GAMMA) >>> 11) * DOUBLE_UNIT);
+      }
+      origin = fence;
+    }
+
+    @Override
+    public Spliterator.OfDouble trySplit() {
+      long middle = split();
+      if (middle < 0) {
+        return null;
+      }
+      var prefix = new RandomDoubleSpliterator(seed, origin, middle);
+      origin = middle;
+      return prefix;
+    }
+  }
+}
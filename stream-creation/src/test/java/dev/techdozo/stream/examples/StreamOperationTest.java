@@ -0,0 +1,22 @@
+package dev.techdozo.stream.examples;
+
+import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.model.Catalog;
+import org.junit.Test;
+
+import java.util.List;
+
+import static dev.techdozo.stream.examples.model.Category.JAVA;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class StreamOperationTest {
+
+  @Test
+  public void bitmapShouldFindTheSameAuthors() {
+    List<Book> books = Catalog.books(10_000);
+    assertThat(
+        StreamOperation.javaAuthors(books, StreamOperation.rowsOf(books, JAVA)),
+        is(StreamOperation.javaAuthors(books)));
+  }
+}
@@ -0,0 +1,93 @@
+package dev.techdozo.stream.examples.source;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class SequencesTest {
+
+  private static final int SIZE = 1_000_000;
+
+  @Test
+  public void fibonacciShouldMatchIteration() {
+    long[] expected = new long[1000];
+    expected[1] = 1;
+    for (int i = 2; i < expected.length; i++) {
+      expected[i] = expected[i - 1] + expected[i - 2];
+    }
+    assertArrayEquals(expected, Sequences.fibonacci(0, expected.length).toArray());
+    assertArrayEquals(
+        LongStream.of(expected).skip(500).toArray(),
+        Sequences.fibonacci(500, expected.length - 500).toArray());
+  }
+
+  @Test
+  public void fibonacciPairShouldJumpAhead() {
+    long a = 0;
+    long b = 1;
+    for (long n = 0; n < 10_000; n++) {
+      assertArrayEquals(new long[] {a, b}, Sequences.fibonacciPair(n));
+      long next = a + b;
+      a = b;
+      b = next;
+    }
+  }
+
+  @Test
+  public void parallelShouldMatchSequential() {
+    assertArrayEquals(
+        Sequences.fibonacci(0, SIZE).toArray(), Sequences.fibonacci(0, SIZE).parallel().toArray());
+    assertArrayEquals(
+        Sequences.randomInts(7, SIZE).toArray(),
+        Sequences.randomInts(7, SIZE).parallel().toArray());
+    assertArrayEquals(
+        Sequences.randomDoubles(7, SIZE).toArray(),
+        Sequences.randomDoubles(7, SIZE).parallel().toArray(),
+        0);
+    assertThat(
+        Sequences.fibonacci(0, SIZE).parallel().sum(), is(Sequences.fibonacci(0, SIZE).sum()));
+  }
+
+  @Test
+  public void randomShouldMatchSplittableRandom() {
+    var ints = new SplittableRandom(42);
+    assertArrayEquals(
+        IntStream.generate(ints::nextInt).limit(1000).toArray(),
+        Sequences.randomInts(42, 1000).toArray());
+    var doubles = new SplittableRandom(42);
+    assertArrayEquals(
+        DoubleStream.generate(doubles::nextDouble).limit(1000).toArray(),
+        Sequences.randomDoubles(42, 1000).toArray(),
+        0);
+  }
+
+  @Test
+  public void arithmeticShouldMatchIterate() {
+    assertArrayEquals(
+        IntStream.iterate(3, n -> n + 7).limit(1000).toArray(),
+        Sequences.arithmetic(3, 7, 1000).toArray());
+  }
+
+  @Test
+  public void spliteratorsShouldBeSizedAndSplitInHalves() {
+    Spliterator.OfLong spliterator = Sequences.fibonacci(0, SIZE).spliterator();
+    assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+    Spliterator.OfLong prefix = spliterator.trySplit();
+    assertThat(prefix, notNullValue());
+    assertThat(prefix.estimateSize(), is((long) SIZE / 2));
+    assertThat(spliterator.estimateSize(), is((long) SIZE / 2));
+
+    Spliterator.OfInt random = Sequences.randomInts(1, SIZE).spliterator();
+    assertThat(random.trySplit().estimateSize(), is((long) SIZE / 2));
+  }
+}
@@ -1,6 +1,7 @@
 package dev.techdozo.stream.examples;
 
 import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.map.StringMap;
 import dev.techdozo.stream.examples.model.Catalog;
 import lombok.extern.slf4j.Slf4j;
 
@@ -8,6 +9,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static dev.techdozo.stream.examples.collector.StringMapCollectors.groupingByString;
+import static dev.techdozo.stream.examples.collector.StringMapCollectors.toStringMap;
 import static java.util.stream.Collectors.*;
 
 /** Stream toMap example */
@@ -22,6 +25,8 @@ public class ToMap {
         "Name and author - reducing Non Optional {} ",
         groupingByNameAndAuthorReducingNonOptional(books));
     log.info("Name and author {} ", nameAndAuthor(books));
+    log.info("Name and author - compact {} ", nameAndAuthorCompact(books));
+    log.info("Name and author - compact grouping {} ", groupingByNameAndAuthorCompact(books));
   }
 
   /**
@@ -74,4 +79,27 @@ public class ToMap {
   private static Map<String, String> nameAndAuthor(List<Book> books) {
     return books.stream().collect(toMap(Book::getName, Book::getAuthor));
   }
+
+  /**
+   * Grouping by name of book and mapping to author, into an open addressing map that has no node
+   * object per entry.
+   *
+   * @param books List of books
+   * @return StringMap containing key as name of book and value as author of book.
+   */
+  private static StringMap<String> nameAndAuthorCompact(List<Book> books) {
+    return books.stream().collect(toStringMap(Book::getName, Book::getAuthor));
+  }
+
+  /**
+   * Compact version of {@link #groupingByNameAndAuthor(List)}, grouping into an open addressing
+   * map.
+   *
+   * @param books List of books
+   * @return StringMap containing key as name of Book and value as List of author.
+   */
+  private static StringMap<List<String>> groupingByNameAndAuthorCompact(List<Book> books) {
+    return books.stream()
+        .collect(groupingByString(Book::getName, mapping(Book::getAuthor, toList())));
+  }
 }
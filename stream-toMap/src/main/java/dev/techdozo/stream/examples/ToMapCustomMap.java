@@ -1,6 +1,9 @@
 package dev.techdozo.stream.examples;
 
 import dev.techdozo.stream.examples.model.Book;
+import dev.techdozo.stream.examples.map.FrozenMap;
+import dev.techdozo.stream.examples.map.SortedArrayMap;
+import dev.techdozo.stream.examples.map.StringMap;
 import dev.techdozo.stream.examples.model.Catalog;
 import lombok.extern.slf4j.Slf4j;
 
@@ -9,6 +12,10 @@ import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentMap;
 
+import static dev.techdozo.stream.examples.collector.FrozenMapCollectors.toFrozenMap;
+import static dev.techdozo.stream.examples.collector.SortedArrayMapCollectors.toSortedArrayMap;
+import static dev.techdozo.stream.examples.collector.StringMapCollectors.toStringMap;
+import static dev.techdozo.stream.examples.collector.StripedCollectors.toMapStriped;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.*;
 
@@ -19,9 +26,13 @@ public class ToMapCustomMap {
   public static void main(String[] args) {
     List<Book> books = Catalog.books();
     log.info("Group by category {} ", nameAndAuthor(books));
+    log.info("Name and author, sorted array {} ", nameAndAuthorSorted(books));
     log.info("Name and Book, concurrentMap {} ", nameAndBookConcurrent(books));
     log.info("Name and Book, concurrentMap {} ", nameAndBookMergeFunction(books));
     log.info("Name and Book, unmodifiableMap {} ", nameAndBookUnmodifiable(books));
+    log.info("Name and Book, striped {} ", nameAndBookStriped(books));
+    log.info("Name and author, compact {} ", nameAndAuthorCompact(books));
+    log.info("Name and Book, frozen {} ", nameAndBookFrozen(books));
   }
 
   /**
@@ -34,6 +45,18 @@ public class ToMapCustomMap {
     return books.stream().collect(toMap(Book::getName, Book::getAuthor, (a, b) -> a, TreeMap::new));
   }
 
+  /**
+   * Grouping by name and author into an immutable sorted map. Like the TreeMap above, entries are
+   * ordered by name and the first author of a duplicate name is kept, but they are sorted once into
+   * two arrays instead of being inserted one by one into a tree of nodes.
+   *
+   * @param books List of books
+   * @return SortedArrayMap containing key as book name and value as author.
+   */
+  private static SortedArrayMap<String, String> nameAndAuthorSorted(List<Book> books) {
+    return books.stream().collect(toSortedArrayMap(Book::getName, Book::getAuthor, (a, b) -> a));
+  }
+
   /**
    * Grouping by name and Book.
    *
@@ -63,4 +86,41 @@ public class ToMapCustomMap {
   private static Map<String, Book> nameAndBookUnmodifiable(List<Book> books) {
     return books.stream().collect(toUnmodifiableMap(Book::getName, identity()));
   }
+
+  /**
+   * Grouping by name and Book into an immutable map for lookups. Unlike toUnmodifiableMap, there
+   * is no intermediate HashMap: entries are collected in arrays and indexed once by a minimal
+   * perfect hash, and the result is safe to share between threads.
+   *
+   * @param books List of books
+   * @return FrozenMap containing key as book name and value as Book.
+   */
+  private static FrozenMap<String, Book> nameAndBookFrozen(List<Book> books) {
+    return books.stream().collect(toFrozenMap(Book::getName, identity()));
+  }
+
+  /**
+   * Grouping by name and Book in parallel. Unlike toConcurrentMap, threads accumulate into striped
+   * partial maps, merged once at the end, instead of contending on one ConcurrentHashMap.
+   *
+   * @param books List of books
+   * @return HashMap containing key as book name and value as Book.
+   */
+  private static Map<String, Book> nameAndBookStriped(List<Book> books) {
+    return books.parallelStream().collect(toMapStriped(Book::getName, identity()));
+  }
+
+  /**
+   * Grouping by name and author into an open addressing map presized for the catalog, keeping
+   * the first author of a duplicate name.
+   *
+   * @param books List of books
+   * @return StringMap containing key as book name and value as author.
+   */
+  private static StringMap<String> nameAndAuthorCompact(List<Book> books) {
+    return books.stream()
+        .collect(
+            toStringMap(
+                Book::getName, Book::getAuthor, (a, b) -> a, () -> new StringMap<>(books.size())));
+  }
 }